@@ -0,0 +1,54 @@
+package com.backend.cypherflow.benchmark;
+
+import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.enums.AccountStatus;
+import com.backend.cypherflow.exception.BusinessException;
+import com.backend.cypherflow.util.AccountStatusValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * AccountStatusValidator.validate for an active account (no exception) and for the
+ * rejected states, which throw a stackless BusinessException.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.threads=4 -Djmh.args=AccountStatusValidatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccountStatusValidatorBenchmark {
+
+    @Param({"ACTIVE", "PENDING_VERIFICATION", "LOCKED", "BLOCKED"})
+    private AccountStatus accountStatus;
+
+    private final AccountStatusValidator validator = new AccountStatusValidator();
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = User.builder()
+                .id(42L)
+                .username("benchmark-user")
+                .accountStatus(accountStatus)
+                .build();
+    }
+
+    @Benchmark
+    public Object validate() {
+        try {
+            validator.validate(user);
+            return user;
+        } catch (BusinessException ex) {
+            return ex;
+        }
+    }
+}
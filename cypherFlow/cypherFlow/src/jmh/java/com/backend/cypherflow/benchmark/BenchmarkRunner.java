@@ -0,0 +1,47 @@
+package com.backend.cypherflow.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+
+/*
+ * Entry point of the benchmarks profile. JMH's -t takes a single thread count, so the selected
+ * benchmarks are run once per count in the first argument (jmh.threads, default 1,4,max), always
+ * with the GC profiler. The remaining arguments (jmh.args) are passed to JMH unchanged.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.threads=4 -Djmh.args=JwtUtilBenchmark
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+
+        CommandLineOptions jmhOptions = new CommandLineOptions(Arrays.copyOfRange(args, 1, args.length));
+
+        for (String threadCount : args[0].split(",")) {
+
+            int threads = "max".equalsIgnoreCase(threadCount.trim())
+                    ? Threads.MAX
+                    : Integer.parseInt(threadCount.trim());
+
+            Options options = new OptionsBuilder()
+                    .parent(jmhOptions)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+
+            System.out.println("# ===== threads=" + threadCount.trim() + " =====");
+            new Runner(options).run();
+        }
+    }
+}
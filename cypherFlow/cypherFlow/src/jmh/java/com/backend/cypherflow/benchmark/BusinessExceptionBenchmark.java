@@ -0,0 +1,67 @@
+package com.backend.cypherflow.benchmark;
+
+import com.backend.cypherflow.exception.BusinessException;
+import com.backend.cypherflow.exception.CooldownException;
+import com.backend.cypherflow.exception.InactiveAccountException;
+import com.backend.cypherflow.exception.InvalidOtpException;
+import com.backend.cypherflow.exception.InvalidTokenException;
+import com.backend.cypherflow.exception.UnauthorizedException;
+import com.backend.cypherflow.exception.UserNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/*
+ * Cost of creating the business exceptions thrown on the auth paths, with and without
+ * stack trace capture (app.exceptions.stack-traces).
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.threads=4 -Djmh.args=BusinessExceptionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BusinessExceptionBenchmark {
+
+    @Param({"true", "false"})
+    private boolean stackTraces;
+
+    @Param({"Unauthorized", "InvalidOtp", "InvalidToken", "Cooldown", "InactiveAccount", "UserNotFound"})
+    private String exception;
+
+    private Function<String, BusinessException> factory;
+
+    @Setup
+    public void setUp() {
+
+        BusinessException.setStackTracesEnabled(stackTraces);
+
+        factory = switch (exception) {
+            case "Unauthorized" -> UnauthorizedException::new;
+            case "InvalidOtp" -> InvalidOtpException::new;
+            case "InvalidToken" -> InvalidTokenException::new;
+            case "Cooldown" -> CooldownException::new;
+            case "InactiveAccount" -> InactiveAccountException::new;
+            case "UserNotFound" -> UserNotFoundException::new;
+            default -> throw new IllegalArgumentException("Unknown exception " + exception);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        BusinessException.setStackTracesEnabled(false);
+    }
+
+    @Benchmark
+    public BusinessException create() {
+        return factory.apply("Invalid credentials");
+    }
+}
@@ -0,0 +1,108 @@
+package com.backend.cypherflow.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.backend.cypherflow.dto.request.ApiError;
+import com.backend.cypherflow.dto.request.LoginRequest;
+import com.backend.cypherflow.exception.BusinessException;
+import com.backend.cypherflow.exception.GlobalExceptionHandler;
+import com.backend.cypherflow.exception.UnauthorizedException;
+import com.backend.cypherflow.metrics.AuthMetrics;
+import com.backend.cypherflow.metrics.FlowSpans;
+import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.service.LoginService;
+import com.backend.cypherflow.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/*
+ * Unknown-username login rejected by LoginService and mapped by GlobalExceptionHandler.
+ *
+ * stackTraces=true is the old behaviour (full fillInStackTrace on every rejection),
+ * stackTraces=false the stackless BusinessException. stackDepth adds frames below the
+ * service call the way the servlet container and security filter chain do in production.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="InvalidCredentialsBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InvalidCredentialsBenchmark {
+
+    @Param({"true", "false"})
+    private boolean stackTraces;
+
+    @Param({"16", "128"})
+    private int stackDepth;
+
+    private LoginService loginService;
+    private GlobalExceptionHandler exceptionHandler;
+    private MockHttpServletRequest httpRequest;
+    private LoginRequest loginRequest;
+
+    @Setup
+    public void setUp() {
+
+        // the handler logs every rejection, which would otherwise dominate the measurement
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.OFF);
+
+        BusinessException.setStackTracesEnabled(stackTraces);
+
+        // a mocked repository returns Optional.empty(), i.e. the username does not exist
+        loginService = new LoginService(
+                mock(UserRepository.class),
+                mock(PasswordEncoder.class),
+                mock(JwtUtil.class),
+                new AuthMetrics(new SimpleMeterRegistry()),
+                new FlowSpans(ObservationRegistry.NOOP)
+        );
+        exceptionHandler = new GlobalExceptionHandler();
+
+        httpRequest = new MockHttpServletRequest("POST", "/api/auth/login");
+
+        loginRequest = new LoginRequest();
+        loginRequest.setUsername("unknown-user");
+        loginRequest.setPassword("wrong-password");
+    }
+
+    @TearDown
+    public void tearDown() {
+        BusinessException.setStackTracesEnabled(false);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> invalidCredentials() {
+        return atDepth(stackDepth);
+    }
+
+    private ResponseEntity<ApiError> atDepth(int depth) {
+
+        if (depth > 0) {
+            return atDepth(depth - 1);
+        }
+
+        try {
+            loginService.login(loginRequest);
+            throw new IllegalStateException("login unexpectedly succeeded");
+        } catch (UnauthorizedException ex) {
+            return exceptionHandler.handleUnauthorized(ex, httpRequest);
+        }
+    }
+}
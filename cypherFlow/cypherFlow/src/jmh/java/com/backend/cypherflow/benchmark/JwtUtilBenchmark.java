@@ -0,0 +1,67 @@
+package com.backend.cypherflow.benchmark;
+
+import com.backend.cypherflow.enums.Role;
+import com.backend.cypherflow.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Token issue on login and token parsing on every authenticated request.
+ * authenticatedRequest mirrors JwtAuthFilter (one parseClaims), perClaimParsing the old filter
+ * that parsed and verified the same token once per claim.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.threads=4 -Djmh.args=JwtUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        String secret = Base64.getEncoder().encodeToString(
+                "cypherflow-benchmark-jwt-secret-key-0123456789".getBytes());
+
+        jwtUtil = new JwtUtil(secret);
+        token = jwtUtil.generateToken(42L, "benchmark-user", Role.USER);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "benchmark-user", Role.USER);
+    }
+
+    @Benchmark
+    public Long parseUserId() {
+        return jwtUtil.extractUserId(token);
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole bh) {
+        Claims claims = jwtUtil.parseClaims(token);
+        bh.consume(claims.getSubject());
+        bh.consume(claims.get(JwtUtil.USER_ID_CLAIM, Long.class));
+        bh.consume(claims.get(JwtUtil.ROLE_CLAIM, String.class));
+    }
+
+    @Benchmark
+    public void perClaimParsing(Blackhole bh) {
+        bh.consume(jwtUtil.isTokenExpired(token));
+        bh.consume(jwtUtil.extractUsername(token));
+        bh.consume(jwtUtil.extractUserId(token));
+        bh.consume(jwtUtil.extractRole(token));
+    }
+}
@@ -0,0 +1,28 @@
+package com.backend.cypherflow.benchmark;
+
+import com.backend.cypherflow.util.OtpUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * OTP value generation. Math.random() is backed by one shared Random,
+ * so compare the -t 1 and -t 4 results for contention.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.threads=4 -Djmh.args=OtpUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OtpUtilBenchmark {
+
+    @Benchmark
+    public String generateOtp() {
+        return OtpUtil.generateOtp();
+    }
+}
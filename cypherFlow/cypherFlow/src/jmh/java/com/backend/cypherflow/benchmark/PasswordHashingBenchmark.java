@@ -0,0 +1,65 @@
+package com.backend.cypherflow.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * BCrypt as used by the application: passwords at strength 12 (SecurityConfig),
+ * OTPs at the BCrypt.gensalt() default of 10 (OtpService, OtpVerificationService).
+ * Every operation takes milliseconds, so a few short iterations are enough.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.threads=4 -Djmh.args=PasswordHashingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Password@123";
+    private static final String OTP = "123456";
+
+    // same strength as the SecurityConfig bean
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(12);
+
+    private String passwordHash;
+    private String otpHash;
+
+    @Setup
+    public void setUp() {
+        passwordHash = passwordEncoder.encode(PASSWORD);
+        otpHash = BCrypt.hashpw(OTP, BCrypt.gensalt());
+    }
+
+    @Benchmark
+    public String encodePassword() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matchPassword() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    @Benchmark
+    public String hashOtp() {
+        return BCrypt.hashpw(OTP, BCrypt.gensalt());
+    }
+
+    @Benchmark
+    public boolean checkOtp() {
+        return BCrypt.checkpw(OTP, otpHash);
+    }
+}
@@ -0,0 +1,41 @@
+package com.backend.cypherflow.benchmark;
+
+import com.backend.cypherflow.util.TokenUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Reset / block-account tokens: generateToken shares one SecureRandom across threads,
+ * hashToken runs on every reset-password and block-account request.
+ *
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.threads=4 -Djmh.args=TokenUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenUtilBenchmark {
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        token = TokenUtil.generateToken();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return TokenUtil.generateToken();
+    }
+
+    @Benchmark
+    public String hashToken() {
+        return TokenUtil.hashToken(token);
+    }
+}
@@ -0,0 +1,30 @@
+package com.backend.cypherflow.loadtest;
+
+import com.backend.cypherflow.service.SmsService;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Stand-in for the SMS gateway: keeps mobile OTP messages per number for the harness to read back
+public class CapturingSmsService extends SmsService {
+
+    private final Map<String, BlockingQueue<String>> inboxes = new ConcurrentHashMap<>();
+
+    @Override
+    public void sendSms(String mobile, String message) {
+        inbox(mobile).add(message);
+    }
+
+    // mobile in E.164 form, as stored by RegistrationService
+    public String await(String mobile, Duration timeout) throws InterruptedException {
+        return inbox(mobile).poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private BlockingQueue<String> inbox(String mobile) {
+        return inboxes.computeIfAbsent(mobile, key -> new LinkedBlockingQueue<>());
+    }
+}
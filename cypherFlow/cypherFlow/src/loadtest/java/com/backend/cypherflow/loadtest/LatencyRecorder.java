@@ -0,0 +1,84 @@
+package com.backend.cypherflow.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency histograms (microseconds, up to one minute) and error counts
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentSkipListMap<>();
+
+    public void record(String endpoint, long startNanos, boolean success) {
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+
+        histograms.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    public void error(String endpoint) {
+        errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+    }
+
+    public void printSummary(PrintStream out) {
+
+        out.printf("%-32s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram h = entry.getValue();
+            LongAdder errorCount = errors.get(entry.getKey());
+
+            out.printf("%-32s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(),
+                    h.getTotalCount(),
+                    errorCount == null ? 0 : errorCount.sum(),
+                    millis(h.getValueAtPercentile(50)),
+                    millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()));
+        }
+
+        // errors that never produced a response (timeouts, missing OTP mail/SMS)
+        errors.forEach((endpoint, count) -> {
+            if (!histograms.containsKey(endpoint)) {
+                out.printf("%-32s %8s %7d%n", endpoint, "-", count.sum());
+            }
+        });
+    }
+
+    // One .hgrm file per endpoint, values in milliseconds (plot with HdrHistogram's plotter)
+    public void writeHistograms(Path dir) throws IOException {
+
+        Files.createDirectories(dir);
+
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            String file = entry.getKey().replaceAll("[^A-Za-z0-9-]+", "_") + ".hgrm";
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(file)))) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,162 @@
+package com.backend.cypherflow.loadtest;
+
+import com.backend.cypherflow.SocialApplication;
+import com.backend.cypherflow.service.SmsService;
+import com.backend.cypherflow.support.InMemorySmtpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Self-contained load test: boots the application in-process against H2 (or --jdbc-url),
+ * an in-memory SMTP sink and a capturing SMS stand-in, then starts UserJourneys at a fixed
+ * arrival rate (open model, one virtual thread per journey) regardless of how fast earlier
+ * journeys complete. Latency percentiles are printed per endpoint and written as .hgrm files.
+ *
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=50 --duration=120"
+ *
+ * Options: --rate (journeys/s, default 20), --duration (s, default 60), --warmup (s, default 10),
+ *          --delivery-timeout (s, default 30), --out (default target/loadtest),
+ *          --jdbc-url / --db-username / --db-password (local database instead of H2),
+ *          --virtual-threads (true/false, spring.threads.virtual.enabled for the application)
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> options = parse(args);
+
+        double rate = Double.parseDouble(options.getOrDefault("rate", "20"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "60"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "10"));
+        Duration deliveryTimeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("delivery-timeout", "30")));
+        Path outDir = Path.of(options.getOrDefault("out", "target/loadtest"));
+
+        // three digits, part of every generated username and mobile number
+        String runId = String.format("%03d", (System.currentTimeMillis() / 1000) % 1000);
+
+        CapturingSmsService smsService = new CapturingSmsService();
+
+        try (InMemorySmtpServer smtp = InMemorySmtpServer.start();
+             ConfigurableApplicationContext context = start(options, smtp, smsService);
+             ExecutorService journeys = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            AtomicLong sequence = new AtomicLong();
+
+            System.out.printf("Warming up for %ds at %.1f journeys/s%n", warmupSeconds, rate);
+            drive(warmupSeconds, rate, scheduled -> journeys.submit(new UserJourney(
+                    httpClient, baseUrl, smtp, smsService, new LatencyRecorder(), deliveryTimeout,
+                    scheduled, runId, sequence.incrementAndGet())));
+
+            LatencyRecorder recorder = new LatencyRecorder();
+
+            System.out.printf("Measuring for %ds at %.1f journeys/s against %s%n", durationSeconds, rate, baseUrl);
+            long started = drive(durationSeconds, rate, scheduled -> journeys.submit(new UserJourney(
+                    httpClient, baseUrl, smtp, smsService, recorder, deliveryTimeout,
+                    scheduled, runId, sequence.incrementAndGet())));
+
+            journeys.shutdown();
+            if (!journeys.awaitTermination(deliveryTimeout.toSeconds() * 4, TimeUnit.SECONDS)) {
+                System.out.println("Some journeys were still running at the end of the test");
+            }
+
+            System.out.printf("%nStarted %d journeys, %d mails captured%n%n", started, smtp.received());
+            recorder.printSummary(System.out);
+            recorder.writeHistograms(outDir);
+            System.out.printf("%nHistograms written to %s%n", outDir.toAbsolutePath());
+        }
+    }
+
+    /* ================= ARRIVALS ================= */
+
+    private interface Arrival {
+        void start(long scheduledNanos);
+    }
+
+    // Open model: arrival i is due at start + i / rate, independent of response times
+    private static long drive(long seconds, double rate, Arrival arrival) {
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        long count = 0;
+
+        for (long due = start; due < end; due += intervalNanos) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            arrival.start(due);
+            count++;
+        }
+        return count;
+    }
+
+    /* ================= APPLICATION ================= */
+
+    private static ConfigurableApplicationContext start(Map<String, String> options, InMemorySmtpServer smtp,
+                                                        CapturingSmsService smsService)
+    {
+        Map<String, Object> properties = new HashMap<>();
+
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", options.getOrDefault("virtual-threads", "false"));
+
+        properties.put("spring.datasource.url", options.getOrDefault("jdbc-url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1"));
+        properties.put("spring.datasource.username", options.getOrDefault("db-username", "sa"));
+        properties.put("spring.datasource.password", options.getOrDefault("db-password", ""));
+        properties.put("spring.jpa.hibernate.ddl-auto", options.containsKey("jdbc-url") ? "update" : "create-drop");
+
+        properties.put("spring.mail.host", "localhost");
+        properties.put("spring.mail.port", smtp.port());
+        properties.put("spring.mail.username", "");
+        properties.put("spring.mail.password", "");
+        properties.put("spring.mail.properties.mail.smtp.auth", "false");
+        properties.put("spring.mail.properties.mail.smtp.starttls.enable", "false");
+
+        properties.put("jwt.secret", Base64.getEncoder().encodeToString(
+                "cypherflow-loadtest-jwt-secret-key-0123456789".getBytes()));
+        properties.put("app.frontend.reset-password-url", "http://localhost/reset-password");
+        properties.put("app.storage.local.root", "target/loadtest/uploads");
+
+        properties.put("management.tracing.sampling.probability", "0");
+        properties.put("logging.level.com.backend.cypherflow", "WARN");
+
+        return new SpringApplicationBuilder(SocialApplication.class)
+                .properties(properties)
+                .initializers(context -> ((GenericApplicationContext) context).registerBean(
+                        "loadTestSmsService", SmsService.class, () -> smsService,
+                        definition -> definition.setPrimary(true)))
+                .run();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,186 @@
+package com.backend.cypherflow.loadtest;
+
+import com.backend.cypherflow.support.InMemorySmtpServer;
+import com.backend.cypherflow.util.MobileNumberUtil;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * One new user walking through the whole account lifecycle:
+ * register -> verify email + mobile OTP -> login -> profile/me -> forgot-password -> reset-password.
+ * The first request is timed from its scheduled arrival, so a harness that falls behind shows up
+ * as latency instead of silently lowering the rate (coordinated omission).
+ */
+public class UserJourney implements Runnable {
+
+    private static final Pattern OTP = Pattern.compile("\\b(\\d{6})\\b");
+    private static final Pattern RESET_TOKEN = Pattern.compile("token=([A-Za-z0-9_-]+)");
+    private static final Pattern JWT = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final String PASSWORD = "Password@123";
+    private static final String NEW_PASSWORD = "NewPassword@123";
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final InMemorySmtpServer smtp;
+    private final CapturingSmsService smsService;
+    private final LatencyRecorder recorder;
+    private final Duration deliveryTimeout;
+    private final long scheduledNanos;
+
+    private final String username;
+    private final String email;
+    private final String mobile;
+
+    public UserJourney(HttpClient httpClient, String baseUrl, InMemorySmtpServer smtp, CapturingSmsService smsService,
+                       LatencyRecorder recorder, Duration deliveryTimeout, long scheduledNanos,
+                       String runId, long sequence)
+    {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.smtp = smtp;
+        this.smsService = smsService;
+        this.recorder = recorder;
+        this.deliveryTimeout = deliveryTimeout;
+        this.scheduledNanos = scheduledNanos;
+
+        this.username = "lt" + runId + "u" + sequence;
+        this.email = username + "@loadtest.local";
+        this.mobile = "9" + runId + String.format("%06d", sequence % 1_000_000);
+    }
+
+    @Override
+    public void run() {
+        try {
+            execute();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            recorder.error("journey");
+        }
+    }
+
+    private void execute() throws Exception {
+
+        /* ================= REGISTER ================= */
+
+        if (!post("POST /api/auth/register", "/api/auth/register", """
+                {"firstName":"Load","lastName":"Test","username":"%s","password":"%s","email":"%s",
+                 "mobile":"%s","gender":"MALE","dob":"1990-01-01"}
+                """.formatted(username, PASSWORD, email, mobile), scheduledNanos).ok()) {
+            return;
+        }
+
+        String emailOtp = awaitEmail("OTP Verification", OTP);
+        if (emailOtp == null || !verifyRegistration("EMAIL", emailOtp)) {
+            return;
+        }
+
+        String sms = smsService.await(MobileNumberUtil.normalize(mobile), deliveryTimeout);
+        String mobileOtp = extract(OTP, sms);
+        if (mobileOtp == null) {
+            recorder.error("sms otp delivery");
+            return;
+        }
+        if (!verifyRegistration("MOBILE", mobileOtp)) {
+            return;
+        }
+
+        /* ================= LOGIN + PROFILE ================= */
+
+        Result login = post("POST /api/auth/login", "/api/auth/login", """
+                {"username":"%s","password":"%s"}
+                """.formatted(username, PASSWORD), System.nanoTime());
+
+        String jwt = login.ok() ? extract(JWT, login.body()) : null;
+        if (jwt == null) {
+            return;
+        }
+
+        HttpRequest profile = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/profile/me"))
+                .header("Authorization", "Bearer " + jwt)
+                .GET()
+                .build();
+
+        if (!send("GET /api/v1/profile/me", profile, System.nanoTime()).ok()) {
+            return;
+        }
+
+        /* ================= FORGOT / RESET PASSWORD ================= */
+
+        if (!post("POST /api/auth/forgot-password", "/api/auth/forgot-password", """
+                {"email":"%s"}
+                """.formatted(email), System.nanoTime()).ok()) {
+            return;
+        }
+
+        String resetToken = awaitEmail("Reset Your Password", RESET_TOKEN);
+        if (resetToken == null) {
+            return;
+        }
+
+        post("POST /api/auth/reset-password", "/api/auth/reset-password", """
+                {"token":"%s","newPassword":"%s"}
+                """.formatted(resetToken, NEW_PASSWORD), System.nanoTime());
+    }
+
+    /* ================= HELPERS ================= */
+
+    private boolean verifyRegistration(String otpType, String otp) throws Exception {
+        return post("POST /api/auth/verify-registration-otp", "/api/auth/verify-registration-otp", """
+                {"username":"%s","otp":"%s","otpType":"%s","otpReason":"REGISTRATION"}
+                """.formatted(username, otp, otpType), System.nanoTime()).ok();
+    }
+
+    private String awaitEmail(String subject, Pattern pattern) throws InterruptedException {
+
+        InMemorySmtpServer.Message message = smtp.await(email, subject, deliveryTimeout);
+        String value = message == null ? null : extract(pattern, message.body());
+
+        if (value == null) {
+            recorder.error("mail delivery: " + subject);
+        }
+        return value;
+    }
+
+    private Result post(String endpoint, String path, String json, long startNanos) throws Exception {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+
+        return send(endpoint, request, startNanos);
+    }
+
+    private Result send(String endpoint, HttpRequest request, long startNanos) throws Exception {
+
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean ok = response.statusCode() / 100 == 2;
+
+            recorder.record(endpoint, startNanos, ok);
+            return new Result(ok, response.body());
+        } catch (IOException e) {
+            recorder.record(endpoint, startNanos, false);
+            return new Result(false, null);
+        }
+    }
+
+    private static String extract(Pattern pattern, String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private record Result(boolean ok, String body) {}
+}
@@ -2,12 +2,14 @@ package com.backend.cypherflow;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableScheduling
 @EnableAsync
 @SpringBootApplication
+@PropertySource("classpath:cypherflow-defaults.properties")
 public class SocialApplication {
 
 
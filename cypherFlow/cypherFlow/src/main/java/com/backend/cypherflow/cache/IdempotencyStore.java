@@ -0,0 +1,92 @@
+package com.backend.cypherflow.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * Bounded (key -> request hash, response) store behind the Idempotency-Key header.
+ * The first request for a key executes; duplicates arriving meanwhile wait for its response
+ * instead of running the flow again, later ones replay it until the TTL expires.
+ */
+@Component
+public class IdempotencyStore {
+
+    public enum Outcome { EXECUTE, REPLAY, MISMATCH, IN_PROGRESS }
+
+    public record StoredResponse(int status, String contentType, byte[] body) {}
+
+    public record Claim(Outcome outcome, Entry entry, StoredResponse response) {}
+
+    public static final class Entry {
+
+        private final String requestHash;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private Entry(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+
+    private final Cache<String, Entry> cache;
+    private final long waitTimeoutMs;
+
+    public IdempotencyStore(@Value("${app.idempotency.max-size:10000}") long maxSize,
+                            @Value("${app.idempotency.ttl-seconds:300}") long ttlSeconds,
+                            @Value("${app.idempotency.wait-timeout-ms:2000}") long waitTimeoutMs)
+    {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    public Claim claim(String key, String requestHash) {
+
+        while (true) {
+            Entry mine = new Entry(requestHash);
+            Entry existing = cache.asMap().putIfAbsent(key, mine);
+
+            if (existing == null) {
+                return new Claim(Outcome.EXECUTE, mine, null);
+            }
+            if (!existing.requestHash.equals(requestHash)) {
+                return new Claim(Outcome.MISMATCH, null, null);
+            }
+
+            StoredResponse response;
+            try {
+                response = existing.response.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                return new Claim(Outcome.IN_PROGRESS, null, null);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return new Claim(Outcome.IN_PROGRESS, null, null);
+            } catch (ExecutionException ex) {
+                response = null;
+            }
+
+            if (response != null) {
+                return new Claim(Outcome.REPLAY, null, response);
+            }
+            // the first attempt was not kept (5xx, busy); one of the waiters runs it again
+        }
+    }
+
+    // null = not worth replaying; the key is released so the next retry executes again
+    public void complete(Entry entry, String key, StoredResponse response) {
+
+        if (response == null) {
+            cache.asMap().remove(key, entry);
+        }
+        entry.response.complete(response);
+    }
+}
@@ -0,0 +1,68 @@
+package com.backend.cypherflow.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// userId -> current profile version, lets conditional GETs answer 304 without loading the profile.
+// The map is local to this node: a write served by another node is not seen here until the entry
+// expires, so deployments behind a load balancer disable it and read the version column instead.
+@Component
+public class ProfileVersionCache {
+
+    private final boolean enabled;
+    private final Cache<Long, Long> versions;
+
+    public ProfileVersionCache(@Value("${app.profile-version-cache.enabled:true}") boolean enabled,
+                               @Value("${app.profile-version-cache.max-size:50000}") long maxSize,
+                               @Value("${app.profile-version-cache.ttl-seconds:300}") long ttlSeconds)
+    {
+        this.enabled = enabled;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Long get(Long userId) {
+        return enabled ? versions.getIfPresent(userId) : null;
+    }
+
+    // Never moves backwards: a read that loaded the row before a concurrent write commits must not
+    // replace the version that write publishes
+    public void put(Long userId, Long version) {
+        if (enabled) {
+            versions.asMap().merge(userId, version, Math::max);
+        }
+    }
+
+    // Publishes a bumped version only once the new row is visible to other readers
+    public void putAfterCommit(Long userId, Long version) {
+
+        if (!enabled) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(userId, version);
+            return;
+        }
+
+        versions.invalidate(userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(userId, version);
+            }
+        });
+    }
+}
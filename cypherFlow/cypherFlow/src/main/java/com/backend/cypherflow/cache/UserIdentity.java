@@ -0,0 +1,32 @@
+package com.backend.cypherflow.cache;
+
+import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.enums.AccountStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Immutable snapshot of the fields lookup-only flows need, so they can skip loading the User entity
+@Getter
+@AllArgsConstructor
+public class UserIdentity {
+
+    private final Long userId;
+    private final String username;
+    private final String email;
+    private final String mobile;
+    private final AccountStatus accountStatus;
+    private final boolean emailVerified;
+    private final boolean mobileVerified;
+
+    public static UserIdentity of(User user) {
+        return new UserIdentity(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getMobile(),
+                user.getAccountStatus(),
+                user.isEmailVerified(),
+                user.isMobileVerified()
+        );
+    }
+}
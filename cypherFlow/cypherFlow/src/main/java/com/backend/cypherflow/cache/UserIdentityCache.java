@@ -0,0 +1,147 @@
+package com.backend.cypherflow.cache;
+
+import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.util.MobileNumberUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class UserIdentityCache {
+
+    private static final String ID_KEY = "id:";
+    private static final String USERNAME_KEY = "username:";
+    private static final String EMAIL_KEY = "email:";
+    private static final String MOBILE_KEY = "mobile:";
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentity> cache;
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${app.identity-cache.max-size:10000}") long maxSize,
+                             @Value("${app.identity-cache.ttl-seconds:300}") long ttlSeconds)
+    {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /* ================= LOOKUPS ================= */
+
+    public Optional<UserIdentity> findById(Long userId) {
+        return lookup(ID_KEY + userId, () -> userRepository.findById(userId));
+    }
+
+    public Optional<UserIdentity> findByUsername(String username) {
+        return lookup(USERNAME_KEY + normalize(username),
+                () -> userRepository.findByUsernameIgnoreCase(username));
+    }
+
+    public Optional<UserIdentity> findByEmail(String email) {
+        return lookup(EMAIL_KEY + normalize(email),
+                () -> userRepository.findByEmailIgnoreCase(email));
+    }
+
+    public Optional<UserIdentity> findByMobile(String mobile) {
+        String normalized = MobileNumberUtil.tryNormalize(mobile);
+
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        return lookup(MOBILE_KEY + normalized, () -> userRepository.findByMobile(normalized));
+    }
+
+    /* ================= INVALIDATION ================= */
+
+    // Called for every persisted, updated or deleted User (see UserIdentityCacheListener).
+    // Evicts the keys of the current state and of the state it was loaded with, so a renamed
+    // username, email or mobile stops resolving to the old snapshot.
+    public void invalidate(User user) {
+
+        Set<String> keys = new LinkedHashSet<>(keysOf(UserIdentity.of(user)));
+        if (user.getLoadedIdentity() != null) {
+            keys.addAll(keysOf(user.getLoadedIdentity()));
+        }
+        cache.invalidateAll(keys);
+
+        // A concurrent reader may re-cache the old row before this transaction commits,
+        // so evict once more after completion.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(keys);
+                }
+            });
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("User identity cache invalidated. userId={}", user.getId());
+        }
+    }
+
+    /* ================= HELPERS ================= */
+
+    private Optional<UserIdentity> lookup(String key, Supplier<Optional<User>> loader) {
+
+        UserIdentity cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserIdentity> loaded = loader.get().map(UserIdentity::of);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    private void put(UserIdentity identity) {
+        cache.put(ID_KEY + identity.getUserId(), identity);
+
+        if (identity.getUsername() != null) {
+            cache.put(USERNAME_KEY + normalize(identity.getUsername()), identity);
+        }
+        if (identity.getEmail() != null) {
+            cache.put(EMAIL_KEY + normalize(identity.getEmail()), identity);
+        }
+        if (identity.getMobile() != null) {
+            cache.put(MOBILE_KEY + identity.getMobile(), identity);
+        }
+    }
+
+    private Set<String> keysOf(UserIdentity identity) {
+        Set<String> keys = new LinkedHashSet<>(4);
+
+        if (identity.getUserId() != null) {
+            keys.add(ID_KEY + identity.getUserId());
+        }
+        if (identity.getUsername() != null) {
+            keys.add(USERNAME_KEY + normalize(identity.getUsername()));
+        }
+        if (identity.getEmail() != null) {
+            keys.add(EMAIL_KEY + normalize(identity.getEmail()));
+        }
+        if (identity.getMobile() != null) {
+            keys.add(MOBILE_KEY + identity.getMobile());
+        }
+        return keys;
+    }
+
+    private static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,32 @@
+package com.backend.cypherflow.cache;
+
+import com.backend.cypherflow.entity.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Instantiated by Hibernate through Spring's bean container while the EntityManagerFactory is being built.
+// The cache needs UserRepository, which needs that factory, so it is looked up per callback instead of injected.
+public class UserIdentityCacheListener {
+
+    private final ObjectProvider<UserIdentityCache> userIdentityCache;
+
+    public UserIdentityCacheListener(ObjectProvider<UserIdentityCache> userIdentityCache) {
+        this.userIdentityCache = userIdentityCache;
+    }
+
+    @PostLoad
+    public void snapshot(User user) {
+        user.setLoadedIdentity(UserIdentity.of(user));
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userIdentityCache.getObject().invalidate(user);
+        user.setLoadedIdentity(UserIdentity.of(user));
+    }
+}
@@ -0,0 +1,150 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.enums.ErrorCode;
+import com.backend.cypherflow.security.AdaptiveConcurrencyLimit;
+import com.backend.cypherflow.security.AdaptiveConcurrencyLimit.RouteClass;
+import com.backend.cypherflow.util.ApiErrorWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+
+/*
+ * Sheds /api/auth/** load before it reaches the thread pools, the database or SMTP.
+ * Requests over the adaptive limit get 503 + Retry-After straight away; priority routes
+ * (block-account by default, the "this wasn't me" link) always pass and are not counted.
+ * Routes that hash a password or OTP on the request path are measured against their own baseline.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIMITED_PREFIX = "/api/auth/";
+
+    private static final String DEFAULT_HASHING_PATHS = "/api/auth/login,/api/auth/register,"
+            + "/api/auth/reset-password,/api/auth/verify-otp,/api/auth/verify-registration-otp,"
+            + "/api/auth/unblock-account/verify-otp";
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final boolean enabled;
+    private final List<PathPattern> bypassPaths;
+    private final List<PathPattern> hashingPaths;
+    private final String retryAfterSeconds;
+    private final Counter rejected;
+
+    public AdaptiveConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.limiter.enabled:true}") boolean enabled,
+            @Value("${app.auth.limiter.initial-limit:20}") int initialLimit,
+            @Value("${app.auth.limiter.min-limit:4}") int minLimit,
+            @Value("${app.auth.limiter.max-limit:200}") int maxLimit,
+            @Value("${app.auth.limiter.bypass-paths:/api/auth/block-account}") List<String> bypassPaths,
+            @Value("${app.auth.limiter.hashing-paths:" + DEFAULT_HASHING_PATHS + "}") List<String> hashingPaths,
+            @Value("${app.executor.retry-after-seconds:5}") long retryAfterSeconds)
+    {
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+        this.enabled = enabled;
+        this.bypassPaths = parse(bypassPaths);
+        this.hashingPaths = parse(hashingPaths);
+        this.retryAfterSeconds = Long.toString(retryAfterSeconds);
+
+        Gauge.builder("cypherflow.auth.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit for /api/auth")
+                .register(meterRegistry);
+        Gauge.builder("cypherflow.auth.limiter.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests currently admitted under the /api/auth limit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("cypherflow.auth.limiter.rejected")
+                .description("Requests shed by the /api/auth concurrency limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+
+        if (!enabled) {
+            return true;
+        }
+
+        String path = request.getServletPath();
+        return !path.startsWith(LIMITED_PREFIX) || matches(bypassPaths, path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+
+        if (!limit.tryAcquire()) {
+            rejected.increment();
+
+            if (log.isDebugEnabled()) {
+                log.debug("Request shed by concurrency limiter. URI={}, limit={}",
+                        request.getRequestURI(), limit.getLimit());
+            }
+            writeRejection(response);
+            return;
+        }
+
+        RouteClass routeClass = matches(hashingPaths, request.getServletPath())
+                ? RouteClass.HASHING
+                : RouteClass.STANDARD;
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            // 5xx (including 503 from a saturated executor) means downstream is struggling
+            dropped = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } finally {
+            limit.release(routeClass, System.nanoTime() - start, dropped);
+        }
+    }
+
+    private static List<PathPattern> parse(List<String> patterns) {
+        return patterns.stream()
+                .map(String::trim)
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    // Servlet path, so a context path does not matter; /api/auth/login/ counts as /api/auth/login
+    private static boolean matches(List<PathPattern> patterns, String servletPath) {
+
+        String path = servletPath.length() > 1 && servletPath.endsWith("/")
+                ? servletPath.substring(0, servletPath.length() - 1)
+                : servletPath;
+        PathContainer container = PathContainer.parsePath(path);
+
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeRejection(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        ApiErrorWriter.write(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                ErrorCode.SERVICE_BUSY, "Service is busy, please retry shortly");
+    }
+}
@@ -1,5 +1,7 @@
 package com.backend.cypherflow.config;
 
+import com.backend.cypherflow.metrics.ExecutorMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -7,18 +9,83 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
+// Every executor rejects when full (TaskRejectedException -> 503 + Retry-After, see GlobalExceptionHandler)
+// instead of queueing without bound or silently dropping work. Pool sizes can be changed at runtime via
+// /api/admin/executors.
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+    // Same switch as Tomcat's request threads, so the whole request path moves to virtual threads together
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final ExecutorMetrics executorMetrics;
+
+    public AsyncConfig(ExecutorMetrics executorMetrics)
+    {
+        this.executorMetrics = executorMetrics;
+    }
+
     @Bean(name = "otpExecutor")
-    public Executor otpExecutor() {
+    public Executor otpExecutor(
+            @Value("${app.otp.executor.core-size:5}") int coreSize,
+            @Value("${app.otp.executor.max-size:10}") int maxSize,
+            @Value("${app.otp.executor.queue-capacity:100}") int queueCapacity,
+            @Value("${app.otp.executor.virtual-concurrency-limit:200}") int virtualConcurrencyLimit)
+    {
+        if (virtualThreads) {
+            return virtualThreadExecutor("otpExecutor", "OTP-", virtualConcurrencyLimit);
+        }
+        return pool("otpExecutor", "OTP-", coreSize, maxSize, queueCapacity);
+    }
+
+    // Image decoding is CPU and memory heavy, so avatar work stays on a small pool with a bounded queue
+    @Bean(name = "avatarExecutor")
+    public Executor avatarExecutor(
+            @Value("${app.avatar.executor.pool-size:2}") int poolSize,
+            @Value("${app.avatar.executor.queue-capacity:50}") int queueCapacity)
+    {
+        return pool("avatarExecutor", "AVATAR-", poolSize, poolSize, queueCapacity);
+    }
+
+    // SMTP round trips are slow and independent of the OTP pool, so mails get their own threads
+    @Bean(name = "mailExecutor")
+    public Executor mailExecutor(
+            @Value("${app.mail.executor.pool-size:4}") int poolSize,
+            @Value("${app.mail.executor.queue-capacity:200}") int queueCapacity,
+            @Value("${app.mail.executor.virtual-concurrency-limit:100}") int virtualConcurrencyLimit)
+    {
+        if (virtualThreads) {
+            return virtualThreadExecutor("mailExecutor", "MAIL-", virtualConcurrencyLimit);
+        }
+        return pool("mailExecutor", "MAIL-", poolSize, poolSize, queueCapacity);
+    }
+
+    /* ================= HELPERS ================= */
+
+    private ThreadPoolTaskExecutor pool(String name, String threadNamePrefix,
+                                        int coreSize, int maxSize, int queueCapacity)
+    {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("OTP-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setTaskDecorator(executorMetrics.decorator(name));
+        executor.setRejectedExecutionHandler(executorMetrics.rejectionHandler(name));
         executor.initialize();
+
+        executorMetrics.monitor(name, executor);
+        return executor;
+    }
+
+    // One virtual thread per task; the limit stands in for the pool size + queue so a burst can't open unbounded SMTP connections
+    private VirtualThreadTaskExecutor virtualThreadExecutor(String name, String threadNamePrefix, int concurrencyLimit) {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor(
+                name, threadNamePrefix, concurrencyLimit, executorMetrics.decorator(name));
+
+        executorMetrics.monitor(name, executor);
         return executor;
     }
 }
@@ -0,0 +1,152 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.datasource.ReadWriteRoutingDataSource;
+import com.backend.cypherflow.datasource.ReadYourWritesTracker;
+import com.backend.cypherflow.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Read/write splitting, enabled with app.datasource.routing.enabled=true.
+ * The primary keeps using spring.datasource.*, replicas share its credentials unless overridden.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    // An idle primary sends no new transactions, so the replay timestamp alone keeps ageing on a replica
+    // that is fully caught up; a replica that has replayed everything it received reports 0
+    private static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+                    + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    @Value("${spring.datasource.url}")
+    private String primaryUrl;
+
+    @Value("${spring.datasource.username}")
+    private String primaryUsername;
+
+    @Value("${spring.datasource.password}")
+    private String primaryPassword;
+
+    @Value("${app.datasource.replica-urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replica-username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica-password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.stickiness-ms:5000}")
+    private long stickinessMs;
+
+    @Value("${app.datasource.max-replica-lag-ms:2000}")
+    private long maxReplicaLagMs;
+
+    @Value("${app.datasource.replica-lag-query:" + POSTGRES_LAG_QUERY + "}")
+    private String replicaLagQuery;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource() {
+        return hikari("primary", primaryUrl, primaryUsername, primaryPassword, 0);
+    }
+
+    @Bean
+    public ReplicaPools replicaPools() {
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String url = replicaUrls.get(i).trim();
+
+            if (!url.isEmpty()) {
+                String key = "replica-" + i;
+                replicas.put(key, hikari(key, url, replicaUsername, replicaPassword, replicaPoolSize));
+            }
+        }
+
+        log.info("Read/write datasource routing enabled. replicas={}", replicas.size());
+        return new ReplicaPools(replicas);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaPools replicaPools, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(
+                replicaPools.dataSources(),
+                replicaLagQuery,
+                maxReplicaLagMs / 1000.0,
+                meterRegistry
+        );
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(Duration.ofMillis(stickinessMs), 100_000);
+    }
+
+    @Primary
+    @Bean
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaPools replicaPools,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 ReplicaLagMonitor replicaLagMonitor)
+    {
+        Map<Object, Object> targets = new LinkedHashMap<>(replicaPools.dataSources());
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                new ArrayList<>(replicaPools.dataSources().keySet()),
+                readYourWritesTracker,
+                replicaLagMonitor
+        );
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        // defer the routing decision until the first statement, when the read-only flag is known
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private HikariDataSource hikari(String poolName, String url, String username, String password, int maxPoolSize) {
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+
+        if (maxPoolSize > 0) {
+            dataSource.setMaximumPoolSize(maxPoolSize);
+        }
+        return dataSource;
+    }
+
+    // Owns the replica pools so they are closed with the context
+    public record ReplicaPools(Map<String, DataSource> dataSources) implements DisposableBean {
+
+        @Override
+        public void destroy() {
+            dataSources.values().forEach(dataSource -> ((HikariDataSource) dataSource).close());
+        }
+    }
+}
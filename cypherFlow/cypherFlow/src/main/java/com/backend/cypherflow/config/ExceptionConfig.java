@@ -0,0 +1,21 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+// Business exceptions are stackless by default; turn traces back on when debugging a rejection path
+@Configuration
+@Slf4j
+public class ExceptionConfig {
+
+    public ExceptionConfig(@Value("${app.exceptions.stack-traces:false}") boolean stackTracesEnabled)
+    {
+        BusinessException.setStackTracesEnabled(stackTracesEnabled);
+
+        if (stackTracesEnabled) {
+            log.info("Stack traces enabled for business exceptions");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.backend.cypherflow.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Hibernate second-level + query cache backed by an in-process Caffeine JCache provider
+@Configuration
+@Slf4j
+public class HibernateCacheConfig {
+
+    public static final String USER_REGION = "users";
+    public static final String USER_PROFILE_REGION = "user_profiles";
+
+    // default region names Hibernate uses for the query cache
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${app.cache.user.max-size:10000}")
+    private long userMaxSize;
+
+    @Value("${app.cache.user.ttl-seconds:600}")
+    private long userTtlSeconds;
+
+    @Value("${app.cache.user-profile.max-size:10000}")
+    private long userProfileMaxSize;
+
+    @Value("${app.cache.user-profile.ttl-seconds:600}")
+    private long userProfileTtlSeconds;
+
+    @Value("${app.cache.query.max-size:5000}")
+    private long queryMaxSize;
+
+    @Value("${app.cache.query.ttl-seconds:300}")
+    private long queryTtlSeconds;
+
+    @Value("${app.cache.statistics-enabled:false}")
+    private boolean statisticsEnabled;
+
+    // A manager of its own per application context: the provider's default manager is JVM-wide, and
+    // other contexts in the same JVM (tests, a second servlet) keep using their regions after this one closes
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+
+        CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(
+                        URI.create("cypherflow-hibernate:" + UUID.randomUUID()),
+                        HibernateCacheConfig.class.getClassLoader()
+                );
+
+        createRegion(cacheManager, USER_REGION, userMaxSize, userTtlSeconds);
+        createRegion(cacheManager, USER_PROFILE_REGION, userProfileMaxSize, userProfileTtlSeconds);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queryMaxSize, queryTtlSeconds);
+
+        // Timestamps must outlive every cached query result, so they are never expired
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, queryMaxSize, 0);
+
+        log.info(
+                "Hibernate second-level cache configured. statisticsEnabled={}",
+                statisticsEnabled
+        );
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statisticsEnabled);
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, String region, long maxSize, long ttlSeconds) {
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setTypes(Object.class, Object.class);
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setStatisticsEnabled(statisticsEnabled);
+
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+        }
+
+        cacheManager.createCache(region, configuration);
+    }
+}
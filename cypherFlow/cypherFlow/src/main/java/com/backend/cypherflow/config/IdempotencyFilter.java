@@ -0,0 +1,247 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.cache.IdempotencyStore;
+import com.backend.cypherflow.cache.IdempotencyStore.Claim;
+import com.backend.cypherflow.cache.IdempotencyStore.StoredResponse;
+import com.backend.cypherflow.enums.ErrorCode;
+import com.backend.cypherflow.util.ApiErrorWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+/*
+ * Optional Idempotency-Key support for register, send-otp and forgot-password.
+ * A retried request with the same key and body gets the stored response (Idempotent-Replayed: true)
+ * instead of re-running BCrypt, lookups and OTP/mail dispatch; concurrent duplicates wait for the first.
+ * Runs ahead of the concurrency limiter so replays never take a permit.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of(
+            "/api/auth/register",
+            "/api/auth/send-otp",
+            "/api/auth/forgot-password"
+    );
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final IdempotencyStore idempotencyStore;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, MeterRegistry meterRegistry)
+    {
+        this.idempotencyStore = idempotencyStore;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH
+                || request.getContentLengthLong() > MAX_BODY_BYTES) {
+            ApiErrorWriter.write(response, HttpServletResponse.SC_BAD_REQUEST, ErrorCode.VALIDATION_FAILED,
+                    "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters on a body of at most "
+                            + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            ApiErrorWriter.write(response, HttpServletResponse.SC_BAD_REQUEST, ErrorCode.VALIDATION_FAILED,
+                    "Request body too large for an idempotent request");
+            return;
+        }
+
+        // keys are scoped per caller and endpoint, so one client cannot replay another's response;
+        // the hash ties the key to one exact request
+        String storeKey = clientIdentity(request) + ':' + request.getRequestURI() + ':' + idempotencyKey;
+        Claim claim = idempotencyStore.claim(storeKey, requestHash(request, body));
+
+        count(claim.outcome());
+
+        switch (claim.outcome()) {
+            case REPLAY -> replay(claim.response(), response);
+            case MISMATCH -> ApiErrorWriter.write(response, HttpStatus.UNPROCESSABLE_CONTENT.value(),
+                    ErrorCode.IDEMPOTENCY_KEY_REUSED,
+                    "Idempotency-Key was already used with a different request");
+            case IN_PROGRESS -> ApiErrorWriter.write(response, HttpServletResponse.SC_CONFLICT,
+                    ErrorCode.REQUEST_IN_PROGRESS,
+                    "A request with this Idempotency-Key is still being processed");
+            case EXECUTE -> execute(claim, storeKey, new CachedBodyRequest(request, body), response, chain);
+        }
+    }
+
+    /* ================= HELPERS ================= */
+
+    private void execute(Claim claim, String storeKey, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain chain) throws IOException, ServletException {
+
+        ContentCachingResponseWrapper wrapped = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            chain.doFilter(request, wrapped);
+            if (isReplayable(wrapped.getStatus())) {
+                stored = new StoredResponse(wrapped.getStatus(), wrapped.getContentType(),
+                        wrapped.getContentAsByteArray());
+            }
+        } finally {
+            idempotencyStore.complete(claim.entry(), storeKey, stored);
+            wrapped.copyBodyToResponse();
+        }
+    }
+
+    // Only answers a retry would get again are kept: 2xx, 400 (validation) and 409 (conflict).
+    // Cooldowns and limits (401 COOLDOWN_ACTIVE / LIMIT_EXCEEDED, 429), 503 and 5xx change with time,
+    // so the retry must execute.
+    private static boolean isReplayable(int status) {
+        return (status >= HttpServletResponse.SC_OK && status < HttpServletResponse.SC_MULTIPLE_CHOICES)
+                || status == HttpServletResponse.SC_BAD_REQUEST
+                || status == HttpServletResponse.SC_CONFLICT;
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    // These endpoints are anonymous and the filter runs ahead of Spring Security, so the caller is usually
+    // identified by its address (the real client address when server.forward-headers-strategy is set)
+    private static String clientIdentity(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null
+                ? "user:" + principal.getName()
+                : "ip:" + request.getRemoteAddr();
+    }
+
+    private void count(IdempotencyStore.Outcome outcome) {
+        meterRegistry.counter("cypherflow.idempotency.requests",
+                "outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .increment();
+    }
+
+    private static String requestHash(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Replays the body that was read for hashing to the rest of the chain
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // the body is fully buffered: it is available at once and finished after it is read
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.backend.cypherflow.config;
 
-import com.backend.cypherflow.exception.TokenExpiredException;
+import com.backend.cypherflow.enums.Role;
 import com.backend.cypherflow.security.UserPrincipal;
 import com.backend.cypherflow.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,12 +17,22 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    // Authorities are immutable, so one list per role is shared by every request
+    private static final Map<String, List<GrantedAuthority>> AUTHORITIES = new HashMap<>();
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role.name(), List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
 
     private final JwtUtil jwtUtil;
 
@@ -59,16 +70,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             }
 
                 String token = header.substring(7);
-             if (jwtUtil.isTokenExpired(token)) {
-                 throw new TokenExpiredException("Token Expired");
-            }
 
-            String username = jwtUtil.extractUsername(token);
-                Long userId = jwtUtil.extractUserId(token);
-                String role = jwtUtil.extractRole(token);
+                // Parsed and verified once; expired tokens are rejected here (ExpiredJwtException)
+                Claims claims = jwtUtil.parseClaims(token);
+
+                String username = claims.getSubject();
+                Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+                String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
 
-                List<GrantedAuthority> authorities =
-                        List.of(new SimpleGrantedAuthority("ROLE_" + role));
+                List<GrantedAuthority> authorities = AUTHORITIES.get(role);
+                if (authorities == null) {
+                    authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+                }
 
                 // Create custom principal
                 UserPrincipal principal = new UserPrincipal(userId, username,role);
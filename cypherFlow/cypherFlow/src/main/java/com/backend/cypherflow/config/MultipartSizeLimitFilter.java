@@ -0,0 +1,69 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.enums.ErrorCode;
+import com.backend.cypherflow.util.ApiErrorWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/*
+ * Refuses a multipart upload whose declared Content-Length is over spring.servlet.multipart.max-request-size
+ * before anything reads the body: no JWT check, no multipart parsing, nothing spooled to disk.
+ * The connection is closed instead of draining the rest of the body. Chunked uploads without a length
+ * are still capped by the multipart limits and by ImageUploadValidator while streaming.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class MultipartSizeLimitFilter extends OncePerRequestFilter {
+
+    private static final String MULTIPART_PREFIX = "multipart/";
+
+    private final long maxRequestBytes;
+
+    public MultipartSizeLimitFilter(
+            @Value("${spring.servlet.multipart.max-request-size:10MB}") DataSize maxRequestSize)
+    {
+        this.maxRequestBytes = maxRequestSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith(MULTIPART_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+
+        long contentLength = request.getContentLengthLong();
+
+        if (contentLength > maxRequestBytes) {
+            if (log.isDebugEnabled()) {
+                log.debug("Oversized upload refused before reading. URI={}, contentLength={}",
+                        request.getRequestURI(), contentLength);
+            }
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            ApiErrorWriter.write(response, HttpServletResponse.SC_BAD_REQUEST, ErrorCode.FILE_SIZE_EXCEEDED,
+                    "File size must be less than " + DataSize.ofBytes(maxRequestBytes).toMegabytes() + "MB");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+}
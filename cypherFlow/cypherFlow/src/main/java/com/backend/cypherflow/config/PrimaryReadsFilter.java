@@ -0,0 +1,43 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.datasource.PrimaryReads;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/*
+ * /api/auth/** callers are anonymous, so read-your-writes stickiness never covers them. Login lockout
+ * counters, OTP cooldowns and send counts, reset tokens and the user just registered must not come
+ * from a lagging replica, so every read of these requests goes to the primary.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class PrimaryReadsFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH_PREFIX = "/api/auth/";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith(AUTH_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+
+        PrimaryReads.enter();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PrimaryReads.exit();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.backend.cypherflow.config;
 
+import com.backend.cypherflow.security.BoundedPasswordEncoder;
+import com.backend.cypherflow.security.HashingExecutor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -11,6 +14,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @EnableMethodSecurity
 @Configuration
@@ -21,13 +25,18 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
 
+    // -1 when actuator shares the public port
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
     }
 
+    // BCrypt(12) on the bounded hashing pool when called from a virtual thread
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(HashingExecutor hashingExecutor) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12), hashingExecutor);
     }
 
     @Bean
@@ -41,6 +50,9 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers(managementPortRequests()).permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/v1/profile/**").authenticated()
                         .anyRequest().authenticated()
@@ -49,4 +61,9 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    // Scrapes on the internal management port need no token; on the public port metrics are admin-only
+    private RequestMatcher managementPortRequests() {
+        return request -> managementPort > 0 && request.getLocalPort() == managementPort;
+    }
 }
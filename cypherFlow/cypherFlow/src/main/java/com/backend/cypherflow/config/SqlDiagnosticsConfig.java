@@ -0,0 +1,19 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.datasource.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// diagnostics profile only: every statement Hibernate prepares goes through SqlStatementCounter
+@Configuration
+@Profile("diagnostics")
+public class SqlDiagnosticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+}
@@ -0,0 +1,105 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.datasource.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/*
+ * diagnostics profile only: reports the SQL statements issued by each request as the
+ * X-SQL-Statement-Count header and the cypherflow.sql.statements summary, and logs requests
+ * above the warn threshold (usually an N+1). Work handed to @Async executors is not counted.
+ * The body is never buffered: the header is set just before the response commits, so
+ * streamed downloads and the sendfile path keep their Content-Length and zero-copy transfer.
+ */
+@Component
+@Profile("diagnostics")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public SqlStatementCountFilter(MeterRegistry meterRegistry,
+                                   @Value("${app.diagnostics.sql.warn-threshold:10}") int warnThreshold)
+    {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+
+        StatementCountHeaderResponse wrapped = new StatementCountHeaderResponse(response);
+
+        SqlStatementCounter.start();
+        try {
+            chain.doFilter(request, wrapped);
+        } finally {
+            // a response still uncommitted here gets the final count
+            wrapped.writeCountHeader();
+
+            int count = SqlStatementCounter.stop();
+            String uri = routePattern(request);
+
+            DistributionSummary.builder("cypherflow.sql.statements")
+                    .description("SQL statements issued per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(count);
+
+            if (count > warnThreshold) {
+                log.warn(
+                        "SQL statement count above threshold. method={}, uri={}, statements={}, threshold={}",
+                        request.getMethod(), uri, count, warnThreshold
+                );
+            }
+        }
+    }
+
+    // Route template rather than the raw path, keeps the uri tag bounded
+    private static String routePattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    // Sets the header with the statements issued so far right before the first byte is committed
+    private static final class StatementCountHeaderResponse extends OnCommittedResponseWrapper {
+
+        StatementCountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeCountHeader();
+        }
+
+        void writeCountHeader() {
+            if (!isCommitted() && !containsHeader(STATEMENT_COUNT_HEADER)) {
+                setHeader(STATEMENT_COUNT_HEADER, Integer.toString(SqlStatementCounter.current()));
+            }
+        }
+    }
+}
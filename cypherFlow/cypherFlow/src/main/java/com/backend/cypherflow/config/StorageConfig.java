@@ -0,0 +1,66 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.storage.BlobStore;
+import com.backend.cypherflow.storage.LocalFileSystemBlobStore;
+import com.backend.cypherflow.storage.S3BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+
+// Selects the profile-picture BlobStore with app.storage.type (local | s3)
+@Configuration
+@Slf4j
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore(
+            @Value("${app.storage.local.root:./uploads/profile-pictures}") String root) throws IOException
+    {
+        log.info("Profile picture storage: local file system. root={}", root);
+        return new LocalFileSystemBlobStore(Path.of(root));
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+    public S3Client s3Client(
+            @Value("${app.storage.s3.endpoint:}") String endpoint,
+            @Value("${app.storage.s3.region:us-east-1}") String region,
+            @Value("${app.storage.s3.access-key}") String accessKey,
+            @Value("${app.storage.s3.secret-key}") String secretKey)
+    {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)));
+
+        // S3-compatible servers such as MinIO or LocalStack need path-style addressing
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+    public BlobStore s3BlobStore(
+            S3Client s3Client,
+            @Value("${app.storage.s3.bucket}") String bucket,
+            @Value("${app.storage.s3.prefix:profile-pictures/}") String prefix,
+            @Value("${app.storage.s3.spool-dir:${java.io.tmpdir}/cypherflow-uploads}") String spoolDir)
+    {
+        log.info("Profile picture storage: S3. bucket={}", bucket);
+        return new S3BlobStore(s3Client, bucket, prefix, Path.of(spoolDir));
+    }
+}
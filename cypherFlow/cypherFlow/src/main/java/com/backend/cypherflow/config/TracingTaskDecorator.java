@@ -0,0 +1,40 @@
+package com.backend.cypherflow.config;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import java.util.Map;
+
+// Carries the submitting thread's MDC and observation/trace context into @Async tasks,
+// so OTP and mail work shows up under the request that triggered it
+public class TracingTaskDecorator implements TaskDecorator {
+
+    // Restores every registered ThreadLocalAccessor, which includes the current observation (span)
+    private final TaskDecorator contextPropagation = new ContextPropagatingTaskDecorator();
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+
+        Map<String, String> callerMdc = MDC.getCopyOfContextMap();
+        Runnable withContext = contextPropagation.decorate(runnable);
+
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setMdc(callerMdc);
+            try {
+                withContext.run();
+            } finally {
+                setMdc(previous);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
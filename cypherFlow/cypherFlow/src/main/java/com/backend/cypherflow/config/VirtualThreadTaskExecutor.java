@@ -0,0 +1,72 @@
+package com.backend.cypherflow.config;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+// One virtual thread per task, at most concurrencyLimit running; the next task is rejected rather than queued,
+// like a saturated pool. The limit is enforced here instead of by SimpleAsyncTaskExecutor's own throttle so the
+// running count and rejections can be read by ExecutorMetrics and /api/admin/executors.
+public class VirtualThreadTaskExecutor implements TaskExecutor, AutoCloseable {
+
+    private final String name;
+    private final int concurrencyLimit;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+    private final SimpleAsyncTaskExecutor delegate;
+
+    public VirtualThreadTaskExecutor(String name, String threadNamePrefix, int concurrencyLimit, TaskDecorator taskDecorator)
+    {
+        this.name = name;
+        this.concurrencyLimit = concurrencyLimit;
+        this.permits = new Semaphore(concurrencyLimit);
+
+        this.delegate = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        this.delegate.setVirtualThreads(true);
+        this.delegate.setTaskDecorator(taskDecorator);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            throw new TaskRejectedException(
+                    "Executor " + name + " saturated. active=" + getActiveCount() + ", limit=" + concurrencyLimit);
+        }
+
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getActiveCount() {
+        return concurrencyLimit - permits.availablePermits();
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
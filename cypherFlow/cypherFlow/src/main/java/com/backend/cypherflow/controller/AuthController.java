@@ -1,5 +1,7 @@
 package com.backend.cypherflow.controller;
 
+import com.backend.cypherflow.cache.UserIdentity;
+import com.backend.cypherflow.cache.UserIdentityCache;
 import com.backend.cypherflow.dto.request.LoginRequest;
 import com.backend.cypherflow.dto.request.OtpSendRequest;
 import com.backend.cypherflow.dto.request.OtpVerifyRequest;
@@ -24,6 +26,7 @@ public class AuthController {
     private final PasswordResetService passwordResetService;
     private final AccountUnblockService accountUnblockService;
     private final OtpVerificationService otpVerificationService;
+    private final UserIdentityCache userIdentityCache;
 
     public AuthController(
             LoginService loginService,
@@ -31,7 +34,8 @@ public class AuthController {
             UserRepository userRepository,
             PasswordResetService passwordResetService,
             AccountUnblockService accountUnblockService,
-            OtpVerificationService otpVerificationService
+            OtpVerificationService otpVerificationService,
+            UserIdentityCache userIdentityCache
     ) {
         this.loginService = loginService;
         this.otpService = otpService;
@@ -39,6 +43,7 @@ public class AuthController {
         this.passwordResetService = passwordResetService;
         this.accountUnblockService = accountUnblockService;
         this.otpVerificationService=otpVerificationService;
+        this.userIdentityCache = userIdentityCache;
     }
 
 
@@ -60,9 +65,9 @@ public class AuthController {
     @PostMapping("/send-otp")
     public ResponseEntity<?> sendOtp(@RequestBody @Valid OtpSendRequest req) {
 
-        User user = userRepository.findByUsernameIgnoreCase(req.getUsername())
+        UserIdentity user = userIdentityCache.findByUsername(req.getUsername())
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
-        otpService.dispatchOtpAsync(user.getId(), req.getType(), req.getReason());
+        otpService.dispatchOtpAsync(user.getUserId(), req.getType(), req.getReason());
 
         return ResponseEntity.ok("OTP sent successfully");
     }
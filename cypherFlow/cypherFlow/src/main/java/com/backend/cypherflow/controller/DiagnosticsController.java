@@ -0,0 +1,67 @@
+package com.backend.cypherflow.controller;
+
+import com.backend.cypherflow.dto.response.JfrRecordingResponse;
+import com.backend.cypherflow.service.DiagnosticsService;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(DiagnosticsService.DIAGNOSTICS_PATH)
+@PreAuthorize("hasRole('ADMIN')")
+public class DiagnosticsController {
+
+    private final DiagnosticsService diagnosticsService;
+
+    public DiagnosticsController(DiagnosticsService diagnosticsService)
+    {
+        this.diagnosticsService=diagnosticsService;
+    }
+
+    @PostMapping("/jfr/start")
+    public ResponseEntity<JfrRecordingResponse> startRecording(
+            @RequestParam(defaultValue = "profile") String settings,
+            @RequestParam(required = false) Long durationSeconds)
+    {
+        return ResponseEntity.ok(diagnosticsService.startRecording(settings, durationSeconds));
+    }
+
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<JfrRecordingResponse> stopRecording() {
+        return ResponseEntity.ok(diagnosticsService.stopRecording());
+    }
+
+    // Streamed from disk, recordings can be hundreds of MB
+    @GetMapping("/jfr/{recordingId}")
+    public ResponseEntity<Resource> downloadRecording(@PathVariable long recordingId) {
+
+        Resource recording = diagnosticsService.recordingResource(recordingId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(recording.getFilename())
+                        .build()
+                        .toString())
+                .body(recording);
+    }
+
+    @GetMapping(value = "/class-histogram", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> classHistogram() {
+        return ResponseEntity.ok(diagnosticsService.classHistogram());
+    }
+
+    @GetMapping(value = "/thread-dump", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> threadDump() {
+        return ResponseEntity.ok(diagnosticsService.threadDump());
+    }
+}
@@ -0,0 +1,41 @@
+package com.backend.cypherflow.controller;
+
+import com.backend.cypherflow.dto.request.ExecutorResizeRequest;
+import com.backend.cypherflow.dto.response.ExecutorStatsResponse;
+import com.backend.cypherflow.service.ExecutorAdminService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/executors")
+@PreAuthorize("hasRole('ADMIN')")
+public class ExecutorAdminController {
+
+    private final ExecutorAdminService executorAdminService;
+
+    public ExecutorAdminController(ExecutorAdminService executorAdminService)
+    {
+        this.executorAdminService=executorAdminService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ExecutorStatsResponse>> listExecutors() {
+        return ResponseEntity.ok(executorAdminService.listExecutors());
+    }
+
+    @PutMapping("/{name}")
+    public ResponseEntity<ExecutorStatsResponse> resize(@PathVariable String name,
+                                                        @Valid @RequestBody ExecutorResizeRequest request)
+    {
+        return ResponseEntity.ok(executorAdminService.resize(name, request));
+    }
+}
@@ -0,0 +1,135 @@
+package com.backend.cypherflow.controller;
+
+import com.backend.cypherflow.service.ProfilePictureService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/profile/pictures")
+@Slf4j
+public class ProfilePictureController {
+
+    // Tomcat's sendfile contract: the container streams the file with zero-copy after the handler returns
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl IMMUTABLE =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    private final ProfilePictureService profilePictureService;
+
+    public ProfilePictureController(ProfilePictureService profilePictureService)
+    {
+        this.profilePictureService = profilePictureService;
+    }
+
+    @GetMapping("/{fileName}")
+    public ResponseEntity<Resource> getProfilePicture(@PathVariable String fileName,
+                                                      HttpServletRequest request,
+                                                      HttpServletResponse response) throws IOException
+    {
+        ProfilePictureService.Picture picture = profilePictureService.open(fileName);
+
+        // 304 for clients that already hold this content, with the same caching policy as the 200
+        if (new ServletWebRequest(request, response).checkNotModified(picture.eTag())) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+            return null;
+        }
+
+        Resource resource = picture.resource();
+        long length = resource.contentLength();
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+
+        if (resource.isFile() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            List<HttpRange> ranges = rangeHeader == null ? List.of() : parseRanges(rangeHeader);
+
+            if (ranges != null && ranges.size() <= 1) {
+                try {
+                    sendFile(picture, resource.getFile(), length, ranges, request, response);
+                    return null;
+                } catch (IllegalArgumentException e) {
+                    ranges = null; // range outside the file
+                }
+            }
+
+            if (ranges == null) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+        }
+
+        // Multi-range, non-file stores or containers without sendfile:
+        // Spring answers Range requests with ResourceRegions streamed from the resource
+        return ResponseEntity.ok()
+                .contentType(picture.mediaType())
+                .eTag(picture.eTag())
+                .cacheControl(IMMUTABLE)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(resource);
+    }
+
+    private void sendFile(ProfilePictureService.Picture picture,
+                          File file,
+                          long length,
+                          List<HttpRange> ranges,
+                          HttpServletRequest request,
+                          HttpServletResponse response)
+    {
+        long start = 0;
+        long end = length - 1;
+
+        if (!ranges.isEmpty()) {
+            HttpRange range = ranges.get(0);
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        } else {
+            response.setStatus(HttpStatus.OK.value());
+        }
+
+        response.setContentType(picture.mediaType().toString());
+        response.setContentLengthLong(end - start + 1);
+        response.setHeader(HttpHeaders.ETAG, picture.eTag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        request.setAttribute(SENDFILE_FILENAME, file.getAbsolutePath());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end + 1); // exclusive
+
+        if (log.isDebugEnabled()) {
+            log.debug("Profile picture served via sendfile. key={}, bytes={}", picture.key(), end - start + 1);
+        }
+    }
+
+    // null when the header is malformed or not satisfiable
+    private List<HttpRange> parseRanges(String rangeHeader) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -38,6 +38,7 @@ public class RegistrationController {
 
         Long userId = registrationService.registerOrReuse(req);
 
+        // a rejected dispatch answers 503; the retry reuses the pending registration and resends
         otpService.dispatchOtpAsync(userId, OtpType.EMAIL, OtpReason.REGISTRATION);
         otpService.dispatchOtpAsync(userId, OtpType.MOBILE, OtpReason.REGISTRATION);
         return ResponseEntity.ok("Registered successfully. Verify OTP for email and mobile to activate your account.");
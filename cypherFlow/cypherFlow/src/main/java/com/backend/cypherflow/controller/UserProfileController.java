@@ -3,7 +3,11 @@ package com.backend.cypherflow.controller;
 import com.backend.cypherflow.dto.request.UpdateProfileRequest;
 import com.backend.cypherflow.dto.response.UserProfileResponse;
 import com.backend.cypherflow.service.UserProfileService;
+import com.backend.cypherflow.util.SecurityUtil;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -22,9 +26,27 @@ public class UserProfileController {
 
     @PreAuthorize("hasRole('USER')")
     @GetMapping("/me")
-    public UserProfileResponse getMyProfile()
+    public ResponseEntity<UserProfileResponse> getMyProfile(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
     {
-        return userProfileService.getProfile();
+        Long userId = SecurityUtil.getCurrentUserId();
+
+        // Answered from the profile version alone, the profile is not loaded
+        String unchangedETag = userProfileService.findUnchangedProfileETag(userId, ifNoneMatch);
+
+        if (unchangedETag != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(unchangedETag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+
+        UserProfileResponse profile = userProfileService.getProfile();
+
+        return ResponseEntity.ok()
+                .eTag(UserProfileService.profileETag(userId, profile.getVersion()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(profile);
     }
 
     @PutMapping("/update")
@@ -0,0 +1,55 @@
+package com.backend.cypherflow.datasource;
+
+import java.util.function.Supplier;
+
+/*
+ * Sends the current thread's read-only work to the primary while inside call()/run(), or between
+ * enter() and exit() where the work can't be wrapped in a lambda (servlet filters).
+ * Read-your-writes stickiness is keyed on the authenticated user, so anonymous flows that decide
+ * on security state (lockout counters, OTP cooldowns, reset tokens) or that follow their own write
+ * (send-otp right after register) would otherwise read a possibly lagging replica.
+ * A read-only transaction already bound to a replica connection is not moved.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<int[]> DEPTH = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> work) {
+        enter();
+        try {
+            return work.get();
+        } finally {
+            exit();
+        }
+    }
+
+    public static void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static void enter() {
+        int[] depth = DEPTH.get();
+        if (depth == null) {
+            depth = new int[1];
+            DEPTH.set(depth);
+        }
+        depth[0]++;
+    }
+
+    public static void exit() {
+        int[] depth = DEPTH.get();
+        if (depth != null && --depth[0] == 0) {
+            DEPTH.remove();
+        }
+    }
+
+    public static boolean isForced() {
+        return DEPTH.get() != null;
+    }
+}
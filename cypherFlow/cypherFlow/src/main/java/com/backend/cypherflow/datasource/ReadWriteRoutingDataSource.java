@@ -0,0 +1,62 @@
+package com.backend.cypherflow.datasource;
+
+import com.backend.cypherflow.util.SecurityUtil;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Sends @Transactional(readOnly = true) work to a replica and everything else to the primary.
+ * Reads inside PrimaryReads stay on the primary as well.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the lookup happens at the first
+ * statement, after the transaction's read-only flag has been bound.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(List<String> replicaKeys,
+                                      ReadYourWritesTracker readYourWritesTracker,
+                                      ReplicaLagMonitor replicaLagMonitor)
+    {
+        this.replicaKeys = List.copyOf(replicaKeys);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        Long userId = SecurityUtil.findCurrentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWritesTracker.recordWrite(userId);
+            }
+            return PRIMARY;
+        }
+
+        if (replicaKeys.isEmpty() || PrimaryReads.isForced() || readYourWritesTracker.isSticky(userId)) {
+            return PRIMARY;
+        }
+
+        // round-robin, skipping replicas that are known to lag too far behind
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size());
+
+        for (int i = 0; i < replicaKeys.size(); i++) {
+            String key = replicaKeys.get((start + i) % replicaKeys.size());
+
+            if (replicaLagMonitor.isUsable(key)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+}
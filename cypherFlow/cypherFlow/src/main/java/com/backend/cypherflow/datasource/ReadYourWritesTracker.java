@@ -0,0 +1,29 @@
+package com.backend.cypherflow.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+// Remembers users who wrote recently so their reads stay on the primary until replicas catch up
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration stickinessWindow, long maxTrackedUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxTrackedUsers)
+                .expireAfterWrite(stickinessWindow)
+                .build();
+    }
+
+    public void recordWrite(Long userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean isSticky(Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.backend.cypherflow.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Periodically measures how far each replica is behind the primary and exports it as a gauge
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final Map<String, DataSource> replicas;
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas,
+                             String lagQuery,
+                             double maxLagSeconds,
+                             MeterRegistry meterRegistry)
+    {
+        this.replicas = Map.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+
+        this.replicas.keySet().forEach(key ->
+                Gauge.builder("cypherflow.datasource.replica.lag", lagSeconds,
+                                lags -> lags.getOrDefault(key, Double.NaN))
+                        .description("Replication lag of a read replica behind the primary")
+                        .baseUnit("seconds")
+                        .tag("replica", key)
+                        .register(meterRegistry)
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica-lag-check-ms:5000}")
+    public void refresh() {
+        replicas.forEach((key, dataSource) -> lagSeconds.put(key, measure(key, dataSource)));
+    }
+
+    // A replica that has not been measured yet is trusted, an unreachable one is not
+    public boolean isUsable(String key) {
+        Double lag = lagSeconds.get(key);
+        return lag == null || lag <= maxLagSeconds;
+    }
+
+    private double measure(String key, DataSource dataSource) {
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+
+            double lag = rs.next() ? rs.getDouble(1) : 0;
+
+            if (lag > maxLagSeconds) {
+                log.warn("Read replica lagging, reads routed elsewhere. replica={}, lagSeconds={}", key, lag);
+            }
+            return lag;
+
+        } catch (Exception e) {
+            log.warn("Replica lag check failed, replica taken out of rotation. replica={}", key);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Replica lag check exception details", e);
+            }
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.backend.cypherflow.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ExecutorResizeRequest {
+
+    @NotNull(message = "corePoolSize is required")
+    @Min(value = 1, message = "corePoolSize must be at least 1")
+    private Integer corePoolSize;
+
+    @NotNull(message = "maxPoolSize is required")
+    @Min(value = 1, message = "maxPoolSize must be at least 1")
+    private Integer maxPoolSize;
+}
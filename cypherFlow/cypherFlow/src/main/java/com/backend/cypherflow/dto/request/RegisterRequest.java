@@ -16,6 +16,7 @@ public class RegisterRequest {
     private String lastName;
 
     @NotBlank(message = "Username is required")
+    @Pattern(regexp = "^[^@]*$", message = "Username must not contain '@'")
     private String username;
 
     @NotBlank(message = "Password is required")
@@ -0,0 +1,17 @@
+package com.backend.cypherflow.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class ExecutorStatsResponse {
+    private String name;
+    private boolean virtualThreads;
+    private int corePoolSize;
+    private int maxPoolSize;
+    private int poolSize;
+    private int activeCount;
+    private int queueSize;
+    private int queueRemainingCapacity;
+}
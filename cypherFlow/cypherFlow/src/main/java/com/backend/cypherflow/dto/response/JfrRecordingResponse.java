@@ -0,0 +1,17 @@
+package com.backend.cypherflow.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Builder
+@Data
+public class JfrRecordingResponse {
+    private long id;
+    private String settings;
+    private String state;
+    private Instant startTime;
+    private Long sizeBytes;
+    private String downloadUrl;
+}
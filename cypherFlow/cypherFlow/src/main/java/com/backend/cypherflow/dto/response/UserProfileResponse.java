@@ -5,6 +5,7 @@ import com.backend.cypherflow.enums.Gender;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -18,12 +19,17 @@ public class UserProfileResponse {
     private String fullName;
     private String bio;
     private String profilePictureUrl;
+
+    // pixel size -> URL, empty until the variants have been generated
+    private Map<Integer, String> profilePictureVariants;
     private String website;
     private String location;
 
     private Gender gender;
     private LocalDate dob;
 
+    private Long version;
+
 
 }
 
@@ -1,16 +1,27 @@
 package com.backend.cypherflow.entity;
 
+import com.backend.cypherflow.cache.UserIdentity;
+import com.backend.cypherflow.cache.UserIdentityCacheListener;
+import com.backend.cypherflow.config.HibernateCacheConfig;
 import com.backend.cypherflow.enums.AccountStatus;
 import com.backend.cypherflow.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import jakarta.persistence.Id;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(
+        name = "users",
+        uniqueConstraints = @UniqueConstraint(name = "uk_users_mobile", columnNames = "mobile")
+)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER_REGION)
+@EntityListeners(UserIdentityCacheListener.class)
 @Getter @Setter @Builder
 @NoArgsConstructor @AllArgsConstructor
 public class User {
@@ -21,6 +32,9 @@ public class User {
 
     private String username;
     private String email;
+
+    // Always stored in E.164 form, see MobileNumberUtil
+    @Column(length = 16)
     private String mobile;
 
     @Column(name = "password_hash", nullable = false)
@@ -51,6 +65,10 @@ public class User {
     @Column(nullable = false)
     private  Role role;
 
+    // Identity as last loaded or flushed, so a username/email/mobile change also evicts the old cache keys
+    @Transient
+    private UserIdentity loadedIdentity;
+
 }
 
 
@@ -1,12 +1,17 @@
 package com.backend.cypherflow.entity;
 
+import com.backend.cypherflow.config.HibernateCacheConfig;
 import com.backend.cypherflow.enums.Gender;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "user_profiles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER_PROFILE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,6 +33,15 @@ public class UserProfile {
     private String bio;
 
     private String profilePictureUrl;
+
+    // SHA-256 key of the picture in the BlobStore
+    private String profilePictureKey;
+
+    // Square JPEG variants of the picture, filled in asynchronously by AvatarVariantService
+    private String avatarSmallKey;
+    private String avatarMediumKey;
+    private String avatarLargeKey;
+
     private String website;
     private String address;
 
@@ -36,6 +50,10 @@ public class UserProfile {
 
     private LocalDate dob;
 
+    // Bumped on every profile change, exposed to clients as the ETag of /api/v1/profile/me
+    @Column(name = "version")
+    private Long version;
+
 
 
 }
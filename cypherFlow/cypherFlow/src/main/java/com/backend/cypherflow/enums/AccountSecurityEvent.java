@@ -0,0 +1,7 @@
+package com.backend.cypherflow.enums;
+
+public enum AccountSecurityEvent {
+    LOCKED,
+    BLOCKED,
+    UNBLOCKED
+}
@@ -0,0 +1,18 @@
+package com.backend.cypherflow.enums;
+
+public enum AvatarVariant {
+
+    SMALL(48),
+    MEDIUM(128),
+    LARGE(512);
+
+    private final int size;
+
+    AvatarVariant(int size) {
+        this.size = size;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -14,5 +14,6 @@ public enum ErrorCode {
     UNVERIFIED_ACCOUNT,
     COOLDOWN_ACTIVE,
     INVALID_PASSWORD,
-    INVALID_OTP, INVALID_CREDENTIALS, INACTIVE_ACCOUNT, INVALID_TOKEN, TOKEN_EXPIRED, INVALID_CONTENT, ACCESS_DENIED, LIMIT_EXCEEDED
+    INVALID_OTP, INVALID_CREDENTIALS, INACTIVE_ACCOUNT, INVALID_TOKEN, TOKEN_EXPIRED, INVALID_CONTENT, ACCESS_DENIED, LIMIT_EXCEEDED, SERVICE_BUSY,
+    IDEMPOTENCY_KEY_REUSED, REQUEST_IN_PROGRESS
 }
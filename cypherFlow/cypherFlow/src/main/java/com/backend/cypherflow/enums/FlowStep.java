@@ -0,0 +1,17 @@
+package com.backend.cypherflow.enums;
+
+import java.util.Locale;
+
+public enum FlowStep {
+    LOOKUP,
+    LIMITER,
+    HASHING,
+    PERSISTENCE,
+    SMTP;
+
+    private final String tagValue = name().toLowerCase(Locale.ROOT);
+
+    public String getTagValue() {
+        return tagValue;
+    }
+}
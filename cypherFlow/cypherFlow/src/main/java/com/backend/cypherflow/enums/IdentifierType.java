@@ -0,0 +1,7 @@
+package com.backend.cypherflow.enums;
+
+public enum IdentifierType {
+    USERNAME,
+    EMAIL,
+    USERNAME_OR_MOBILE // phone-shaped values can also be valid usernames
+}
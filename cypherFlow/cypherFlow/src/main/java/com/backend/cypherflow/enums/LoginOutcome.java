@@ -0,0 +1,9 @@
+package com.backend.cypherflow.enums;
+
+public enum LoginOutcome {
+    SUCCESS,
+    INVALID_CREDENTIALS,
+    UNVERIFIED,
+    LOCKED,
+    BLOCKED
+}
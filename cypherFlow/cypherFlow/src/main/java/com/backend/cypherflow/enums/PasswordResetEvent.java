@@ -0,0 +1,8 @@
+package com.backend.cypherflow.enums;
+
+public enum PasswordResetEvent {
+    REQUESTED,
+    THROTTLED,
+    COMPLETED,
+    REJECTED
+}
@@ -0,0 +1,16 @@
+package com.backend.cypherflow.enums;
+
+import java.util.Locale;
+
+public enum TransactionFlow {
+    REGISTRATION,
+    FORGOT_PASSWORD,
+    RESET_PASSWORD,
+    PROFILE_PICTURE;
+
+    private final String tagValue = name().toLowerCase(Locale.ROOT);
+
+    public String getTagValue() {
+        return tagValue;
+    }
+}
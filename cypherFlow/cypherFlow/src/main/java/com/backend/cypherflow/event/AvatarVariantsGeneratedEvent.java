@@ -0,0 +1,16 @@
+package com.backend.cypherflow.event;
+
+import com.backend.cypherflow.enums.AvatarVariant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class AvatarVariantsGeneratedEvent {
+
+    private final Long userId;
+    private final String originalKey;   // picture the variants were derived from
+    private final Map<AvatarVariant, String> variantKeys;
+}
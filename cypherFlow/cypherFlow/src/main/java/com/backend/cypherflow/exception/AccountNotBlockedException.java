@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class AccountNotBlockedException extends  RuntimeException{
+public class AccountNotBlockedException extends BusinessException{
     public AccountNotBlockedException(String msg) {
         super(msg);
     }
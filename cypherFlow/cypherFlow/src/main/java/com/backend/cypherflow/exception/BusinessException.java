@@ -0,0 +1,21 @@
+package com.backend.cypherflow.exception;
+
+// Base for expected rejections (bad credentials, invalid OTP, limits...). These are thrown on every
+// failed attempt and fully described by their type and message, so the stack trace is not captured.
+public abstract class BusinessException extends RuntimeException {
+
+    // Set from app.exceptions.stack-traces, see ExceptionConfig
+    private static volatile boolean stackTracesEnabled = false;
+
+    protected BusinessException(String message) {
+        super(message, null, false, stackTracesEnabled);
+    }
+
+    public static void setStackTracesEnabled(boolean enabled) {
+        stackTracesEnabled = enabled;
+    }
+
+    public static boolean isStackTracesEnabled() {
+        return stackTracesEnabled;
+    }
+}
@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class CooldownException extends RuntimeException {
+public class CooldownException extends BusinessException {
     public CooldownException(String message) {
         super(message);
     }
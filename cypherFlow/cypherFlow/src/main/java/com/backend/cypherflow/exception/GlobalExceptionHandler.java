@@ -4,6 +4,9 @@ import com.backend.cypherflow.dto.request.ApiError;
 import com.backend.cypherflow.enums.ErrorCode;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -21,6 +24,9 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    @Value("${app.executor.retry-after-seconds:5}")
+    private long retryAfterSeconds = 5;
+
     /* ===================== BUSINESS EXCEPTIONS ===================== */
 
     @ExceptionHandler(UserAlreadyExistsException.class)
@@ -119,6 +125,18 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiError> handleBadRequest(
+            BadRequestException ex,
+            HttpServletRequest request) {
+
+        return buildError(
+                HttpStatus.BAD_REQUEST,
+                ErrorCode.VALIDATION_FAILED,
+                ex.getMessage()
+        );
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiError> handleNotFound(
             ResourceNotFoundException ex,
@@ -295,6 +313,25 @@ public class GlobalExceptionHandler {
     }
 
 
+    /* ===================== BACKPRESSURE ===================== */
+
+    // An async executor or the hashing pool is full; the work was not accepted, so the client must retry
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ApiError> handleTaskRejected(
+            TaskRejectedException ex,
+            HttpServletRequest request) {
+
+        log.warn("Request shed, executor saturated. URI={}, reason={}", request.getRequestURI(), ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(buildError(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        ErrorCode.SERVICE_BUSY,
+                        "Service is busy, please retry shortly"
+                ).getBody());
+    }
+
     /* ===================== SYSTEM / FALLBACK ===================== */
 
     @ExceptionHandler(Exception.class)
@@ -326,7 +363,8 @@ public class GlobalExceptionHandler {
 
     /* ===================== HELPER ===================== */
 
-    private ResponseEntity<ApiError> buildError(
+    // package-private for the allocation budget test
+    ResponseEntity<ApiError> buildError(
             HttpStatus status,
             ErrorCode error,
             String message) {
@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class InactiveAccountException extends RuntimeException {
+public class InactiveAccountException extends BusinessException {
     public InactiveAccountException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class InvalidContentException extends RuntimeException {
+public class InvalidContentException extends BusinessException {
     public InvalidContentException(String message) {
         super(message);
     }
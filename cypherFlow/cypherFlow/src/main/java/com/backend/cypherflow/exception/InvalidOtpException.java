@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class InvalidOtpException extends RuntimeException {
+public class InvalidOtpException extends BusinessException {
     public InvalidOtpException(String message) {
         super(message);
     }
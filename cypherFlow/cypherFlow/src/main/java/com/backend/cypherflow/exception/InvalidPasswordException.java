@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class InvalidPasswordException extends RuntimeException {
+public class InvalidPasswordException extends BusinessException {
     public InvalidPasswordException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class InvalidTokenException extends RuntimeException {
+public class InvalidTokenException extends BusinessException {
     public InvalidTokenException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class LimitExceededException extends RuntimeException {
+public class LimitExceededException extends BusinessException {
     public LimitExceededException(String message) {
         super(message);
     }
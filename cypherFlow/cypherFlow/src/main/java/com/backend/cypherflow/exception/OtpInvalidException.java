@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class OtpInvalidException extends RuntimeException {
+public class OtpInvalidException extends BusinessException {
     public OtpInvalidException(String message) {
         super(message);
     }
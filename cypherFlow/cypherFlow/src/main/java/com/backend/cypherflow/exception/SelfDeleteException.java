@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class SelfDeleteException extends RuntimeException {
+public class SelfDeleteException extends BusinessException {
     public SelfDeleteException(String msg) {
         super(msg);
     }
@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class TokenExpiredException extends RuntimeException {
+public class TokenExpiredException extends BusinessException {
     public TokenExpiredException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class UnverfiedAccountException extends RuntimeException {
+public class UnverfiedAccountException extends BusinessException {
     public UnverfiedAccountException(String message)
     {
         super(message);
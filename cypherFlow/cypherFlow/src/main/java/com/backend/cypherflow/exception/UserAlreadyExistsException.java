@@ -1,6 +1,6 @@
 package com.backend.cypherflow.exception;
 
-public class UserAlreadyExistsException extends RuntimeException {
+public class UserAlreadyExistsException extends BusinessException {
 
     public UserAlreadyExistsException(String message) {
         super(message);
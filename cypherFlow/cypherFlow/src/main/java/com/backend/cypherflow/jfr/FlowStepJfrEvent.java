@@ -0,0 +1,19 @@
+package com.backend.cypherflow.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Duration event: begin/commit around the step, so the recording shows where inside a flow time goes
+@Name("com.backend.cypherflow.FlowStep")
+@Label("Flow Step")
+@Category({"CypherFlow", "Auth"})
+@Description("Lookup, limiter, hashing, persistence or SMTP step of an auth flow")
+@StackTrace(false)
+public class FlowStepJfrEvent extends jdk.jfr.Event {
+
+    @Label("Step")
+    public String step;
+}
@@ -0,0 +1,23 @@
+package com.backend.cypherflow.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.backend.cypherflow.Login")
+@Label("Login")
+@Category({"CypherFlow", "Auth"})
+@Description("Login attempt with its outcome and end-to-end latency")
+@StackTrace(false)
+public class LoginJfrEvent extends jdk.jfr.Event {
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    public long latency;
+}
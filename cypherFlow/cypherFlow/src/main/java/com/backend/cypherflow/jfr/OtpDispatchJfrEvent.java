@@ -0,0 +1,29 @@
+package com.backend.cypherflow.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.backend.cypherflow.OtpDispatch")
+@Label("OTP Dispatch")
+@Category({"CypherFlow", "OTP"})
+@Description("Asynchronous OTP generation and delivery")
+@StackTrace(false)
+public class OtpDispatchJfrEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Reason")
+    public String reason;
+
+    @Label("Result")
+    public String result;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    public long latency;
+}
@@ -0,0 +1,29 @@
+package com.backend.cypherflow.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.backend.cypherflow.OtpVerify")
+@Label("OTP Verify")
+@Category({"CypherFlow", "OTP"})
+@Description("OTP verification attempt with its outcome")
+@StackTrace(false)
+public class OtpVerifyJfrEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Reason")
+    public String reason;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    public long latency;
+}
@@ -0,0 +1,89 @@
+package com.backend.cypherflow.jfr;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+ * Watches for virtual threads that block while pinned to their carrier.
+ * Since JDK 24 synchronized no longer pins, so what is left is native frames and class initialisation;
+ * each occurrence above the threshold is logged with its stack and counted in cypherflow.virtualthreads.pinned.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinnedMonitor implements DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Counter pinned;
+    private final Duration threshold;
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinnedMonitor(MeterRegistry meterRegistry,
+                                      @Value("${app.virtual-threads.pinned-threshold-ms:20}") long thresholdMs)
+    {
+        this.pinned = Counter.builder("cypherflow.virtualthreads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+
+        log.info("Virtual thread pinning monitor started. thresholdMs={}", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+
+        pinned.increment();
+
+        log.warn("Virtual thread pinned. durationMs={}, thread={}, stack={}",
+                event.getDuration().toMillis(),
+                event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+                topFrames(event.getStackTrace()));
+    }
+
+    private static String topFrames(RecordedStackTrace stackTrace) {
+
+        if (stackTrace == null) {
+            return "[]";
+        }
+
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- ", "[", "]"));
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.backend.cypherflow.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * AsyncAppender that counts what it drops and leaves message formatting to its worker thread.
+ *
+ * The stock appender formats every message on the calling (request) thread before queueing it.
+ * Here only the thread name and MDC, which must be read on the caller, are captured up front.
+ * Logged arguments are therefore formatted later and must not be mutated after the log call.
+ *
+ * neverBlock is implemented here rather than by the base class, whose offer result is private:
+ * the base queue stays in blocking mode and producers check capacity and enqueue under one lock.
+ * Only the worker removes events, so capacity seen under the lock is still there at the put,
+ * which never waits, and every event turned away is counted exactly once.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    // Shared by all instances, exported as cypherflow.logging.dropped by LoggingMetrics
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    private final Object offerLock = new Object();
+    private boolean dropWhenFull;
+
+    public static long droppedEvents() {
+        return DROPPED.get();
+    }
+
+    @Override
+    public void setNeverBlock(boolean neverBlock) {
+        this.dropWhenFull = neverBlock;
+    }
+
+    @Override
+    public boolean isNeverBlock() {
+        return dropWhenFull;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+
+        if (!dropWhenFull) {
+            super.append(event);
+            return;
+        }
+
+        synchronized (offerLock) {
+            if (getRemainingCapacity() == 0) {
+                DROPPED.incrementAndGet();
+                return;
+            }
+            super.append(event);
+        }
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            DROPPED.incrementAndGet();
+        }
+        return discardable;
+    }
+
+    @Override
+    protected void preprocess(ILoggingEvent event) {
+
+        event.getThreadName();
+        event.getMDCPropertyMap();
+
+        if (isIncludeCallerData()) {
+            event.getCallerData();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.backend.cypherflow.metrics;
+
+import com.backend.cypherflow.enums.AccountSecurityEvent;
+import com.backend.cypherflow.enums.LoginOutcome;
+import com.backend.cypherflow.enums.OtpDispatchResult;
+import com.backend.cypherflow.enums.OtpReason;
+import com.backend.cypherflow.enums.OtpType;
+import com.backend.cypherflow.enums.OtpVerificationOutcome;
+import com.backend.cypherflow.enums.PasswordResetEvent;
+import com.backend.cypherflow.jfr.LoginJfrEvent;
+import com.backend.cypherflow.jfr.OtpDispatchJfrEvent;
+import com.backend.cypherflow.jfr.OtpVerifyJfrEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Counters and timers for the auth flows. Every tag value comes from an enum, so cardinality stays fixed
+// and all meters are registered up front; recording is a lookup, not a registry call per login or OTP.
+// Login and OTP outcomes are also emitted as JFR events while a recording is running.
+@Component
+public class AuthMetrics {
+
+    private static final Duration[] LATENCY_SLOS = {
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2)
+    };
+
+    private static final OtpType[] OTP_TYPES = OtpType.values();
+    private static final OtpReason[] OTP_REASONS = OtpReason.values();
+    private static final OtpDispatchResult[] DISPATCH_RESULTS = OtpDispatchResult.values();
+    private static final OtpVerificationOutcome[] VERIFICATION_OUTCOMES = OtpVerificationOutcome.values();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<LoginOutcome, Timer> loginTimers = new EnumMap<>(LoginOutcome.class);
+    private final Map<PasswordResetEvent, Counter> passwordResetCounters = new EnumMap<>(PasswordResetEvent.class);
+    private final Map<AccountSecurityEvent, Counter> accountEventCounters = new EnumMap<>(AccountSecurityEvent.class);
+
+    // indexed by otpIndex(type, reason, result/outcome)
+    private final Timer[] dispatchTimers;
+    private final Timer[] verificationTimers;
+
+    public AuthMetrics(MeterRegistry meterRegistry)
+    {
+        this.meterRegistry = meterRegistry;
+
+        for (LoginOutcome outcome : LoginOutcome.values()) {
+            loginTimers.put(outcome, loginTimer(outcome));
+        }
+        for (PasswordResetEvent event : PasswordResetEvent.values()) {
+            passwordResetCounters.put(event, passwordResetCounter(event));
+        }
+        for (AccountSecurityEvent event : AccountSecurityEvent.values()) {
+            accountEventCounters.put(event, accountEventCounter(event));
+        }
+
+        dispatchTimers = new Timer[OTP_TYPES.length * OTP_REASONS.length * DISPATCH_RESULTS.length];
+        verificationTimers = new Timer[OTP_TYPES.length * OTP_REASONS.length * VERIFICATION_OUTCOMES.length];
+
+        for (OtpType type : OTP_TYPES) {
+            for (OtpReason reason : OTP_REASONS) {
+                for (OtpDispatchResult result : DISPATCH_RESULTS) {
+                    dispatchTimers[otpIndex(type, reason, result)] = dispatchTimer(type, reason, result);
+                }
+                for (OtpVerificationOutcome outcome : VERIFICATION_OUTCOMES) {
+                    verificationTimers[otpIndex(type, reason, outcome)] = verificationTimer(type, reason, outcome);
+                }
+            }
+        }
+    }
+
+    /* ================= LOGIN ================= */
+
+    public void recordLogin(LoginOutcome outcome, long startNanos) {
+
+        long latency = System.nanoTime() - startNanos;
+
+        Timer timer = outcome == null ? loginTimer(null) : loginTimers.get(outcome);
+        timer.record(latency, TimeUnit.NANOSECONDS);
+
+        LoginJfrEvent event = new LoginJfrEvent();
+        if (event.shouldCommit()) {
+            event.outcome = tag(outcome);
+            event.latency = latency;
+            event.commit();
+        }
+    }
+
+    /* ================= OTP ================= */
+
+    public void recordOtpDispatch(OtpType type, OtpReason reason, OtpDispatchResult result, long startNanos) {
+
+        long latency = System.nanoTime() - startNanos;
+
+        Timer timer = type == null || reason == null || result == null
+                ? dispatchTimer(type, reason, result)
+                : dispatchTimers[otpIndex(type, reason, result)];
+        timer.record(latency, TimeUnit.NANOSECONDS);
+
+        OtpDispatchJfrEvent event = new OtpDispatchJfrEvent();
+        if (event.shouldCommit()) {
+            event.type = tag(type);
+            event.reason = tag(reason);
+            event.result = tag(result);
+            event.latency = latency;
+            event.commit();
+        }
+    }
+
+    public void recordOtpVerification(OtpType type, OtpReason reason, OtpVerificationOutcome outcome, long startNanos) {
+
+        long latency = System.nanoTime() - startNanos;
+
+        Timer timer = type == null || reason == null || outcome == null
+                ? verificationTimer(type, reason, outcome)
+                : verificationTimers[otpIndex(type, reason, outcome)];
+        timer.record(latency, TimeUnit.NANOSECONDS);
+
+        OtpVerifyJfrEvent event = new OtpVerifyJfrEvent();
+        if (event.shouldCommit()) {
+            event.type = tag(type);
+            event.reason = tag(reason);
+            event.outcome = tag(outcome);
+            event.latency = latency;
+            event.commit();
+        }
+    }
+
+    /* ================= PASSWORD RESET / ACCOUNT ================= */
+
+    public void recordPasswordReset(PasswordResetEvent event) {
+        (event == null ? passwordResetCounter(null) : passwordResetCounters.get(event)).increment();
+    }
+
+    public void recordAccountEvent(AccountSecurityEvent event) {
+        (event == null ? accountEventCounter(null) : accountEventCounters.get(event)).increment();
+    }
+
+    /* ================= METERS ================= */
+
+    // A null tag value is only possible on malformed input; its "none" meter is registered on first use
+
+    private Timer loginTimer(LoginOutcome outcome) {
+        return timer("cypherflow.auth.login", "Login attempts by outcome",
+                "outcome", tag(outcome));
+    }
+
+    private Timer dispatchTimer(OtpType type, OtpReason reason, OtpDispatchResult result) {
+        return timer("cypherflow.otp.dispatch", "OTP send attempts by result",
+                "type", tag(type), "reason", tag(reason), "result", tag(result));
+    }
+
+    private Timer verificationTimer(OtpType type, OtpReason reason, OtpVerificationOutcome outcome) {
+        return timer("cypherflow.otp.verify", "OTP verification attempts by outcome",
+                "type", tag(type), "reason", tag(reason), "outcome", tag(outcome));
+    }
+
+    private Counter passwordResetCounter(PasswordResetEvent event) {
+        return Counter.builder("cypherflow.auth.password.reset")
+                .description("Password reset requests and completions")
+                .tag("event", tag(event))
+                .register(meterRegistry);
+    }
+
+    private Counter accountEventCounter(AccountSecurityEvent event) {
+        return Counter.builder("cypherflow.auth.account.events")
+                .description("Account lock, block and unblock events")
+                .tag("event", tag(event))
+                .register(meterRegistry);
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static int otpIndex(OtpType type, OtpReason reason, Enum<?> outcome) {
+        int outcomes = outcome instanceof OtpDispatchResult ? DISPATCH_RESULTS.length : VERIFICATION_OUTCOMES.length;
+        return (type.ordinal() * OTP_REASONS.length + reason.ordinal()) * outcomes + outcome.ordinal();
+    }
+
+    // Registration is idempotent, an existing meter with the same name and tags is returned
+    private Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .serviceLevelObjectives(LATENCY_SLOS)
+                .register(meterRegistry);
+    }
+
+    private static String tag(Enum<?> value) {
+        return value == null ? "none" : value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,129 @@
+package com.backend.cypherflow.metrics;
+
+import com.backend.cypherflow.config.TracingTaskDecorator;
+import com.backend.cypherflow.config.VirtualThreadTaskExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+// Active threads, queue depth, queue wait time and rejections per async executor, tagged executor=<bean name>.
+// Also the registry of executors /api/admin/executors lists; only the pools can be resized.
+@Component
+public class ExecutorMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ThreadPoolTaskExecutor> pools = new ConcurrentHashMap<>();
+    private final Map<String, VirtualThreadTaskExecutor> virtualExecutors = new ConcurrentHashMap<>();
+
+    public ExecutorMetrics(MeterRegistry meterRegistry)
+    {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Tracing context plus the time each task spent between submission and start
+    public TaskDecorator decorator(String executor) {
+
+        Timer wait = Timer.builder("cypherflow.executor.wait")
+                .description("Time a task waited between submission and start")
+                .tag("executor", executor)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        TaskDecorator waitTime = task -> {
+            long submitted = System.nanoTime();
+            return () -> {
+                wait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                task.run();
+            };
+        };
+
+        return new CompositeTaskDecorator(List.of(new TracingTaskDecorator(), waitTime));
+    }
+
+    // AbortPolicy that counts first; ThreadPoolTaskExecutor surfaces it to the caller as TaskRejectedException
+    public RejectedExecutionHandler rejectionHandler(String executor) {
+
+        Counter rejected = rejectionCounter(executor);
+
+        return (task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException(
+                    "Executor " + executor + " saturated. active=" + pool.getActiveCount()
+                            + ", queued=" + pool.getQueue().size());
+        };
+    }
+
+    public void monitor(String executor, ThreadPoolTaskExecutor pool) {
+
+        pools.put(executor, pool);
+
+        gauge("cypherflow.executor.active", "Threads currently running a task", executor, pool,
+                ThreadPoolTaskExecutor::getActiveCount);
+        gauge("cypherflow.executor.queued", "Tasks waiting in the queue", executor, pool,
+                ThreadPoolTaskExecutor::getQueueSize);
+        gauge("cypherflow.executor.pool.size", "Threads currently in the pool", executor, pool,
+                ThreadPoolTaskExecutor::getPoolSize);
+        gauge("cypherflow.executor.pool.max", "Maximum pool size", executor, pool,
+                ThreadPoolTaskExecutor::getMaxPoolSize);
+    }
+
+    // Same meter names as a pool: there is no queue, and the concurrency limit stands in for the pool size
+    public void monitor(String executor, VirtualThreadTaskExecutor virtualExecutor) {
+
+        virtualExecutors.put(executor, virtualExecutor);
+
+        gauge("cypherflow.executor.active", "Threads currently running a task", executor, virtualExecutor,
+                VirtualThreadTaskExecutor::getActiveCount);
+        gauge("cypherflow.executor.queued", "Tasks waiting in the queue", executor, virtualExecutor,
+                e -> 0);
+        gauge("cypherflow.executor.pool.size", "Threads currently in the pool", executor, virtualExecutor,
+                VirtualThreadTaskExecutor::getActiveCount);
+        gauge("cypherflow.executor.pool.max", "Maximum pool size", executor, virtualExecutor,
+                VirtualThreadTaskExecutor::getConcurrencyLimit);
+
+        FunctionCounter.builder("cypherflow.executor.rejected", virtualExecutor,
+                        VirtualThreadTaskExecutor::getRejectedCount)
+                .description("Tasks rejected because the executor was saturated")
+                .tag("executor", executor)
+                .register(meterRegistry);
+    }
+
+    public Map<String, ThreadPoolTaskExecutor> pools() {
+        return Map.copyOf(pools);
+    }
+
+    public Map<String, VirtualThreadTaskExecutor> virtualExecutors() {
+        return Map.copyOf(virtualExecutors);
+    }
+
+    /* ================= HELPERS ================= */
+
+    private Counter rejectionCounter(String executor) {
+        return Counter.builder("cypherflow.executor.rejected")
+                .description("Tasks rejected because the executor was saturated")
+                .tag("executor", executor)
+                .register(meterRegistry);
+    }
+
+    private <T> void gauge(String name, String description, String executor, T pool,
+                           ToIntFunction<T> value) {
+        Gauge.builder(name, pool, p -> value.applyAsInt(p))
+                .description(description)
+                .tag("executor", executor)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.backend.cypherflow.metrics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.backend.cypherflow.logging.CountingAsyncAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+// Exposes the async logging pipeline: events dropped because the queue was full, and current queue depth
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        FunctionCounter.builder("cypherflow.logging.dropped", CountingAsyncAppender.class,
+                        appender -> CountingAsyncAppender.droppedEvents())
+                .description("Log events dropped by the async appender")
+                .register(registry);
+
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof CountingAsyncAppender appender) {
+                Gauge.builder("cypherflow.logging.queue.size", appender, CountingAsyncAppender::getNumberOfElementsInQueue)
+                        .description("Log events waiting to be written")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+            }
+        }
+    }
+}
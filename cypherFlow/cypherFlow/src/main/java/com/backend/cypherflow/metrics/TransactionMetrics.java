@@ -0,0 +1,74 @@
+package com.backend.cypherflow.metrics;
+
+import com.backend.cypherflow.enums.TransactionFlow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Runs the write part of a flow in a transaction and records cypherflow.tx.hold: how long the
+// connection (and its row locks) stayed taken, from the start of the work until commit or rollback.
+// Only the template section is timed: a connection held outside it (e.g. by open-in-view) does not show here.
+@Component
+public class TransactionMetrics {
+
+    private final TransactionTemplate transactionTemplate;
+    private final Map<TransactionFlow, Timer> committed = new EnumMap<>(TransactionFlow.class);
+    private final Map<TransactionFlow, Timer> rolledBack = new EnumMap<>(TransactionFlow.class);
+
+    public TransactionMetrics(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry)
+    {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (TransactionFlow flow : TransactionFlow.values()) {
+            committed.put(flow, timer(meterRegistry, flow, "committed"));
+            rolledBack.put(flow, timer(meterRegistry, flow, "rolled_back"));
+        }
+    }
+
+    public <T> T inTransaction(TransactionFlow flow, Supplier<T> work) {
+        return transactionTemplate.execute(status -> {
+            track(flow);
+            return work.get();
+        });
+    }
+
+    public void inTransaction(TransactionFlow flow, Runnable work) {
+        inTransaction(flow, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /* ================= HELPERS ================= */
+
+    private void track(TransactionFlow flow) {
+
+        long start = System.nanoTime();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Timer timer = status == STATUS_COMMITTED ? committed.get(flow) : rolledBack.get(flow);
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, TransactionFlow flow, String outcome) {
+        return Timer.builder("cypherflow.tx.hold")
+                .description("Time a flow held its database transaction open")
+                .tag("flow", flow.getTagValue())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -2,7 +2,11 @@ package com.backend.cypherflow.repository;
 
 import com.backend.cypherflow.entity.PasswordResetToken;
 import com.backend.cypherflow.enums.SecurityActionType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -10,7 +14,11 @@ import java.util.Optional;
 public interface PasswordResetTokenRepository
         extends JpaRepository<PasswordResetToken, Long> {
 
+    // user is always needed by the caller, fetched in the same query instead of a lazy load
+    @EntityGraph(attributePaths = "user")
     Optional<PasswordResetToken> findByTokenHashAndUsedFalse(String tokenHash);
+
+    @EntityGraph(attributePaths = "user")
     Optional<PasswordResetToken>
     findByTokenHashAndActionTypeAndActionUsedFalse(
             String tokenHash,
@@ -18,6 +26,16 @@ public interface PasswordResetTokenRepository
     );
 
 
+    // 0 when a concurrent reset already used the token; the token was read outside the transaction
+    @Modifying
+    @Query("UPDATE PasswordResetToken t SET t.used = true WHERE t.id = :id AND t.used = false")
+    int markUsed(@Param("id") Long id);
+
+    // a link that never reached the mail queue: retired, and the cooldown lifted so the retry can issue a new one
+    @Modifying
+    @Query("UPDATE PasswordResetToken t SET t.used = true, t.lastRequestAt = :lastRequestAt WHERE t.id = :id")
+    int releaseUnsent(@Param("id") Long id, @Param("lastRequestAt") LocalDateTime lastRequestAt);
+
     void deleteByUserId(Long userId);
 
     void deleteAllByExpiresAtBefore(LocalDateTime now);
@@ -2,7 +2,14 @@ package com.backend.cypherflow.repository;
 
 import com.backend.cypherflow.entity.User;
 import com.backend.cypherflow.entity.UserProfile;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -10,6 +17,18 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
 
     Optional<UserProfile> findByUser(User user);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserProfile> findByUserId(Long userid);
+
+    // For writes that bump the ETag version: the row lock makes concurrent writers take turns,
+    // so each one reads the version the previous one committed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM UserProfile p WHERE p.user.id = :userId")
+    Optional<UserProfile> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    // Version column only, for conditional GETs when the node-local version cache is disabled
+    @Query("SELECT p.version FROM UserProfile p WHERE p.user.id = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") Long userId);
+
     void deleteByUserId(Long userId);
 }
@@ -2,19 +2,51 @@ package com.backend.cypherflow.repository;
 
 
 import com.backend.cypherflow.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsernameIgnoreCase(String username);
+
     Optional<User> findByEmailIgnoreCase(String email);
+
+    // mobile must already be normalized with MobileNumberUtil.normalize
     Optional<User> findByMobile(String mobile);
 
+    // Single round trip for identifiers that may be either a username or a mobile number
+    @Query("""
+    SELECT u FROM User u
+    WHERE LOWER(u.username) = LOWER(:username)
+       OR u.mobile = :mobile""")
+    List<User> findByUsernameOrMobile(@Param("username") String username,
+                                      @Param("mobile") String mobile);
+
+    // Registration conflict check: every account holding the username, email or mobile, in one round trip.
+    // username and email must be passed lowercased; they are stored lowercased, so the columns are compared
+    // as they are and the unique indexes can be used.
+    @Query("""
+    SELECT u FROM User u
+    WHERE u.username = :username
+       OR u.email = :email
+       OR u.mobile = :mobile""")
+    List<User> findByUsernameOrEmailOrMobile(@Param("username") String username,
+                                             @Param("email") String email,
+                                             @Param("mobile") String mobile);
+
     boolean existsByUsernameIgnoreCase(String username);
 
     boolean existsByEmailIgnoreCase(String email);
 
+    // mobile must already be normalized with MobileNumberUtil.normalize
     boolean existsByMobile(String mobile);
 
 }
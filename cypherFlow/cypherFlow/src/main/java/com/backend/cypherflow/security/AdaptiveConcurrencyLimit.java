@@ -0,0 +1,104 @@
+package com.backend.cypherflow.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Gradient-style concurrency limit: compares the latest round trip with a slowly moving baseline.
+ * While latency stays near the baseline the limit grows by about sqrt(limit); once latency rises
+ * (Postgres or SMTP slowing down, requests queueing) the limit shrinks in proportion, so excess
+ * requests are turned away immediately instead of waiting on an exhausted pool.
+ *
+ * One limit covers all routes, but each route class keeps its own baseline: a BCrypt login is
+ * normally 10x slower than an OTP send, and against a shared baseline every login would read as
+ * overload (and every OTP send as spare capacity) depending only on the traffic mix.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // how much slower than the baseline a sample may be before the limit starts shrinking
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_WINDOW = 600;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    // routes whose latency is dominated by a BCrypt hash, and everything else
+    public enum RouteClass {
+        HASHING,
+        STANDARD
+    }
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // read lock-free by tryAcquire and the gauges, written under the monitor
+    private volatile double limit;
+    private final double[] baselineRttNanos = new double[RouteClass.values().length];
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    // dropped = the request failed or timed out downstream, treated as a sign of overload
+    public void release(RouteClass routeClass, long rttNanos, boolean dropped) {
+
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+
+        synchronized (this) {
+            if (dropped) {
+                limit = Math.max(minLimit, limit * DROP_BACKOFF);
+                return;
+            }
+            update(routeClass, rttNanos, inFlightAtCompletion);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /* ================= HELPERS ================= */
+
+    private void update(RouteClass routeClass, long rttNanos, int inFlightAtCompletion) {
+
+        double baseline = baselineRttNanos[routeClass.ordinal()];
+
+        if (baseline == 0) {
+            baselineRttNanos[routeClass.ordinal()] = rttNanos;
+            return;
+        }
+
+        baseline += (rttNanos - baseline) / BASELINE_WINDOW;
+
+        // the baseline lags behind a lasting latency drop; pull it down so the limit can recover
+        if (baseline > 2 * rttNanos) {
+            baseline *= 0.95;
+        }
+        baselineRttNanos[routeClass.ordinal()] = baseline;
+
+        // far below the limit there is no signal about capacity, don't grow on it
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.clamp(TOLERANCE * baseline / rttNanos, 0.5, 1.0);
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - SMOOTHING) + target * SMOOTHING;
+
+        limit = Math.clamp(next, minLimit, maxLimit);
+    }
+}
@@ -0,0 +1,30 @@
+package com.backend.cypherflow.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Delegating encoder that keeps the expensive encode/matches calls on the HashingExecutor pool
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final HashingExecutor hashingExecutor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, HashingExecutor hashingExecutor) {
+        this.delegate = delegate;
+        this.hashingExecutor = hashingExecutor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingExecutor.call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingExecutor.call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
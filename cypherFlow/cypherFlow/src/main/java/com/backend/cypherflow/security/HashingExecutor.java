@@ -0,0 +1,99 @@
+package com.backend.cypherflow.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * Runs BCrypt on a bounded pool of platform threads when called from a virtual thread.
+ * A 250 ms hash would otherwise hold a carrier thread the whole time and starve every other
+ * virtual thread scheduled on it. Platform-thread callers (virtual threads disabled) hash inline.
+ */
+@Component
+@Slf4j
+public class HashingExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor pool;
+
+    public HashingExecutor(
+            @Value("${app.hashing.pool-size:0}") int poolSize,
+            @Value("${app.hashing.queue-capacity:1000}") int queueCapacity)
+    {
+        // 0 = one thread per core, BCrypt is pure CPU
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+
+        this.pool = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "HASH-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    public <T> T call(Supplier<T> task) {
+
+        if (!Thread.currentThread().isVirtual()) {
+            return task.get();
+        }
+
+        // a caller cancelled before the hand-off (e.g. a registration conflict) doesn't queue a hash nobody reads
+        if (Thread.currentThread().isInterrupted()) {
+            throw new IllegalStateException("Interrupted before hashing");
+        }
+
+        Future<T> future;
+        try {
+            future = pool.submit(task::get);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Hashing pool saturated. queued={}", pool.getQueue().size());
+            throw new TaskRejectedException("Hashing pool saturated", ex);
+        }
+
+        // a virtual thread parks here and releases its carrier until the hash is done
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            // a hash still queued never runs; one already running is not stopped, BCrypt ignores interrupts
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Hashing failed", ex.getCause());
+        }
+    }
+
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return pool.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+}
@@ -1,13 +1,17 @@
 package com.backend.cypherflow.service;
 
+import com.backend.cypherflow.cache.UserIdentity;
+import com.backend.cypherflow.cache.UserIdentityCache;
 import com.backend.cypherflow.dto.request.OtpVerifyRequest;
 import com.backend.cypherflow.dto.request.UnblockAccountRequest;
 import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.enums.AccountSecurityEvent;
 import com.backend.cypherflow.enums.AccountStatus;
 import com.backend.cypherflow.enums.OtpReason;
 import com.backend.cypherflow.exception.AccountNotBlockedException;
 import com.backend.cypherflow.exception.UnauthorizedException;
 import com.backend.cypherflow.exception.UserNotFoundException;
+import com.backend.cypherflow.metrics.AuthMetrics;
 import com.backend.cypherflow.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
@@ -22,16 +26,22 @@ public class AccountUnblockService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final  OtpVerificationService otpVerificationService;
+    private final UserIdentityCache userIdentityCache;
+    private final AuthMetrics authMetrics;
 
     public AccountUnblockService(OtpService otpService,
                                  UserRepository userRepository,
                                  EmailService emailService,
-                                 OtpVerificationService otpVerificationService)
+                                 OtpVerificationService otpVerificationService,
+                                 UserIdentityCache userIdentityCache,
+                                 AuthMetrics authMetrics)
     {
         this.otpService = otpService;
         this.userRepository = userRepository;
         this.emailService = emailService;
         this.otpVerificationService=otpVerificationService;
+        this.userIdentityCache = userIdentityCache;
+        this.authMetrics = authMetrics;
     }
 
     /* ===================== SEND OTP ===================== */
@@ -39,26 +49,26 @@ public class AccountUnblockService {
 
     public void sendOtpForUnblock(UnblockAccountRequest req) {
 
-        User user = userRepository.findByUsernameIgnoreCase(req.getUsername())
+        UserIdentity user = userIdentityCache.findByUsername(req.getUsername())
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
         if (user.getAccountStatus() != AccountStatus.BLOCKED) {
             log.warn(
                     "Unblock OTP requested for non-blocked account. userId={}",
-                    user.getId()
+                    user.getUserId()
             );
             throw new AccountNotBlockedException("Account is not blocked");
         }
 
         otpService.dispatchOtpAsync(
-                user.getId(),
+                user.getUserId(),
                 req.getOtpType(),
                 OtpReason.ACCOUNT_UNBLOCK
         );
 
         log.info(
                 "Account unblock OTP dispatched. userId={}, otpType={}",
-                user.getId(),
+                user.getUserId(),
                 req.getOtpType()
         );
     }
@@ -111,6 +121,7 @@ public class AccountUnblockService {
                 "Account unblocked successfully. userId={}",
                 user.getId()
         );
+        authMetrics.recordAccountEvent(AccountSecurityEvent.UNBLOCKED);
     }
 }
 
@@ -16,21 +16,19 @@ import org.springframework.stereotype.Service;
 public class AdminService {
 
     private final UserRepository userRepository;
+    private final UserIdentifierResolver userIdentifierResolver;
 
-    public AdminService(UserRepository userRepository)
+    public AdminService(UserRepository userRepository,
+                        UserIdentifierResolver userIdentifierResolver)
     {
         this.userRepository=userRepository;
+        this.userIdentifierResolver=userIdentifierResolver;
     }
 
     @Transactional
     public void deleteUserByIdentifier(String identifier) {
 
-        User user = userRepository.findByUsernameIgnoreCase(identifier)
-                .or(() -> userRepository.findByEmailIgnoreCase(identifier))
-                .or(() -> userRepository.findByMobile(identifier))
-                .orElseThrow(() ->
-                        new ResourceNotFoundException("User not found with identifier: " + identifier)
-                );
+        User user = findUserByIdentifier(identifier);
 
         Long currentAdminId = SecurityUtil.getCurrentUserId();
 
@@ -50,4 +48,14 @@ public class AdminService {
                 user.getId()
         );
     }
+
+    /* ================= LOOKUP ================= */
+
+    // Shared by every admin operation that accepts a username, email or mobile
+    public User findUserByIdentifier(String identifier) {
+        return userIdentifierResolver.resolve(identifier)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("User not found with identifier: " + identifier)
+                );
+    }
 }
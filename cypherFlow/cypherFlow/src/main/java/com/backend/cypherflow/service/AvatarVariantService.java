@@ -0,0 +1,192 @@
+package com.backend.cypherflow.service;
+
+import com.backend.cypherflow.enums.AvatarVariant;
+import com.backend.cypherflow.event.AvatarVariantsGeneratedEvent;
+import com.backend.cypherflow.storage.BlobStore;
+import com.backend.cypherflow.storage.StoredBlob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Produces the fixed set of square JPEG avatar variants for an uploaded profile picture
+@Service
+@Slf4j
+public class AvatarVariantService {
+
+    private static final List<AvatarVariant> LARGEST_FIRST = List.of(AvatarVariant.values()).stream()
+            .sorted(Comparator.comparingInt(AvatarVariant::getSize).reversed())
+            .toList();
+
+    private static final int LARGEST_SIZE = LARGEST_FIRST.get(0).getSize();
+
+    private final BlobStore blobStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.avatar.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    public AvatarVariantService(BlobStore blobStore, ApplicationEventPublisher eventPublisher)
+    {
+        this.blobStore = blobStore;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /* ================= ASYNC ENTRY ================= */
+
+    @Async("avatarExecutor")
+    public void generateVariantsAsync(Long userId, String originalKey) {
+
+        try {
+            long start = System.nanoTime();
+
+            Map<AvatarVariant, String> variantKeys = generateVariants(originalKey);
+            eventPublisher.publishEvent(new AvatarVariantsGeneratedEvent(userId, originalKey, variantKeys));
+
+            if (log.isDebugEnabled()) {
+                log.debug(
+                        "Avatar variants generated. userId={}, tookMs={}",
+                        userId,
+                        (System.nanoTime() - start) / 1_000_000
+                );
+            }
+
+        } catch (Exception ex) {
+            log.error("Avatar variant generation failed. userId={}", userId, ex);
+        }
+    }
+
+    /* ================= CORE LOGIC ================= */
+
+    private Map<AvatarVariant, String> generateVariants(String originalKey) throws IOException {
+
+        Resource original = blobStore.open(originalKey)
+                .orElseThrow(() -> new IOException("Original picture missing: " + originalKey));
+
+        // Each variant is scaled from the previous (larger) one, which is both faster and smoother
+        BufferedImage current = cropToSquare(readSubsampled(original));
+        Map<AvatarVariant, String> keys = new EnumMap<>(AvatarVariant.class);
+
+        for (AvatarVariant variant : LARGEST_FIRST) {
+            current = scaleDown(current, Math.min(variant.getSize(), current.getWidth()));
+
+            StoredBlob blob = blobStore.put(
+                    new ByteArrayInputStream(encodeJpeg(current)),
+                    MediaType.IMAGE_JPEG_VALUE
+            );
+            keys.put(variant, blob.getKey());
+        }
+        return keys;
+    }
+
+    // Decodes with source subsampling so a huge upload never inflates to full resolution in memory
+    private BufferedImage readSubsampled(Resource original) throws IOException {
+
+        try (InputStream in = original.getInputStream();
+             ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+
+                int shortSide = Math.min(reader.getWidth(0), reader.getHeight(0));
+                int factor = Math.max(1, shortSide / (LARGEST_SIZE * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage cropToSquare(BufferedImage image) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        int x = (image.getWidth() - side) / 2;
+        int y = (image.getHeight() - side) / 2;
+        return image.getSubimage(x, y, side, side);
+    }
+
+    // Halves repeatedly before the final step to avoid the aliasing of a single large bilinear step
+    private BufferedImage scaleDown(BufferedImage image, int targetSize) {
+
+        BufferedImage result = image;
+        int size = image.getWidth();
+
+        do {
+            size = Math.max(targetSize, size / 2);
+            result = render(result, size);
+        } while (size > targetSize);
+
+        return result;
+    }
+
+    // Always renders to opaque RGB: JPEG has no alpha, transparent pixels become white
+    private BufferedImage render(BufferedImage source, int size) {
+
+        BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, size, size);
+            g.drawImage(source, 0, 0, size, size, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,302 @@
+package com.backend.cypherflow.service;
+
+import com.backend.cypherflow.dto.response.JfrRecordingResponse;
+import com.backend.cypherflow.exception.BadRequestException;
+import com.backend.cypherflow.exception.CooldownException;
+import com.backend.cypherflow.exception.ResourceNotFoundException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.backend.cypherflow.util.SecurityUtil.getCurrentUserId;
+
+// Admin-triggered JFR recordings, class histograms and thread dumps, without shell access to the host
+@Service
+@Slf4j
+public class DiagnosticsService {
+
+    public static final String DIAGNOSTICS_PATH = "/api/admin/diagnostics";
+
+    private static final Set<String> JFR_SETTINGS = Set.of("default", "profile");
+    private static final String RECORDING_NAME_PREFIX = "cypherflow-";
+    private static final String DIAGNOSTIC_COMMAND_MBEAN = "com.sun.management:type=DiagnosticCommand";
+
+    private final Map<String, Instant> lastActionAt = new ConcurrentHashMap<>();
+
+    private final Path recordingDir;
+    private final Duration cooldown;
+    private final Duration maxRecordingDuration;
+
+    // one recording at a time; the last finished one stays available for download
+    private Recording activeRecording;
+    private Recording lastRecording;
+    private Path lastRecordingFile;
+
+    // open download streams per file; a replaced file is deleted once its last stream closes
+    private final Map<Path, Integer> openDownloads = new HashMap<>();
+    private final Set<Path> pendingDeletes = new HashSet<>();
+
+    public DiagnosticsService(
+            @Value("${app.diagnostics.jfr-dir:${java.io.tmpdir}/cypherflow-jfr}") String recordingDir,
+            @Value("${app.diagnostics.cooldown-seconds:30}") long cooldownSeconds,
+            @Value("${app.diagnostics.max-recording-seconds:900}") long maxRecordingSeconds)
+    {
+        this.recordingDir = Paths.get(recordingDir);
+        this.cooldown = Duration.ofSeconds(cooldownSeconds);
+        this.maxRecordingDuration = Duration.ofSeconds(maxRecordingSeconds);
+    }
+
+    /* ================= JFR ================= */
+
+    public synchronized JfrRecordingResponse startRecording(String settings, Long durationSeconds) {
+
+        if (!JFR_SETTINGS.contains(settings)) {
+            throw new BadRequestException("Settings must be one of " + JFR_SETTINGS);
+        }
+        if (activeRecording != null && activeRecording.getState() == RecordingState.RUNNING) {
+            throw new BadRequestException("A recording is already running");
+        }
+        if (activeRecording != null) {
+            // finished on its own (duration elapsed) and was never stopped; keep it downloadable instead of dropping it
+            Recording finished = activeRecording;
+            activeRecording = null;
+            try {
+                Path file = saveRecording(finished);
+                log.info("Auto-stopped JFR recording kept for download. recordingId={}, file={}", finished.getId(), file);
+            } catch (IOException e) {
+                finished.close();
+                log.warn("Discarding auto-stopped JFR recording that could not be written. recordingId={}", finished.getId(), e);
+            }
+        }
+
+        checkCooldown("jfr-start");
+
+        Duration duration = durationSeconds == null
+                ? maxRecordingDuration
+                : Duration.ofSeconds(Math.min(durationSeconds, maxRecordingDuration.toSeconds()));
+
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setName(RECORDING_NAME_PREFIX + settings);
+            recording.setToDisk(true);
+            recording.setDuration(duration);   // stops by itself if nobody calls stop
+            recording.start();
+
+            activeRecording = recording;
+            audit("jfr-start", "settings=" + settings + ", durationSeconds=" + duration.toSeconds());
+
+            return toResponse(recording, settings, null);
+
+        } catch (IOException | ParseException e) {
+            log.error("Failed to start JFR recording. settings={}", settings, e);
+            throw new IllegalStateException("Could not start recording");
+        }
+    }
+
+    public synchronized JfrRecordingResponse stopRecording() {
+
+        if (activeRecording == null) {
+            throw new BadRequestException("No recording is running");
+        }
+
+        checkCooldown("jfr-stop");
+
+        Recording recording = activeRecording;
+        activeRecording = null;
+
+        try {
+            Path file = saveRecording(recording);
+            audit("jfr-stop", "recordingId=" + recording.getId() + ", bytes=" + Files.size(file));
+
+            return toResponse(recording, recording.getName().substring(RECORDING_NAME_PREFIX.length()), Files.size(file));
+
+        } catch (IOException e) {
+            recording.close();
+            log.error("Failed to write JFR recording. recordingId={}", recording.getId(), e);
+            throw new IllegalStateException("Could not write recording");
+        }
+    }
+
+    // The file is leased when the response body is streamed, so a newer recording cannot delete it mid-download
+    public synchronized Resource recordingResource(long recordingId) {
+
+        if (lastRecording == null || lastRecording.getId() != recordingId || lastRecordingFile == null) {
+            throw new ResourceNotFoundException("Recording not found");
+        }
+
+        audit("jfr-download", "recordingId=" + recordingId);
+
+        Path file = lastRecordingFile;
+        return new FileSystemResource(file) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return openDownload(file);
+            }
+        };
+    }
+
+    /* ================= HEAP / THREADS ================= */
+
+    public String classHistogram() {
+        checkCooldown("class-histogram");
+        audit("class-histogram", "");
+        return diagnosticCommand("gcClassHistogram");
+    }
+
+    public String threadDump() {
+        checkCooldown("thread-dump");
+        audit("thread-dump", "");
+        return diagnosticCommand("threadPrint", "-l");
+    }
+
+    /* ================= HELPERS ================= */
+
+    // Same jcmd commands (GC.class_histogram, Thread.print) the JDK tools use, via the platform MBean
+    private String diagnosticCommand(String operation, String... args) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            return (String) server.invoke(
+                    new ObjectName(DIAGNOSTIC_COMMAND_MBEAN),
+                    operation,
+                    new Object[]{args},
+                    new String[]{String[].class.getName()}
+            );
+        } catch (Exception e) {
+            log.error("Diagnostic command failed. operation={}", operation, e);
+            throw new IllegalStateException("Diagnostic command failed");
+        }
+    }
+
+    // Each action may run once per cooldown window, so a heavy histogram cannot be triggered in a loop.
+    // The slot is claimed with putIfAbsent / replace(key, expected, now), the map's compare-and-set,
+    // so concurrent requests cannot both pass.
+    private void checkCooldown(String action) {
+
+        Instant now = Instant.now();
+
+        while (true) {
+            Instant previous = lastActionAt.putIfAbsent(action, now);
+            if (previous == null) {
+                return;
+            }
+            if (previous.plus(cooldown).isAfter(now)) {
+                log.warn("Diagnostics action rejected by cooldown. action={}", action);
+                throw new CooldownException("Please wait " + cooldown.toSeconds() + " sec between diagnostics requests");
+            }
+            if (lastActionAt.replace(action, previous, now)) {
+                return;
+            }
+        }
+    }
+
+    private void audit(String action, String details) {
+        log.info(
+                "Admin diagnostics action. action={}, adminId={}, {}",
+                action,
+                getCurrentUserId(),
+                details
+        );
+    }
+
+    private Path saveRecording(Recording recording) throws IOException {
+
+        Files.createDirectories(recordingDir);
+        Path file = recordingDir.resolve("recording-" + recording.getId() + ".jfr");
+
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.dump(file);
+
+        replaceLastRecording(recording, file);
+        return file;
+    }
+
+    private void replaceLastRecording(Recording recording, Path file) throws IOException {
+
+        if (lastRecording != null) {
+            lastRecording.close();
+        }
+        if (lastRecordingFile != null && !lastRecordingFile.equals(file)) {
+            if (openDownloads.containsKey(lastRecordingFile)) {
+                pendingDeletes.add(lastRecordingFile);
+            } else {
+                Files.deleteIfExists(lastRecordingFile);
+            }
+        }
+
+        lastRecording = recording;
+        lastRecordingFile = file;
+    }
+
+    private synchronized InputStream openDownload(Path file) throws IOException {
+
+        InputStream in = Files.newInputStream(file);
+        openDownloads.merge(file, 1, Integer::sum);
+
+        return new FilterInputStream(in) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    super.close();
+                } finally {
+                    releaseDownload(file);
+                }
+            }
+        };
+    }
+
+    private synchronized void releaseDownload(Path file) {
+
+        Integer remaining = openDownloads.computeIfPresent(file, (key, count) -> count > 1 ? count - 1 : null);
+        if (remaining != null || !pendingDeletes.remove(file)) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete replaced JFR recording. file={}", file, e);
+        }
+    }
+
+    private JfrRecordingResponse toResponse(Recording recording, String settings, Long sizeBytes) {
+        return JfrRecordingResponse.builder()
+                .id(recording.getId())
+                .settings(settings)
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .sizeBytes(sizeBytes)
+                .downloadUrl(sizeBytes == null ? null : DIAGNOSTICS_PATH + "/jfr/" + recording.getId())
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.backend.cypherflow.service;
 
+import com.backend.cypherflow.enums.FlowStep;
+import com.backend.cypherflow.metrics.FlowSpans;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -11,10 +13,12 @@ import org.springframework.stereotype.Service;
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final FlowSpans flowSpans;
 
-    public EmailService(JavaMailSender mailSender)
+    public EmailService(JavaMailSender mailSender, FlowSpans flowSpans)
     {
         this.mailSender=mailSender;
+        this.flowSpans=flowSpans;
     }
 
     /* ================= GENERIC EMAIL ================= */
@@ -27,7 +31,7 @@ public class EmailService {
             msg.setTo(to);
             msg.setSubject(subject);
             msg.setText(body);
-            mailSender.send(msg);
+            flowSpans.observe(FlowStep.SMTP, () -> mailSender.send(msg));
 
             if (log.isDebugEnabled()) {
                 log.debug("Email sent successfully. subject={}", subject);
@@ -44,7 +48,7 @@ public class EmailService {
 
     /* ================= PASSWORD RESET EMAIL ================= */
 
-    @Async
+    @Async("mailExecutor")
     public void sendPasswordResetEmail(String email, String resetLink) {
 
         if (log.isDebugEnabled()) {
@@ -76,8 +80,13 @@ public class EmailService {
 
     /* ================= PASSWORD RESET ALERT ================= */
 
-    @Async
+    @Async("mailExecutor")
     public void sendPasswordResetAlertEmail(String email, String blockLink) {
+        sendPasswordResetAlertEmailNow(email, blockLink);
+    }
+
+    // Same mail on the caller's thread, for when mailExecutor rejects the alert
+    public void sendPasswordResetAlertEmailNow(String email, String blockLink) {
 
         if (log.isDebugEnabled()) {
             log.debug("Initiating password reset alert email dispatch");
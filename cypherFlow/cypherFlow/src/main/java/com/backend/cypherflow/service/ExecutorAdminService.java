@@ -0,0 +1,99 @@
+package com.backend.cypherflow.service;
+
+import com.backend.cypherflow.config.VirtualThreadTaskExecutor;
+import com.backend.cypherflow.dto.request.ExecutorResizeRequest;
+import com.backend.cypherflow.dto.response.ExecutorStatsResponse;
+import com.backend.cypherflow.exception.BadRequestException;
+import com.backend.cypherflow.exception.ResourceNotFoundException;
+import com.backend.cypherflow.metrics.ExecutorMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.backend.cypherflow.util.SecurityUtil.getCurrentUserId;
+
+// Runtime view and resize of the async pools. Queue capacity is fixed at startup, only thread counts change.
+// Virtual-thread executors are listed too, but their concurrency limit is fixed at startup.
+@Service
+@Slf4j
+public class ExecutorAdminService {
+
+    private final ExecutorMetrics executorMetrics;
+
+    public ExecutorAdminService(ExecutorMetrics executorMetrics)
+    {
+        this.executorMetrics = executorMetrics;
+    }
+
+    public List<ExecutorStatsResponse> listExecutors() {
+        return Stream.concat(
+                        executorMetrics.pools().entrySet().stream()
+                                .map(entry -> toResponse(entry.getKey(), entry.getValue())),
+                        executorMetrics.virtualExecutors().entrySet().stream()
+                                .map(entry -> toResponse(entry.getKey(), entry.getValue())))
+                .sorted(Comparator.comparing(ExecutorStatsResponse::getName))
+                .toList();
+    }
+
+    public ExecutorStatsResponse resize(String name, ExecutorResizeRequest request) {
+
+        if (executorMetrics.virtualExecutors().containsKey(name)) {
+            throw new BadRequestException("Executor " + name + " runs on virtual threads and cannot be resized");
+        }
+
+        ThreadPoolTaskExecutor pool = executorMetrics.pools().get(name);
+        if (pool == null) {
+            throw new ResourceNotFoundException("Unknown executor: " + name);
+        }
+
+        int core = request.getCorePoolSize();
+        int max = request.getMaxPoolSize();
+        if (core > max) {
+            throw new BadRequestException("corePoolSize must not exceed maxPoolSize");
+        }
+
+        int oldCore = pool.getCorePoolSize();
+        int oldMax = pool.getMaxPoolSize();
+
+        // ThreadPoolExecutor rejects core > max at every step, so grow max first and shrink core first
+        if (max >= oldMax) {
+            pool.setMaxPoolSize(max);
+            pool.setCorePoolSize(core);
+        } else {
+            pool.setCorePoolSize(core);
+            pool.setMaxPoolSize(max);
+        }
+
+        log.info("Executor resized. executor={}, core={}->{}, max={}->{}, adminId={}",
+                name, oldCore, core, oldMax, max, getCurrentUserId());
+
+        return toResponse(name, pool);
+    }
+
+    private static ExecutorStatsResponse toResponse(String name, ThreadPoolTaskExecutor pool) {
+        return ExecutorStatsResponse.builder()
+                .name(name)
+                .corePoolSize(pool.getCorePoolSize())
+                .maxPoolSize(pool.getMaxPoolSize())
+                .poolSize(pool.getPoolSize())
+                .activeCount(pool.getActiveCount())
+                .queueSize(pool.getQueueSize())
+                .queueRemainingCapacity(pool.getThreadPoolExecutor().getQueue().remainingCapacity())
+                .build();
+    }
+
+    // No pool and no queue: the concurrency limit is reported as the max size
+    private static ExecutorStatsResponse toResponse(String name, VirtualThreadTaskExecutor executor) {
+        return ExecutorStatsResponse.builder()
+                .name(name)
+                .virtualThreads(true)
+                .maxPoolSize(executor.getConcurrencyLimit())
+                .poolSize(executor.getActiveCount())
+                .activeCount(executor.getActiveCount())
+                .build();
+    }
+}
@@ -3,9 +3,14 @@ package com.backend.cypherflow.service;
 import com.backend.cypherflow.dto.response.AuthResponse;
 import com.backend.cypherflow.dto.request.LoginRequest;
 import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.enums.AccountSecurityEvent;
 import com.backend.cypherflow.enums.AccountStatus;
+import com.backend.cypherflow.enums.FlowStep;
+import com.backend.cypherflow.enums.LoginOutcome;
 import com.backend.cypherflow.exception.UnauthorizedException;
 import com.backend.cypherflow.exception.UnverfiedAccountException;
+import com.backend.cypherflow.metrics.AuthMetrics;
+import com.backend.cypherflow.metrics.FlowSpans;
 import com.backend.cypherflow.repository.UserRepository;
 import com.backend.cypherflow.util.JwtUtil;
 import lombok.extern.slf4j.Slf4j;
@@ -25,20 +30,28 @@ public class LoginService {
     private final UserRepository userRepo;
     private final PasswordEncoder encoder;
     private final JwtUtil jwtUtil;
+    private final AuthMetrics authMetrics;
+    private final FlowSpans flowSpans;
 
-    public LoginService(UserRepository userRepo, PasswordEncoder encoder, JwtUtil jwtUtil) {
+    public LoginService(UserRepository userRepo, PasswordEncoder encoder, JwtUtil jwtUtil,
+                        AuthMetrics authMetrics, FlowSpans flowSpans) {
         this.userRepo = userRepo;
         this.encoder = encoder;
         this.jwtUtil = jwtUtil;
+        this.authMetrics = authMetrics;
+        this.flowSpans = flowSpans;
     }
 
     public AuthResponse login(LoginRequest req) {
 
-        User user = userRepo.findByUsernameIgnoreCase(req.getUsername())
+        long start = System.nanoTime();
+
+        User user = flowSpans.observe(FlowStep.LOOKUP, () -> userRepo.findByUsernameIgnoreCase(req.getUsername()))
                 .orElse(null);
 
         // Username check
         if (user == null) {
+            authMetrics.recordLogin(LoginOutcome.INVALID_CREDENTIALS, start);
             throw new UnauthorizedException("Invalid credentials");
         }
 
@@ -52,11 +65,13 @@ public class LoginService {
 
         if (user.getAccountStatus() == AccountStatus.PENDING_VERIFICATION) {
             log.warn("Login blocked - account pending verification. userId={}", userId);
+            authMetrics.recordLogin(LoginOutcome.UNVERIFIED, start);
             throw new UnverfiedAccountException("Verify account before login");
         }
 
         if (user.getAccountStatus() == AccountStatus.BLOCKED) {
             log.warn("Login blocked - account permanently blocked. userId={}", userId);
+            authMetrics.recordLogin(LoginOutcome.BLOCKED, start);
             throw new UnauthorizedException("Account blocked");
         }
 
@@ -65,6 +80,7 @@ public class LoginService {
                 user.getLockUntil().isAfter(LocalDateTime.now()))
         {
             log.warn("Login blocked - account temporarily locked. userId={}", userId);
+            authMetrics.recordLogin(LoginOutcome.LOCKED, start);
             throw new UnauthorizedException("Account locked");
         }
 
@@ -84,7 +100,9 @@ public class LoginService {
 
         /* ================= PASSWORD CHECK ================= */
 
-        if (!encoder.matches(req.getPassword(), user.getPasswordHash()))
+        String passwordHash = user.getPasswordHash();
+
+        if (!flowSpans.observe(FlowStep.HASHING, () -> encoder.matches(req.getPassword(), passwordHash)))
         {
             user.setFailedLoginAttempts(user.getFailedLoginAttempts() + 1);
 
@@ -96,9 +114,11 @@ public class LoginService {
                         "Account locked due to repeated failed login attempts. userId={}",
                         userId
                 );
+                authMetrics.recordAccountEvent(AccountSecurityEvent.LOCKED);
             }
 
-            userRepo.save(user);
+            flowSpans.observe(FlowStep.PERSISTENCE, () -> userRepo.save(user));
+            authMetrics.recordLogin(LoginOutcome.INVALID_CREDENTIALS, start);
             throw new UnauthorizedException("Invalid credentials");
         }
 
@@ -106,14 +126,17 @@ public class LoginService {
 
         user.setFailedLoginAttempts(0);
         user.setLockUntil(null);
-        userRepo.save(user);
+        flowSpans.observe(FlowStep.PERSISTENCE, () -> userRepo.save(user));
 
         log.info("Login successful. userId={}", userId);
 
-        return AuthResponse.builder()
+        AuthResponse response = AuthResponse.builder()
                 .username(user.getUsername())
                 .token(jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole()))
                 .build();
+
+        authMetrics.recordLogin(LoginOutcome.SUCCESS, start);
+        return response;
     }
 }
 
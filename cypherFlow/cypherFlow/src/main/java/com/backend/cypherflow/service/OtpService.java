@@ -1,14 +1,19 @@
 package com.backend.cypherflow.service;
 
+import com.backend.cypherflow.cache.UserIdentity;
+import com.backend.cypherflow.cache.UserIdentityCache;
+import com.backend.cypherflow.datasource.PrimaryReads;
 import com.backend.cypherflow.entity.Otp;
-import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.enums.FlowStep;
 import com.backend.cypherflow.enums.OtpReason;
 import com.backend.cypherflow.enums.OtpStatus;
 import com.backend.cypherflow.enums.OtpType;
 import com.backend.cypherflow.enums.OtpDispatchResult;
 import com.backend.cypherflow.exception.UserNotFoundException;
+import com.backend.cypherflow.metrics.AuthMetrics;
+import com.backend.cypherflow.metrics.FlowSpans;
 import com.backend.cypherflow.repository.OtpRepository;
-import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.security.HashingExecutor;
 import com.backend.cypherflow.util.OtpUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -27,22 +32,38 @@ public class OtpService {
 
     private final OtpRepository otpRepository;
     private final EmailService emailService;
-    private final UserRepository userRepository;
+    private final SmsService smsService;
+    private final UserIdentityCache userIdentityCache;
+    private final AuthMetrics authMetrics;
+    private final FlowSpans flowSpans;
+    private final HashingExecutor hashingExecutor;
 
     public OtpService(OtpRepository otpRepository,
                       EmailService emailService,
-                      UserRepository userRepository)
+                      SmsService smsService,
+                      UserIdentityCache userIdentityCache,
+                      AuthMetrics authMetrics,
+                      FlowSpans flowSpans,
+                      HashingExecutor hashingExecutor)
     {
         this.otpRepository = otpRepository;
         this.emailService = emailService;
-        this.userRepository = userRepository;
+        this.smsService = smsService;
+        this.userIdentityCache = userIdentityCache;
+        this.authMetrics = authMetrics;
+        this.flowSpans = flowSpans;
+        this.hashingExecutor = hashingExecutor;
     }
 
     /* ================= ASYNC ENTRY ================= */
 
+    // Throws TaskRejectedException (503 + Retry-After) to the caller when otpExecutor is saturated,
+    // so an endpoint never reports an OTP as sent that was never queued
     @Async("otpExecutor")
     public void dispatchOtpAsync(Long userId, OtpType type, OtpReason reason) {
 
+         long start = System.nanoTime();
+
          try {
                 if (log.isDebugEnabled()) {
                 log.debug(
@@ -51,7 +72,9 @@ public class OtpService {
                 );
             }
 
-        OtpDispatchResult result = generateAndSendOtp(userId, type, reason);
+        // cooldown, hourly count and a just-registered user are read from the primary, see PrimaryReads
+        OtpDispatchResult result = PrimaryReads.call(() -> generateAndSendOtp(userId, type, reason));
+        authMetrics.recordOtpDispatch(type, reason, result, start);
 
         if (result == OtpDispatchResult.COOLDOWN || result == OtpDispatchResult.RATE_LIMITED) {
             log.warn(
@@ -61,6 +84,7 @@ public class OtpService {
         }
 
     } catch (Exception ex) {
+        authMetrics.recordOtpDispatch(type, reason, OtpDispatchResult.FAILED, start);
         log.error(
                 "OTP async dispatch failed. userId={}, type={}, reason={}",
                 userId, type, reason, ex
@@ -73,24 +97,23 @@ public class OtpService {
 
     private OtpDispatchResult generateAndSendOtp(Long userId, OtpType type, OtpReason reason) {
 
-        User user = userRepository.findById(userId)
+        UserIdentity user = flowSpans.observe(FlowStep.LOOKUP, () -> userIdentityCache.findById(userId))
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
         LocalDateTime now = LocalDateTime.now();
 
-        if (isCooldownActive(userId, type, reason, now)) {
-            return OtpDispatchResult.COOLDOWN;
-        }
-
-        if (isRateLimitExceeded(userId, type, now)) {
-            return OtpDispatchResult.RATE_LIMITED;
+        OtpDispatchResult limited = flowSpans.observe(FlowStep.LIMITER, () -> checkLimits(userId, type, reason, now));
+        if (limited != null) {
+            return limited;
         }
 
         String otpValue = OtpUtil.generateOtp();
+        String otpHash = flowSpans.observe(FlowStep.HASHING, 
+                () -> hashingExecutor.call(() -> BCrypt.hashpw(otpValue, BCrypt.gensalt())));
 
         Otp otp = Otp.builder()
                 .userId(userId)
-                .otpHash(BCrypt.hashpw(otpValue, BCrypt.gensalt()))
+                .otpHash(otpHash)
                 .otpType(type)
                 .otpReason(reason)
                 .status(OtpStatus.GENERATED)
@@ -99,7 +122,7 @@ public class OtpService {
                 .retryCount(0)
                 .build();
 
-        otpRepository.save(otp);
+        flowSpans.observe(FlowStep.PERSISTENCE, () -> otpRepository.save(otp));
 
         sendOtp(user, type, otpValue);
 
@@ -108,6 +131,19 @@ public class OtpService {
 
     /* ================= HELPERS ================= */
 
+    // null when a new OTP may be sent
+    private OtpDispatchResult checkLimits(Long userId, OtpType type, OtpReason reason, LocalDateTime now) {
+
+        if (isCooldownActive(userId, type, reason, now)) {
+            return OtpDispatchResult.COOLDOWN;
+        }
+
+        if (isRateLimitExceeded(userId, type, now)) {
+            return OtpDispatchResult.RATE_LIMITED;
+        }
+        return null;
+    }
+
     private boolean isCooldownActive(Long userId, OtpType type, OtpReason reason, LocalDateTime now) {
         return otpRepository
                 .findTopByUserIdAndOtpTypeAndOtpReasonOrderByCreatedAtDesc(userId, type, reason)
@@ -124,7 +160,7 @@ public class OtpService {
         ) >= MAX_PER_HOUR;
     }
 
-    private void sendOtp(User user, OtpType type, String otp) {
+    private void sendOtp(UserIdentity user, OtpType type, String otp) {
         if (type == OtpType.EMAIL) {
             emailService.sendEmail(
                     user.getEmail(),
@@ -132,11 +168,7 @@ public class OtpService {
                     "Your OTP is: " + otp
             );
         } else {
-
-            log.warn("DEV MODE OTP mobile={} otp={}", user.getMobile(), otp);
-//            if (log.isDebugEnabled()) {
-//                log.debug("OTP generated for mobile delivery. userId={}", user.getId());
-//            }
+            smsService.sendSms(user.getMobile(), "Your OTP is: " + otp);
         }
     }
 }
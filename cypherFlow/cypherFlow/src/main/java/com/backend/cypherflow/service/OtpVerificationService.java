@@ -5,9 +5,12 @@ import com.backend.cypherflow.entity.Otp;
 import com.backend.cypherflow.entity.User;
 import com.backend.cypherflow.enums.OtpReason;
 import com.backend.cypherflow.enums.OtpStatus;
+import com.backend.cypherflow.enums.OtpVerificationOutcome;
 import com.backend.cypherflow.exception.InvalidOtpException;
+import com.backend.cypherflow.metrics.AuthMetrics;
 import com.backend.cypherflow.repository.OtpRepository;
 import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.security.HashingExecutor;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.bcrypt.BCrypt;
@@ -23,21 +26,28 @@ public class OtpVerificationService {
 
     private final OtpRepository otpRepository;
     private final UserRepository userRepository;
+    private final AuthMetrics authMetrics;
+    private final HashingExecutor hashingExecutor;
 
-    public OtpVerificationService(OtpRepository otpRepository, UserRepository userRepository)
+    public OtpVerificationService(OtpRepository otpRepository, UserRepository userRepository,
+                                  AuthMetrics authMetrics, HashingExecutor hashingExecutor)
     {
         this.otpRepository=otpRepository;
         this.userRepository=userRepository;
+        this.authMetrics=authMetrics;
+        this.hashingExecutor=hashingExecutor;
     }
 
     @Transactional
     public void verifyOtp(User user, OtpVerifyRequest request) {
 
+        long start = System.nanoTime();
+
         Otp otp = otpRepository
                 .findTopByUserIdAndOtpTypeAndOtpReasonOrderByCreatedAtDesc(
                         user.getId(), request.getOtpType(), request.getOtpReason()
                 )
-                .orElseThrow(() -> new InvalidOtpException("Invalid OTP"));
+                .orElseThrow(() -> reject(request, OtpVerificationOutcome.INVALID, start, "Invalid OTP"));
 
         if (log.isDebugEnabled()) {
             log.debug(
@@ -49,14 +59,18 @@ public class OtpVerificationService {
         }
 
         if (otp.getOtpType() != request.getOtpType()) {
-            throw new InvalidOtpException("Invalid otp");
+            throw reject(request, OtpVerificationOutcome.INVALID, start, "Invalid otp");
         }
 
-        validateOtpState(otp,user.getId());
-        validateOtpValue(otp, request.getOtp(), user.getId());
+        validateOtpState(otp, user.getId(), request, start);
+        validateOtpValue(otp, request, user.getId(), start);
         otp.setStatus(OtpStatus.VERIFIED);
         otpRepository.save(otp);
 
+        authMetrics.recordOtpVerification(
+                request.getOtpType(), request.getOtpReason(), OtpVerificationOutcome.VERIFIED, start
+        );
+
         if (request.getOtpReason() == OtpReason.PASSWORD_RESET) {
             grantPasswordReset(user);
         }
@@ -65,7 +79,7 @@ public class OtpVerificationService {
 
     /* ================= STATE VALIDATION ================= */
 
-    private void validateOtpState(Otp otp, Long userId) {
+    private void validateOtpState(Otp otp, Long userId, OtpVerifyRequest request, long start) {
 
         if (otp.getStatus() != OtpStatus.GENERATED) {
             log.warn(
@@ -73,7 +87,12 @@ public class OtpVerificationService {
                     userId,
                     otp.getStatus()
             );
-            throw new InvalidOtpException("OTP already used or blocked");
+            OtpVerificationOutcome outcome = switch (otp.getStatus()) {
+                case BLOCKED -> OtpVerificationOutcome.BLOCKED;
+                case EXPIRED -> OtpVerificationOutcome.EXPIRED;
+                default -> OtpVerificationOutcome.INVALID;
+            };
+            throw reject(request, outcome, start, "OTP already used or blocked");
         }
 
         if (otp.getExpiresAt().isBefore(LocalDateTime.now())) {
@@ -85,14 +104,14 @@ public class OtpVerificationService {
                     userId
             );
 
-            throw new InvalidOtpException("OTP expired");
+            throw reject(request, OtpVerificationOutcome.EXPIRED, start, "OTP expired");
         }
     }
 
     /* ================= VALUE VALIDATION ================= */
 
-    private void validateOtpValue(Otp otp, String providedOtp, Long userId) {
-        if (!BCrypt.checkpw(providedOtp, otp.getOtpHash())) {
+    private void validateOtpValue(Otp otp, OtpVerifyRequest request, Long userId, long start) {
+        if (!hashingExecutor.call(() -> BCrypt.checkpw(request.getOtp(), otp.getOtpHash()))) {
             otp.setRetryCount(otp.getRetryCount() + 1);
             if (otp.getRetryCount() >= MAX_RETRIES) {
                 otp.setStatus(OtpStatus.BLOCKED);
@@ -109,10 +128,21 @@ public class OtpVerificationService {
                 );
             }
             otpRepository.save(otp);
-            throw new InvalidOtpException("Invalid OTP");
+
+            OtpVerificationOutcome outcome = otp.getStatus() == OtpStatus.BLOCKED
+                    ? OtpVerificationOutcome.BLOCKED
+                    : OtpVerificationOutcome.INVALID;
+            throw reject(request, outcome, start, "Invalid OTP");
         }
     }
 
+    // Records the failed attempt and builds the exception the caller throws
+    private InvalidOtpException reject(OtpVerifyRequest request, OtpVerificationOutcome outcome,
+                                       long start, String message) {
+        authMetrics.recordOtpVerification(request.getOtpType(), request.getOtpReason(), outcome, start);
+        return new InvalidOtpException(message);
+    }
+
     /* ================= PASSWORD RESET ================= */
 
     private void grantPasswordReset(User user) {
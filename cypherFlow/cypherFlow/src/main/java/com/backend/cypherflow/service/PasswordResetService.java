@@ -4,14 +4,20 @@ import com.backend.cypherflow.util.AccountStatusValidator;
 import com.backend.cypherflow.dto.request.ResetPasswordRequest;
 import com.backend.cypherflow.entity.PasswordResetToken;
 import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.enums.AccountSecurityEvent;
 import com.backend.cypherflow.enums.AccountStatus;
+import com.backend.cypherflow.enums.PasswordResetEvent;
 import com.backend.cypherflow.enums.SecurityActionType;
+import com.backend.cypherflow.enums.TransactionFlow;
 import com.backend.cypherflow.exception.*;
+import com.backend.cypherflow.metrics.AuthMetrics;
+import com.backend.cypherflow.metrics.TransactionMetrics;
 import com.backend.cypherflow.repository.PasswordResetTokenRepository;
 import com.backend.cypherflow.repository.UserRepository;
 import com.backend.cypherflow.util.TokenUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,18 +39,24 @@ public class PasswordResetService {
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final AccountStatusValidator accountStatusValidator;
+    private final AuthMetrics authMetrics;
+    private final TransactionMetrics transactionMetrics;
 
     public PasswordResetService(UserRepository userRepository,
                                 PasswordResetTokenRepository tokenRepository,
                                 PasswordEncoder passwordEncoder,
                                 EmailService emailService,
-                                AccountStatusValidator accountStatusValidator)
+                                AccountStatusValidator accountStatusValidator,
+                                AuthMetrics authMetrics,
+                                TransactionMetrics transactionMetrics)
     {
         this.userRepository = userRepository;
         this.tokenRepository = tokenRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
         this.accountStatusValidator=accountStatusValidator;
+        this.authMetrics=authMetrics;
+        this.transactionMetrics=transactionMetrics;
     }
 
     @Value("${app.frontend.reset-password-url}")
@@ -52,46 +64,66 @@ public class PasswordResetService {
 
     /* ================= FORGOT PASSWORD ================= */
 
-    @Transactional
+    // The link is mailed once the new token has committed, outside the transaction. A saturated
+    // mailExecutor answers 503, and the unsent token is retired first so the cooldown does not block the retry.
     public void initiateForgotPassword(String email) {
 
-        userRepository.findByEmailIgnoreCase(email).ifPresent(user -> {
+        PendingMail mail = transactionMetrics.inTransaction(TransactionFlow.FORGOT_PASSWORD, () ->
+                userRepository.findByEmailIgnoreCase(email)
+                        .map(this::issueResetToken)
+                        .orElse(null));
 
-            accountStatusValidator.validate(user);
+        if (mail == null) {
+            return;
+        }
 
-            LocalDateTime now = LocalDateTime.now();
+        try {
+            emailService.sendPasswordResetEmail(mail.email(), mail.link());
+        } catch (TaskRejectedException ex) {
+            log.warn("Password reset email not queued, mail executor saturated. userId={}", mail.userId());
+            transactionMetrics.inTransaction(TransactionFlow.FORGOT_PASSWORD, () ->
+                    tokenRepository.releaseUnsent(mail.tokenId(), mail.issuedAt().minusSeconds(COOLDOWN_SECONDS)));
+            throw ex;
+        }
 
-            PasswordResetToken existing =
-                    tokenRepository.findByUserId(user.getId()).orElse(null);
+        authMetrics.recordPasswordReset(PasswordResetEvent.REQUESTED);
+    }
 
-            // ============ FIRST REQUEST ============
-            if (existing == null || windowExpired(existing, now)) {
-                resetAndCreate(user, now, 1);
-                return;
+    private PendingMail issueResetToken(User user) {
 
-            }
+        accountStatusValidator.validate(user);
 
-            if (cooldownActive(existing, now)) {
-                log.warn(
-                        "Password reset cooldown violation. userId={}",
-                        user.getId()
-                );
-                throw new CooldownException("Please wait for 30 sec before requesting another reset");
-            }
+        LocalDateTime now = LocalDateTime.now();
 
-            if (existing.getRequestCount() >= MAX_REQUESTS_PER_HOUR) {
-                log.warn(
-                        "Password reset rate limit exceeded. userId={}",
-                        user.getId()
-                );
-                throw new LimitExceededException("Too many requests. Try again later");
-            }
+        PasswordResetToken existing =
+                tokenRepository.findByUserId(user.getId()).orElse(null);
 
-            // ============ ALLOWED ============
-            tokenRepository.delete(existing);
-            resetAndCreate(user, now, existing.getRequestCount() + 1);
+        // ============ FIRST REQUEST ============
+        if (existing == null || windowExpired(existing, now)) {
+            return resetAndCreate(user, now, 1);
+        }
 
-        });
+        if (cooldownActive(existing, now)) {
+            log.warn(
+                    "Password reset cooldown violation. userId={}",
+                    user.getId()
+            );
+            authMetrics.recordPasswordReset(PasswordResetEvent.THROTTLED);
+            throw new CooldownException("Please wait for 30 sec before requesting another reset");
+        }
+
+        if (existing.getRequestCount() >= MAX_REQUESTS_PER_HOUR) {
+            log.warn(
+                    "Password reset rate limit exceeded. userId={}",
+                    user.getId()
+            );
+            authMetrics.recordPasswordReset(PasswordResetEvent.THROTTLED);
+            throw new LimitExceededException("Too many requests. Try again later");
+        }
+
+        // ============ ALLOWED ============
+        tokenRepository.delete(existing);
+        return resetAndCreate(user, now, existing.getRequestCount() + 1);
     }
 
     private boolean cooldownActive(PasswordResetToken token, LocalDateTime now) {
@@ -106,7 +138,7 @@ public class PasswordResetService {
                 .isBefore(now);
     }
 
-    private void resetAndCreate(User user, LocalDateTime now, int count) {
+    private PendingMail resetAndCreate(User user, LocalDateTime now, int count) {
 
         String rawToken = TokenUtil.generateToken();
         String tokenHash = TokenUtil.hashToken(rawToken);
@@ -124,38 +156,45 @@ public class PasswordResetService {
 
         tokenRepository.save(token);
 
-        String link = resetPasswordUrl + "?token=" + rawToken;
-        emailService.sendPasswordResetEmail(user.getEmail(), link);
-
         if (log.isDebugEnabled()) {
-            log.debug("Password reset token generated and email dispatched. userId={}", user.getId());
+            log.debug("Password reset token generated, email sent after commit. userId={}", user.getId());
         }
+
+        String link = resetPasswordUrl + "?token=" + rawToken;
+        return new PendingMail(token.getId(), user.getId(), user.getEmail(), link, now);
     }
 
 
     /* ================= RESET PASSWORD ================= */
-    @Transactional
-    public void resetPassword(ResetPasswordRequest request) {
 
+    // The token and account are checked in a short read-write transaction, so they come from the primary
+    // like the rest of the flow; BCrypt runs between the two transactions so no connection is held while hashing
+    public void resetPassword(ResetPasswordRequest request) {
 
         String tokenHash = TokenUtil.hashToken(request.getToken());
 
-        PasswordResetToken resetToken = tokenRepository
-                .findByTokenHashAndUsedFalse(tokenHash)
-                .orElseThrow(() -> {
-                    log.warn("Invalid password reset token used");
-                    return new InvalidTokenException("Invalid or expired token");
-                });
-
-        if (resetToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            log.warn("Expired password reset token used. userId={}",
-                    resetToken.getUser().getId());
-            throw new TokenExpiredException("Reset token expired");
-        }
+        ResetTarget target = transactionMetrics.inTransaction(TransactionFlow.RESET_PASSWORD, () -> {
+
+            PasswordResetToken resetToken = tokenRepository
+                    .findByTokenHashAndUsedFalse(tokenHash)
+                    .orElseThrow(() -> {
+                        log.warn("Invalid password reset token used");
+                        authMetrics.recordPasswordReset(PasswordResetEvent.REJECTED);
+                        return new InvalidTokenException("Invalid or expired token");
+                    });
+
+            if (resetToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+                log.warn("Expired password reset token used. userId={}",
+                        resetToken.getUser().getId());
+                authMetrics.recordPasswordReset(PasswordResetEvent.REJECTED);
+                throw new TokenExpiredException("Reset token expired");
+            }
 
-        User user = resetToken.getUser();
-        accountStatusValidator.validate(user);
+            accountStatusValidator.validate(resetToken.getUser());
+            return new ResetTarget(resetToken.getId(), resetToken.getUser().getId());
+        });
 
+        Long userId = target.userId();
 
         if (request.getNewPassword() == null || request.getNewPassword().isBlank()) {
             throw new InvalidPasswordException("Password cannot be empty");
@@ -167,20 +206,36 @@ public class PasswordResetService {
             throw new InvalidPasswordException("Password encoding failed");
         }
 
-        user.setPasswordHash(encodedPassword);
-        userRepository.save(user);
-        resetToken.setUsed(true);
-        tokenRepository.save(resetToken);
+        PendingMail alert = transactionMetrics.inTransaction(TransactionFlow.RESET_PASSWORD, () -> {
 
-        log.info("Password reset completed successfully. userId={}", user.getId());
+            // the token was checked in an earlier transaction; only one concurrent reset may use it
+            if (tokenRepository.markUsed(target.tokenId()) == 0) {
+                log.warn("Password reset token used concurrently. userId={}", userId);
+                authMetrics.recordPasswordReset(PasswordResetEvent.REJECTED);
+                throw new InvalidTokenException("Invalid or expired token");
+            }
 
-        //SEND SECURITY ALERT MAIL
-        sendPasswordResetSecurityMail(user);
+            // second-level cache hit, the user was loaded with the token
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException("User not found"));
 
+            // the account may have been blocked while BCrypt ran
+            accountStatusValidator.validate(user);
+            user.setPasswordHash(encodedPassword);
+            userRepository.save(user);
+
+            return createSecurityAlert(user);
+        });
+
+        //SEND SECURITY ALERT MAIL (after commit)
+        sendSecurityAlert(alert);
+
+        log.info("Password reset completed successfully. userId={}", userId);
+        authMetrics.recordPasswordReset(PasswordResetEvent.COMPLETED);
     }
 
     /* ================= SECURITY ALERT ================= */
-    private void sendPasswordResetSecurityMail(User user) {
+    private PendingMail createSecurityAlert(User user) {
 
         String rawToken = TokenUtil.generateToken();
 
@@ -200,8 +255,18 @@ public class PasswordResetService {
 //"http://localhost:8080/auth/block-account?token="
         String blockLink = resetPasswordUrl + rawToken;
 
-        emailService.sendPasswordResetAlertEmail(user.getEmail(), blockLink);
+        return new PendingMail(securityToken.getId(), user.getId(), user.getEmail(), blockLink, LocalDateTime.now());
+    }
 
+    // The password has already changed: a 503 would send the client into a retry that finds the token used,
+    // so a saturated mailExecutor falls back to sending the alert on the request thread instead of dropping it.
+    private void sendSecurityAlert(PendingMail alert) {
+        try {
+            emailService.sendPasswordResetAlertEmail(alert.email(), alert.link());
+        } catch (TaskRejectedException ex) {
+            log.warn("Password change alert not queued, sending inline. userId={}", alert.userId());
+            emailService.sendPasswordResetAlertEmailNow(alert.email(), alert.link());
+        }
     }
 
     /* ================= BLOCK ACCOUNT ================= */
@@ -242,7 +307,11 @@ public class PasswordResetService {
         tokenRepository.save(token);
 
         log.info("Account blocked via security action link. userId={}", user.getId());
+        authMetrics.recordAccountEvent(AccountSecurityEvent.BLOCKED);
     }
 
+    private record ResetTarget(Long tokenId, Long userId) {}
 
+    // A mail whose token is already committed, sent once the transaction has returned
+    private record PendingMail(Long tokenId, Long userId, String email, String link, LocalDateTime issuedAt) {}
 }
@@ -0,0 +1,70 @@
+package com.backend.cypherflow.service;
+
+import com.backend.cypherflow.exception.ResourceNotFoundException;
+import com.backend.cypherflow.storage.BlobStore;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Maps stored pictures to public file names (<sha256>.<ext>) and back
+@Service
+public class ProfilePictureService {
+
+    public static final String PICTURE_PATH = "/api/v1/profile/pictures/";
+
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{64})\\.([a-z]{3,4})");
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            MediaType.IMAGE_JPEG_VALUE, "jpg",
+            MediaType.IMAGE_PNG_VALUE, "png",
+            MediaType.IMAGE_GIF_VALUE, "gif",
+            "image/webp", "webp"
+    );
+
+    private static final Map<String, MediaType> MEDIA_TYPES = Map.of(
+            "jpg", MediaType.IMAGE_JPEG,
+            "png", MediaType.IMAGE_PNG,
+            "gif", MediaType.IMAGE_GIF,
+            "webp", MediaType.parseMediaType("image/webp")
+    );
+
+    private final BlobStore blobStore;
+
+    public ProfilePictureService(BlobStore blobStore)
+    {
+        this.blobStore = blobStore;
+    }
+
+    public static String pictureUrl(String key, String contentType) {
+        return PICTURE_PATH + key + "." + EXTENSIONS.getOrDefault(contentType, "bin");
+    }
+
+    public Picture open(String fileName) {
+
+        Matcher matcher = FILE_NAME.matcher(fileName);
+
+        if (!matcher.matches()) {
+            throw new ResourceNotFoundException("Profile picture not found");
+        }
+
+        String key = matcher.group(1);
+        MediaType mediaType = MEDIA_TYPES.getOrDefault(matcher.group(2), MediaType.APPLICATION_OCTET_STREAM);
+
+        Resource resource = blobStore.open(key)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile picture not found"));
+
+        return new Picture(key, mediaType, resource);
+    }
+
+    // The content hash doubles as a strong ETag: the bytes behind a key never change
+    public record Picture(String key, MediaType mediaType, Resource resource) {
+
+        public String eTag() {
+            return "\"" + key + "\"";
+        }
+    }
+}
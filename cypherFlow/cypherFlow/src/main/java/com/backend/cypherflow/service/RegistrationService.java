@@ -1,42 +1,63 @@
 package com.backend.cypherflow.service;
 
+import com.backend.cypherflow.config.TracingTaskDecorator;
+import com.backend.cypherflow.datasource.PrimaryReads;
 import com.backend.cypherflow.dto.request.RegisterRequest;
 import com.backend.cypherflow.entity.User;
 import com.backend.cypherflow.enums.AccountStatus;
+import com.backend.cypherflow.enums.FlowStep;
 import com.backend.cypherflow.enums.Role;
+import com.backend.cypherflow.enums.TransactionFlow;
 import com.backend.cypherflow.exception.BadRequestException;
+import com.backend.cypherflow.metrics.FlowSpans;
+import com.backend.cypherflow.metrics.TransactionMetrics;
 import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.util.MobileNumberUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 
 @Service
 @Slf4j
 public class RegistrationService {
 
+    private static final TracingTaskDecorator TRACING = new TracingTaskDecorator();
+
     private final PasswordEncoder encoder;
     private final UserRepository userRepository;
     private final OtpService otpService;
     private final UserProfileService userProfileService;
+    private final FlowSpans flowSpans;
+    private final TransactionMetrics transactionMetrics;
 
     public RegistrationService(UserProfileService userProfileService,
                                OtpService otpService,
                                UserRepository userRepository,
-                               PasswordEncoder encoder)
+                               PasswordEncoder encoder,
+                               FlowSpans flowSpans,
+                               TransactionMetrics transactionMetrics)
     {
         this.userProfileService = userProfileService;
         this.otpService = otpService;
         this.userRepository = userRepository;
         this.encoder = encoder;
+        this.flowSpans = flowSpans;
+        this.transactionMetrics = transactionMetrics;
     }
 
 
-    @Transactional
+    // Lookup and hashing run without a transaction; only the user + profile inserts hold a connection.
+    // OTP dispatch stays with the caller, after this has committed, so a saturated otpExecutor still answers 503.
     public Long registerOrReuse(RegisterRequest request) {
 
 
@@ -44,52 +65,125 @@ public class RegistrationService {
             log.debug("Registration request received");
         }
 
+        String username = request.getUsername().toLowerCase(Locale.ROOT);
+        String email = request.getEmail().toLowerCase(Locale.ROOT);
+        String mobile = MobileNumberUtil.normalize(request.getMobile());
+
+        // The hash runs on its own virtual thread while this thread checks for conflicts.
+        // A conflict or a reusable account cancels it, and the scope never outlives this call.
+        // Cancelling only saves the work if the hash has not started yet (not yet handed to the HASH- pool,
+        // or still queued there). A BCrypt already running is not stopped: it ignores interrupts, finishes
+        // on its pool thread and the result is dropped.
+        FutureTask<String> passwordHash = new FutureTask<>(() -> {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Registration resolved before hashing started");
+            }
+            return flowSpans.observe(FlowStep.HASHING, () -> encoder.encode(request.getPassword()));
+        });
 
-        // IDEMPOTENT BEHAVIOR
-        Optional<User> existingOpt = userRepository.findByEmailIgnoreCase(request.getEmail());
+        String encodedPassword;
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
 
-        if (existingOpt.isPresent()) {
-            User existing = existingOpt.get();
+            scope.execute(TRACING.decorate(passwordHash));
 
-            if (existing.getAccountStatus() == AccountStatus.PENDING_VERIFICATION) {
-                log.info(
-                        "Reusing existing unverified account. userId={}",
-                        existing.getId()
-                );
-                return existing.getId(); // reuse
-            }
+            try {
+                // IDEMPOTENT BEHAVIOR
+                User reusable = checkConflicts(username, email, mobile);
+                if (reusable != null) {
+                    passwordHash.cancel(true);
 
-            log.warn(
-                    "Registration blocked - user already exists. userId={}",
-                    existing.getId()
-            );
-            throw new BadRequestException("User already exists");
-        }
+                    log.info(
+                            "Reusing existing unverified account. userId={}",
+                            reusable.getId()
+                    );
+                    return reusable.getId(); // reuse
+                }
 
+                encodedPassword = join(passwordHash);
+
+            } catch (RuntimeException ex) {
+                passwordHash.cancel(true);
+                throw ex;
+            }
+        }
 
         // CREATE NEW USER
         User user = User.builder()
-                .username(request.getUsername().toLowerCase())
-                .email(request.getEmail().toLowerCase())
-                .mobile(request.getMobile())
-                .passwordHash(encoder.encode(request.getPassword()))
+                .username(username)
+                .email(email)
+                .mobile(mobile)
+                .passwordHash(encodedPassword)
                 .emailVerified(false)
                 .mobileVerified(false)
                 .accountStatus(AccountStatus.PENDING_VERIFICATION)
                 .role(Role.USER)
                 .build();
 
-            User savedUser = saveUserSafely(user);
-            userProfileService.createProfileForUser(savedUser, request);
+        // one short transaction, the profile written right after the user with no lookups in between
+        User savedUser = transactionMetrics.inTransaction(TransactionFlow.REGISTRATION, () -> {
+            User saved = flowSpans.observe(FlowStep.PERSISTENCE, () -> saveUserSafely(user));
+            userProfileService.createProfileForUser(saved, request);
+            return saved;
+        });
+
+        log.info(
+                "User registration completed successfully. userId={}",
+                savedUser.getId()
+        );
+        return savedUser.getId();
+    }
+
+    // null when the registration may go ahead; the pending account when it should be reused
+    private User checkConflicts(String username, String email, String mobile) {
+
+        // on the primary: a replica that has not seen a pending account yet would turn its reuse into
+        // a unique-constraint failure on insert
+        List<User> matches = flowSpans.observe(FlowStep.LOOKUP, () -> PrimaryReads.call(
+                () -> userRepository.findByUsernameOrEmailOrMobile(username, email, mobile)));
+
+        for (User existing : matches) {
+            if (email.equalsIgnoreCase(existing.getEmail())) {
 
-            log.info(
-                    "User registration completed successfully. userId={}",
-                    savedUser.getId()
-            );
-            return savedUser.getId();
+                if (existing.getAccountStatus() == AccountStatus.PENDING_VERIFICATION) {
+                    return existing;
+                }
 
+                log.warn(
+                        "Registration blocked - user already exists. userId={}",
+                        existing.getId()
+                );
+                throw new BadRequestException("User already exists");
+            }
+        }
+
+        for (User existing : matches) {
+            if (username.equalsIgnoreCase(existing.getUsername())) {
+                log.warn("Registration blocked - username taken. userId={}", existing.getId());
+                throw new BadRequestException("Username already exists");
+            }
+            if (mobile.equals(existing.getMobile())) {
+                log.warn("Registration blocked - mobile taken. userId={}", existing.getId());
+                throw new BadRequestException("Mobile number already exists");
+            }
+        }
+        return null;
+    }
+
+    private static String join(FutureTask<String> passwordHash) {
+        try {
+            return passwordHash.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
     }
 
+    // still needed: a concurrent registration can take the username/email/mobile after the check
     private User saveUserSafely(User user) {
         try {
             return userRepository.save(user);
@@ -0,0 +1,14 @@
+package com.backend.cypherflow.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+// Mobile OTP delivery. No SMS gateway is wired yet, messages are only logged (dev mode)
+@Service
+@Slf4j
+public class SmsService {
+
+    public void sendSms(String mobile, String message) {
+        log.warn("DEV MODE SMS mobile={} message={}", mobile, message);
+    }
+}
@@ -0,0 +1,72 @@
+package com.backend.cypherflow.service;
+
+import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.enums.IdentifierType;
+import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.util.MobileNumberUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+// Resolves a free-form admin identifier (username, email or mobile) with a single query
+@Service
+@Slf4j
+public class UserIdentifierResolver {
+
+    private final UserRepository userRepository;
+
+    public UserIdentifierResolver(UserRepository userRepository)
+    {
+        this.userRepository = userRepository;
+    }
+
+    public IdentifierType classify(String identifier) {
+
+        if (identifier.indexOf('@') >= 0) {
+            return IdentifierType.EMAIL;
+        }
+
+        if (MobileNumberUtil.tryNormalize(identifier) == null) {
+            return IdentifierType.USERNAME;
+        }
+
+        // usernames may contain '+', digits and separators too, so anything that parses as a phone
+        // number is looked up both ways and an exact username match still wins
+        return IdentifierType.USERNAME_OR_MOBILE;
+    }
+
+    public Optional<User> resolve(String identifier) {
+
+        if (identifier == null || identifier.isBlank()) {
+            return Optional.empty();
+        }
+
+        String value = identifier.strip();
+        IdentifierType type = classify(value);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Resolving user identifier. type={}", type);
+        }
+
+        return switch (type) {
+            // registration rejects '@' in usernames, but accounts created before that rule may still have one
+            case EMAIL -> userRepository.findByEmailIgnoreCase(value)
+                    .or(() -> userRepository.findByUsernameIgnoreCase(value));
+            case USERNAME -> userRepository.findByUsernameIgnoreCase(value);
+            case USERNAME_OR_MOBILE -> pickUsernameMatchFirst(
+                    userRepository.findByUsernameOrMobile(value, MobileNumberUtil.normalize(value)),
+                    value
+            );
+        };
+    }
+
+    // Keeps the old precedence: an exact username match wins over a mobile match
+    private Optional<User> pickUsernameMatchFirst(List<User> candidates, String username) {
+        return candidates.stream()
+                .filter(user -> username.equalsIgnoreCase(user.getUsername()))
+                .findFirst()
+                .or(() -> candidates.stream().findFirst());
+    }
+}
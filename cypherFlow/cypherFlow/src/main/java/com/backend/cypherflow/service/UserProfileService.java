@@ -1,33 +1,67 @@
 package com.backend.cypherflow.service;
 
+import com.backend.cypherflow.cache.ProfileVersionCache;
 import com.backend.cypherflow.dto.request.RegisterRequest;
 import com.backend.cypherflow.dto.request.UpdateProfileRequest;
 import com.backend.cypherflow.dto.response.UserProfileResponse;
 import com.backend.cypherflow.entity.User;
 import com.backend.cypherflow.entity.UserProfile;
+import com.backend.cypherflow.enums.AvatarVariant;
+import com.backend.cypherflow.enums.TransactionFlow;
+import com.backend.cypherflow.event.AvatarVariantsGeneratedEvent;
 import com.backend.cypherflow.exception.InvalidContentException;
 import com.backend.cypherflow.exception.ResourceNotFoundException;
+import com.backend.cypherflow.metrics.TransactionMetrics;
 import com.backend.cypherflow.repository.UserProfileRepository;
 import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.storage.BlobStore;
+import com.backend.cypherflow.storage.StoredBlob;
+import com.backend.cypherflow.util.ImageUploadValidator;
 import com.backend.cypherflow.util.SecurityUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
 import static com.backend.cypherflow.util.SecurityUtil.getCurrentUserId;
 @Service
 @Slf4j
 public class UserProfileService {
 
+    // values() clones the array on every call
+    private static final AvatarVariant[] AVATAR_VARIANTS = AvatarVariant.values();
+
     private final UserProfileRepository userProfileRepository;
     private final UserRepository userRepository;
-
-    public UserProfileService(UserProfileRepository userProfileRepository, UserRepository userRepository)
+    private final ProfileVersionCache profileVersionCache;
+    private final BlobStore blobStore;
+    private final AvatarVariantService avatarVariantService;
+    private final ImageUploadValidator imageUploadValidator;
+    private final TransactionMetrics transactionMetrics;
+
+    public UserProfileService(UserProfileRepository userProfileRepository,
+                              UserRepository userRepository,
+                              ProfileVersionCache profileVersionCache,
+                              BlobStore blobStore,
+                              AvatarVariantService avatarVariantService,
+                              ImageUploadValidator imageUploadValidator,
+                              TransactionMetrics transactionMetrics)
     {
         this.userProfileRepository=userProfileRepository;
         this.userRepository=userRepository;
+        this.profileVersionCache=profileVersionCache;
+        this.blobStore=blobStore;
+        this.avatarVariantService=avatarVariantService;
+        this.imageUploadValidator=imageUploadValidator;
+        this.transactionMetrics=transactionMetrics;
     }
 
 
@@ -41,6 +75,7 @@ public class UserProfileService {
                 .gender(request.getGender())
                 .dob(request.getDob())
                 .address(request.getAddress())
+                .version(1L)
                 .build();
 
 
@@ -55,6 +90,7 @@ public class UserProfileService {
 
     /* ================= GET PROFILE ================= */
 
+    @Transactional(readOnly = true)
     public UserProfileResponse getProfile() {
 
         //Get current logged-in userId (JWT based)
@@ -69,26 +105,60 @@ public class UserProfileService {
             log.debug("Profile fetched. userId={}", userId);
         }
 
-        return UserProfileResponse.builder()
-                .id(profile.getId())
-                .fullName(profile.getFullName())
-                .bio(profile.getBio())
-                .profilePictureUrl(profile.getProfilePictureUrl())
-                .website(profile.getWebsite())
-                .location(profile.getAddress())
-                .gender(profile.getGender())
-                .dob(profile.getDob())
-                .build();
+        profileVersionCache.put(userId, currentVersion(profile));
+
+        return toResponse(profile);
+    }
+
+    /* ================= CONDITIONAL GET ================= */
+
+    // Current ETag if the client's If-None-Match still matches the current version, else null.
+    // The version comes from the node-local cache, or from the version column when the cache is
+    // disabled (multi-node); the profile itself is never loaded here.
+    public String findUnchangedProfileETag(Long userId, String ifNoneMatch) {
+
+        if (ifNoneMatch == null) {
+            return null;
+        }
+
+        Long currentVersion = profileVersionCache.isEnabled()
+                ? profileVersionCache.get(userId)
+                : userProfileRepository.findVersionByUserId(userId).orElse(null);
+
+        if (currentVersion == null) {
+            return null;
+        }
+
+        String current = profileETag(userId, currentVersion);
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(current)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    public static String profileETag(Long userId, Long version) {
+        return "\"" + userId + "-" + version + "\"";
     }
 
     /* ================= UPDATE PROFILE ================= */
 
+    // Load and update in one persistence context so the cached profile is replaced on commit.
+    // The row is locked, concurrent writers bump the version one after the other.
+    @Transactional
     public UserProfileResponse updateProfile(UpdateProfileRequest request) {
 
         Long userId = SecurityUtil.getCurrentUserId();
 
         UserProfile profile = userProfileRepository
-                .findByUserId(userId)
+                .findByUserIdForUpdate(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
 
         if (log.isDebugEnabled()) {
@@ -114,79 +184,164 @@ public class UserProfileService {
         if (request.getDob() != null)
             profile.setDob(request.getDob());
 
+        bumpVersion(userId, profile);
         userProfileRepository.save(profile);
         log.info("Profile updated successfully. userId={}", userId);
 
         // return response directly
-        return UserProfileResponse.builder()
-                .id(profile.getId())
-                .fullName(profile.getFullName())
-                .bio(profile.getBio())
-                .website(profile.getWebsite())
-                .location(profile.getAddress())
-                .gender(profile.getGender())
-                .dob(profile.getDob())
-                .profilePictureUrl(profile.getProfilePictureUrl())
-                .build();
-
-
+        return toResponse(profile);
     }
 
 
     /* ================= UPLOAD PROFILE PICTURE ================= */
 
+    // The slow blob write runs without a transaction; only the picture fields are written afterwards,
+    // to a freshly locked row, so a profile update committed during the upload is not overwritten
     public String uploadProfilePicture(MultipartFile file) {
 
         Long userId = SecurityUtil.getCurrentUserId();
 
-        UserProfile profile = userProfileRepository
+        // fail before streaming the upload (second-level cache hit)
+        userProfileRepository
                 .findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
 
-        //  Folder path
-        String uploadDir = "C:\\Users\\delll\\Pictures";
+        // Content type and dimensions come from the image header, never from the client
+        StoredBlob blob;
+        String contentType;
+
+        try (InputStream content = file.getInputStream()) {
+            ImageUploadValidator.ValidatedImage image = imageUploadValidator.validate(content);
+            contentType = image.contentType();
 
-        if (file.getSize() > 10 * 1024 * 1024) {
-            log.warn("Profile picture upload rejected - file too large. userId={}", userId);
-            throw new MaxUploadSizeExceededException(10);
+            // Streamed into the store and named by content hash, re-uploads of the same image are deduplicated
+            blob = blobStore.put(image.content(), contentType);
+        }
+        catch (InvalidContentException | MaxUploadSizeExceededException e)
+        {
+            log.warn("Profile picture upload rejected - {}. userId={}", e.getMessage(), userId);
+            throw e;
         }
+        catch (IOException e)
+        {
+            log.error("Profile picture upload failed. userId={}", userId, e);
+            throw new RuntimeException("Profile picture upload failed");
+        }
+
+        // Save blob reference in DB, clients fetch it through ProfilePictureController
+        String pictureUrl = ProfilePictureService.pictureUrl(blob.getKey(), contentType);
+
+        transactionMetrics.inTransaction(TransactionFlow.PROFILE_PICTURE, () -> {
+            UserProfile profile = userProfileRepository
+                    .findByUserIdForUpdate(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
+
+            profile.setProfilePictureKey(blob.getKey());
+            profile.setProfilePictureUrl(pictureUrl);
+            setVariantKeys(profile, Map.of());
+            bumpVersion(userId, profile);
+            userProfileRepository.save(profile);
+        });
+
+        log.info(
+                "Profile picture uploaded successfully. userId={}, deduplicated={}",
+                userId,
+                blob.isDeduplicated()
+        );
 
-        String contentType = file.getContentType();
-        if (contentType == null || !contentType.startsWith("image/")) {
-            log.warn("Profile picture upload rejected - invalid content type. userId={}", userId);
-            throw new InvalidContentException("Only image files are allowed");
+        // Variants are produced in the background, the upload response does not wait for them
+        try {
+            avatarVariantService.generateVariantsAsync(userId, blob.getKey());
+        } catch (TaskRejectedException ex) {
+            log.warn("Avatar variant generation rejected, queue full. userId={}", userId);
         }
 
+        return pictureUrl;
+    }
+
+    /* ================= AVATAR VARIANTS ================= */
 
-        // Create folder if not exists
+    @EventListener
+    @Transactional
+    public void onAvatarVariantsGenerated(AvatarVariantsGeneratedEvent event) {
 
-        File dir = new File(uploadDir);
-        if (!dir.exists()) {
-            dir.mkdirs();
+        Long userId = event.getUserId();
+        UserProfile profile = userProfileRepository.findByUserIdForUpdate(userId).orElse(null);
+
+        // Picture was replaced (or profile removed) while the variants were being generated
+        if (profile == null || !event.getOriginalKey().equals(profile.getProfilePictureKey())) {
+            if (log.isDebugEnabled()) {
+                log.debug("Stale avatar variants discarded. userId={}", userId);
+            }
+            return;
         }
 
-        //  Create unique file name
-        String fileName = userId + "_" + file.getOriginalFilename();
+        setVariantKeys(profile, event.getVariantKeys());
+        bumpVersion(userId, profile);
+        userProfileRepository.save(profile);
+        log.info("Avatar variants stored. userId={}", userId);
+    }
 
-        //  Save file
-        File destination = new File(uploadDir + fileName);
+    /* ================= HELPERS ================= */
 
-        try {
-            file.transferTo(destination);
+    // package-private for the allocation budget test
+    UserProfileResponse toResponse(UserProfile profile) {
+        return UserProfileResponse.builder()
+                .id(profile.getId())
+                .fullName(profile.getFullName())
+                .bio(profile.getBio())
+                .profilePictureUrl(profile.getProfilePictureUrl())
+                .profilePictureVariants(variantUrls(profile))
+                .website(profile.getWebsite())
+                .location(profile.getAddress())
+                .gender(profile.getGender())
+                .dob(profile.getDob())
+                .version(currentVersion(profile))
+                .build();
+    }
+
+    // Profiles created before versioning was added have no version yet
+    private static Long currentVersion(UserProfile profile) {
+        return profile.getVersion() == null ? 0L : profile.getVersion();
+    }
+
+    private static Map<Integer, String> variantUrls(UserProfile profile) {
+
+        // no picture, no variants: skip the map allocation on every profile read
+        if (profile.getProfilePictureKey() == null) {
+            return Collections.emptyMap();
         }
-        catch (IOException e)
-        {
-            log.error("Profile picture upload failed. userId={}", userId, e);
-            throw new RuntimeException("Profile picture upload failed");
+
+        Map<Integer, String> urls = new TreeMap<>();
+
+        for (AvatarVariant variant : AVATAR_VARIANTS) {
+            String key = variantKey(profile, variant);
+            if (key != null) {
+                urls.put(variant.getSize(), ProfilePictureService.pictureUrl(key, MediaType.IMAGE_JPEG_VALUE));
+            }
         }
+        return urls;
+    }
 
-        // Save file path in DB
-        profile.setProfilePictureUrl(destination.getAbsolutePath());
-        userProfileRepository.save(profile);
-        log.info("Profile picture uploaded successfully. userId={}", userId);
+    private static String variantKey(UserProfile profile, AvatarVariant variant) {
+        return switch (variant) {
+            case SMALL -> profile.getAvatarSmallKey();
+            case MEDIUM -> profile.getAvatarMediumKey();
+            case LARGE -> profile.getAvatarLargeKey();
+        };
+    }
+
+    private static void setVariantKeys(UserProfile profile, Map<AvatarVariant, String> keys) {
+        profile.setAvatarSmallKey(keys.get(AvatarVariant.SMALL));
+        profile.setAvatarMediumKey(keys.get(AvatarVariant.MEDIUM));
+        profile.setAvatarLargeKey(keys.get(AvatarVariant.LARGE));
+    }
 
-        // Return path
-        return destination.getAbsolutePath();
+    // Callers hold the row lock (findByUserIdForUpdate), so no two writers read the same version
+    private void bumpVersion(Long userId, UserProfile profile) {
+        long next = currentVersion(profile) + 1;
+        profile.setVersion(next);
+        profileVersionCache.putAfterCommit(userId, next);
     }
 
 
@@ -0,0 +1,82 @@
+package com.backend.cypherflow.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Streams an upload to a temp file while hashing it, so content is never held on the heap
+final class BlobSpool implements AutoCloseable {
+
+    private static final long TRANSFER_CHUNK = 64 * 1024;
+
+    private final Path file;
+    private final String sha256;
+    private final long size;
+
+    private BlobSpool(Path file, String sha256, long size) {
+        this.file = file;
+        this.sha256 = sha256;
+        this.size = size;
+    }
+
+    static BlobSpool spool(InputStream content, Path tempDir) throws IOException {
+
+        Files.createDirectories(tempDir);
+        Path tmp = Files.createTempFile(tempDir, "upload-", ".part");
+
+        MessageDigest digest = newSha256();
+
+        try (ReadableByteChannel in = Channels.newChannel(new DigestInputStream(content, digest));
+             FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+
+            long position = 0;
+            long transferred;
+
+            while ((transferred = out.transferFrom(in, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+            }
+
+            out.force(true);
+            return new BlobSpool(tmp, HexFormat.of().formatHex(digest.digest()), position);
+
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    String sha256() {
+        return sha256;
+    }
+
+    long size() {
+        return size;
+    }
+
+    // Removes the temp file unless it has already been moved into place
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
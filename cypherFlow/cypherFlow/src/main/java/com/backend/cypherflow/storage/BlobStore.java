@@ -0,0 +1,21 @@
+package com.backend.cypherflow.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+// Content-addressed binary storage: the key of a stored blob is the SHA-256 of its bytes
+public interface BlobStore {
+
+    // Streams the content into the store, identical content is stored only once
+    StoredBlob put(InputStream content, String contentType) throws IOException;
+
+    // File-backed stores return a file Resource so it can be served without copying through the heap
+    Optional<Resource> open(String key);
+
+    boolean exists(String key);
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,90 @@
+package com.backend.cypherflow.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/*
+ * Stores blobs under <root>/<2 hex chars>/<sha256>. Uploads are spooled into <root>/.tmp
+ * (same file system) and then atomically moved, so readers never see a partial file.
+ */
+@Slf4j
+public class LocalFileSystemBlobStore implements BlobStore {
+
+    private final Path root;
+    private final Path tempDir;
+
+    public LocalFileSystemBlobStore(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.tempDir = this.root.resolve(".tmp");
+        Files.createDirectories(this.tempDir);
+    }
+
+    @Override
+    public StoredBlob put(InputStream content, String contentType) throws IOException {
+
+        try (BlobSpool spool = BlobSpool.spool(content, tempDir)) {
+
+            Path target = pathOf(spool.sha256());
+
+            if (Files.exists(target)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Blob already stored, upload deduplicated. key={}", spool.sha256());
+                }
+                return stored(spool, contentType, target, true);
+            }
+
+            Files.createDirectories(target.getParent());
+            moveIntoPlace(spool.file(), target);
+
+            return stored(spool, contentType, target, false);
+        }
+    }
+
+    @Override
+    public Optional<Resource> open(String key) {
+        Path path = pathOf(key);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(pathOf(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(pathOf(key));
+    }
+
+    Path pathOf(String key) {
+
+        if (!key.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid blob key");
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // a concurrent upload of the same content won the race, the content is identical
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private StoredBlob stored(BlobSpool spool, String contentType, Path target, boolean deduplicated) {
+        return new StoredBlob(spool.sha256(), spool.size(), contentType, target.toUri().toString(), deduplicated);
+    }
+}
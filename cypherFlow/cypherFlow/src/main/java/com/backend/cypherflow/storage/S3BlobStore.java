@@ -0,0 +1,139 @@
+package com.backend.cypherflow.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/*
+ * S3-compatible store (AWS S3, MinIO, LocalStack...). The SHA-256 key is only known once the
+ * whole upload has been read, so the content is spooled to a local temp file first and then
+ * uploaded from disk. A PUT to an object key is atomic in S3, readers never see partial blobs.
+ */
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String prefix;
+    private final Path tempDir;
+
+    public S3BlobStore(S3Client s3, String bucket, String prefix, Path tempDir) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.prefix = prefix == null ? "" : prefix;
+        this.tempDir = tempDir;
+    }
+
+    @Override
+    public StoredBlob put(InputStream content, String contentType) throws IOException {
+
+        try (BlobSpool spool = BlobSpool.spool(content, tempDir)) {
+
+            String objectKey = objectKey(spool.sha256());
+
+            if (exists(spool.sha256())) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Blob already stored, upload deduplicated. key={}", spool.sha256());
+                }
+                return stored(spool, contentType, objectKey, true);
+            }
+
+            s3.putObject(
+                    PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(objectKey)
+                            .contentType(contentType)
+                            .contentLength(spool.size())
+                            .build(),
+                    RequestBody.fromFile(spool.file())
+            );
+
+            return stored(spool, contentType, objectKey, false);
+        }
+    }
+
+    @Override
+    public Optional<Resource> open(String key) {
+        try {
+            HeadObjectResponse head = s3.headObject(
+                    HeadObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+            return Optional.of(new S3ObjectResource(objectKey(key), head.contentLength()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+    }
+
+    String objectKey(String key) {
+
+        if (!key.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid blob key");
+        }
+        return prefix + key.substring(0, 2) + "/" + key;
+    }
+
+    // Streams the object body on demand, nothing is buffered up front
+    private class S3ObjectResource extends AbstractResource {
+
+        private final String objectKey;
+        private final long contentLength;
+
+        S3ObjectResource(String objectKey, long contentLength) {
+            this.objectKey = objectKey;
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return s3.getObject(GetObjectRequest.builder().bucket(bucket).key(objectKey).build());
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        // the default implementation would open (and download) the object to check existence
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getDescription() {
+            return "S3 object [" + bucket + "/" + objectKey + "]";
+        }
+    }
+
+    private StoredBlob stored(BlobSpool spool, String contentType, String objectKey, boolean deduplicated) {
+        return new StoredBlob(spool.sha256(), spool.size(), contentType,
+                "s3://" + bucket + "/" + objectKey, deduplicated);
+    }
+}
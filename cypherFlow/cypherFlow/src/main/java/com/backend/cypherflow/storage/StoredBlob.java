@@ -0,0 +1,15 @@
+package com.backend.cypherflow.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StoredBlob {
+
+    private final String key;          // hex SHA-256 of the content
+    private final long size;
+    private final String contentType;
+    private final String location;     // store-specific URI, never exposed to clients
+    private final boolean deduplicated; // true if identical content was already stored
+}
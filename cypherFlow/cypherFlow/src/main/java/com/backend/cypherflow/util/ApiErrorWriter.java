@@ -0,0 +1,27 @@
+package com.backend.cypherflow.util;
+
+import com.backend.cypherflow.enums.ErrorCode;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+// Writes an ApiError-shaped body from servlet filters, which run before Spring MVC and its message converters
+public final class ApiErrorWriter {
+
+    private ApiErrorWriter() {
+    }
+
+    // message must not need JSON escaping, callers pass constants
+    public static void write(HttpServletResponse response, int status, ErrorCode error, String message)
+            throws IOException {
+
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":" + status
+                + ",\"error\":\"" + error
+                + "\",\"message\":\"" + message
+                + "\",\"timestamp\":\"" + LocalDateTime.now() + "\"}");
+    }
+}
@@ -0,0 +1,192 @@
+package com.backend.cypherflow.util;
+
+import com.backend.cypherflow.exception.InvalidContentException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+// Checks an image upload from its first bytes only; the content itself is then streamed through unbuffered
+@Component
+public class ImageUploadValidator {
+
+    // Enough for JPEG APPn segments (EXIF, ICC) that may precede the frame header
+    private static final int HEADER_LIMIT = 256 * 1024;
+    private static final int SIGNATURE_LENGTH = 8;
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @Value("${app.upload.max-image-bytes:10485760}")
+    private long maxBytes;
+
+    @Value("${app.upload.max-image-width:4096}")
+    private int maxWidth;
+
+    @Value("${app.upload.max-image-height:4096}")
+    private int maxHeight;
+
+    public record ValidatedImage(InputStream content, String contentType, int width, int height) {}
+
+    // Returned stream replays the header and aborts with MaxUploadSizeExceededException past the size limit
+    public ValidatedImage validate(InputStream raw) throws IOException {
+
+        BufferedInputStream in = new BufferedInputStream(raw, BUFFER_SIZE);
+        in.mark(HEADER_LIMIT);
+
+        String contentType = sniffContentType(in.readNBytes(SIGNATURE_LENGTH));
+        if (contentType == null) {
+            throw new InvalidContentException("Only JPEG, PNG or GIF images are allowed");
+        }
+
+        in.reset();
+        int[] dimensions = readDimensions(in);
+        in.reset();
+
+        if (dimensions[0] > maxWidth || dimensions[1] > maxHeight) {
+            throw new InvalidContentException(
+                    "Image must be at most " + maxWidth + "x" + maxHeight + " pixels"
+            );
+        }
+
+        return new ValidatedImage(new SizeLimitedInputStream(in, maxBytes), contentType, dimensions[0], dimensions[1]);
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static String sniffContentType(byte[] head) {
+
+        if (head.length >= 3
+                && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (head.length >= PNG_SIGNATURE.length && startsWith(head, PNG_SIGNATURE)) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (head.length >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8'
+                && (head[4] == '7' || head[4] == '9') && head[5] == 'a') {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Reads width/height from the header without decoding pixels, never past HEADER_LIMIT
+    private static int[] readDimensions(InputStream in) throws IOException {
+
+        InputStream window = new HeaderWindow(in, HEADER_LIMIT);
+
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(window)) {
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                throw new InvalidContentException("Unreadable image");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                return new int[]{reader.getWidth(0), reader.getHeight(0)};
+            } catch (IOException | RuntimeException e) {
+                throw new InvalidContentException("Unreadable image header");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Caps how far the header parser may read and keeps it from closing the underlying stream
+    private static final class HeaderWindow extends FilterInputStream {
+
+        private long remaining;
+
+        HeaderWindow(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // the upload stream is still needed after the header check
+        }
+    }
+
+    // Fails as soon as the limit is crossed instead of after the whole upload has been consumed
+    private static final class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long count;
+
+        SizeLimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                checkLimit(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                checkLimit(n);
+            }
+            return n;
+        }
+
+        private void checkLimit(int n) {
+            count += n;
+            if (count > maxBytes) {
+                throw new MaxUploadSizeExceededException(maxBytes);
+            }
+        }
+    }
+}
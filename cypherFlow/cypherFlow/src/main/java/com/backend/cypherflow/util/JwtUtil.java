@@ -2,6 +2,7 @@ package com.backend.cypherflow.util;
 
 import com.backend.cypherflow.enums.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -15,11 +16,20 @@ import java.util.Date;
 public class JwtUtil {
 
 
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLE_CLAIM = "role";
+
     private final SecretKey key;
 
+    // Immutable and thread-safe, built once instead of per parse
+    private final JwtParser parser;
+
     public JwtUtil(@Value("${jwt.secret}") String base64Secret) {
         byte[] keyBytes = Decoders.BASE64.decode(base64Secret);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     private static final long EXPIRY = 60 * 60 * 1000; // 1 hour
@@ -27,32 +37,35 @@ public class JwtUtil {
     public String generateToken(Long userId, String username, Role role) {
         return Jwts.builder()
                 .setSubject(username)
-                .claim("userId", userId)
-                .claim("role", role.name())
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLE_CLAIM, role.name())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRY))
                 .signWith(key)
                 .compact();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+    // Verifies signature and expiry; callers needing several claims should parse once with this
+    public Claims parseClaims(String token) {
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
+    private Claims extractAllClaims(String token) {
+        return parseClaims(token);
+    }
+
     public String extractUsername(String token) {
         return extractAllClaims(token).getSubject();
     }
 
     public Long extractUserId(String token) {
-        return extractAllClaims(token).get("userId", Long.class);
+        return extractAllClaims(token).get(USER_ID_CLAIM, Long.class);
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return extractAllClaims(token).get(ROLE_CLAIM, String.class);
     }
 
     public boolean isTokenExpired(String token) {
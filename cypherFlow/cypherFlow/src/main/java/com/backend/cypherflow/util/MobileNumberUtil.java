@@ -0,0 +1,84 @@
+package com.backend.cypherflow.util;
+
+import com.backend.cypherflow.exception.BadRequestException;
+
+public final class MobileNumberUtil {
+
+    // Registration only accepts Indian numbers (see RegisterRequest), so bare
+    // 10-digit numbers are assumed to belong to this country code.
+    private static final String DEFAULT_COUNTRY_CODE = "91";
+    private static final int NATIONAL_NUMBER_LENGTH = 10;
+
+    // E.164 allows at most 15 digits after the leading '+'
+    private static final int MIN_E164_DIGITS = 8;
+    private static final int MAX_E164_DIGITS = 15;
+
+    private MobileNumberUtil() {} // prevents object creation
+
+    // Canonical E.164 form (e.g. +919876543210), used for every write and lookup
+    public static String normalize(String raw) {
+
+        String normalized = tryNormalize(raw);
+
+        if (normalized == null) {
+            throw new BadRequestException("Invalid mobile number");
+        }
+        return normalized;
+    }
+
+    // Returns null when the value cannot be a mobile number
+    public static String tryNormalize(String raw) {
+
+        if (raw == null) {
+            return null;
+        }
+
+        String value = raw.strip();
+        boolean international = false;
+
+        if (value.startsWith("+")) {
+            international = true;
+            value = value.substring(1);
+        } else if (value.startsWith("00")) {
+            international = true;
+            value = value.substring(2);
+        }
+
+        StringBuilder digits = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c != ' ' && c != '-' && c != '.' && c != '(' && c != ')') {
+                return null;
+            }
+        }
+
+        if (international) {
+            return isValidE164Length(digits.length()) ? "+" + digits : null;
+        }
+
+        // national format with trunk prefix, e.g. 09876543210
+        if (digits.length() == NATIONAL_NUMBER_LENGTH + 1 && digits.charAt(0) == '0') {
+            digits.deleteCharAt(0);
+        }
+
+        if (digits.length() == NATIONAL_NUMBER_LENGTH) {
+            return "+" + DEFAULT_COUNTRY_CODE + digits;
+        }
+
+        // country code without '+', e.g. 919876543210
+        if (digits.length() == DEFAULT_COUNTRY_CODE.length() + NATIONAL_NUMBER_LENGTH
+                && digits.indexOf(DEFAULT_COUNTRY_CODE) == 0) {
+            return "+" + digits;
+        }
+
+        return null;
+    }
+
+    private static boolean isValidE164Length(int length) {
+        return length >= MIN_E164_DIGITS && length <= MAX_E164_DIGITS;
+    }
+}
@@ -27,6 +27,20 @@ public final class SecurityUtil {
         throw new RuntimeException("Invalid authentication principal");
     }
 
+    // Non-throwing variant for infrastructure code that also runs for anonymous requests
+    public static Long findCurrentUserId() {
+
+        Authentication authentication =
+                SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null
+                && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getUserId();
+        }
+        return null;
+    }
+
 
 }
 
@@ -0,0 +1,176 @@
+package com.backend.cypherflow;
+
+import com.backend.cypherflow.entity.PasswordResetToken;
+import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.enums.AccountStatus;
+import com.backend.cypherflow.enums.Role;
+import com.backend.cypherflow.repository.PasswordResetTokenRepository;
+import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.util.TokenUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * Registration and reset-password hash outside their transactions. This checks that no pooled
+ * connection is checked out while BCrypt runs: with open-in-view the connection of the first query
+ * would stay held until the response is written, which cypherflow.tx.hold cannot see.
+ * open-in-view is deliberately not set here, so the run uses the application's own defaults
+ * (cypherflow-defaults.properties) rather than a test-only override.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:connection-hold;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jwt.secret=Y3lwaGVyZmxvdy1jb25uZWN0aW9uLWhvbGQtdGVzdC1zZWNyZXQ=",
+        "app.frontend.reset-password-url=http://localhost/reset-password",
+        "app.storage.local.root=${java.io.tmpdir}/cypherflow-connection-hold",
+        "management.tracing.sampling.probability=0"
+})
+@AutoConfigureMockMvc
+class ConnectionHoldTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository tokenRepository;
+
+    @MockitoSpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    private final List<Integer> activeWhileHashing = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+
+        doAnswer(invocation -> {
+            activeWhileHashing.add(settledActiveConnections(pool));
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).encode(any());
+    }
+
+    // ---------- TC-01: REGISTER ----------
+
+    @Test
+    void register_shouldHoldNoConnection_whileHashing() throws Exception {
+
+        int n = SEQUENCE.incrementAndGet();
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"firstName":"Hold","lastName":"Test","username":"hold%d",
+                                 "password":"Password@123","email":"hold%d@example.com",
+                                 "mobile":"98765%05d","gender":"OTHER","dob":"1990-01-01"}
+                                """.formatted(n, n, n)))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of(0), activeWhileHashing);
+    }
+
+    // ---------- TC-02: RESET PASSWORD ----------
+
+    @Test
+    void resetPassword_shouldHoldNoConnection_whileHashing() throws Exception {
+
+        int n = SEQUENCE.incrementAndGet();
+        LocalDateTime now = LocalDateTime.now();
+
+        User user = userRepository.save(User.builder()
+                .username("reset" + n)
+                .email("reset" + n + "@example.com")
+                .passwordHash("not-a-real-hash")
+                .emailVerified(true)
+                .accountStatus(AccountStatus.ACTIVE)
+                .role(Role.USER)
+                .build());
+
+        String rawToken = TokenUtil.generateToken();
+
+        tokenRepository.save(PasswordResetToken.builder()
+                .user(user)
+                .tokenHash(TokenUtil.hashToken(rawToken))
+                .expiresAt(now.plusMinutes(30))
+                .requestCount(1)
+                .firstRequestAt(now)
+                .lastRequestAt(now)
+                .createdAt(now)
+                .build());
+
+        mockMvc.perform(post("/api/auth/reset-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"token":"%s","newPassword":"NewPassword@123"}
+                                """.formatted(rawToken)))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of(0), activeWhileHashing);
+    }
+
+    // ---------- TC-03: DEFAULT CONFIG HAS OPEN-IN-VIEW OFF ----------
+
+    @Test
+    void defaultConfig_shouldNotRegisterOpenInView() {
+        assertTrue(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    /* ================= HELPERS ================= */
+
+    // Registration hashes while its conflict lookup is still running, so a connection in use at the
+    // start of the hash is fine as long as it is returned; one held for the request never is.
+    private static int settledActiveConnections(HikariPoolMXBean pool) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        int active = pool.getActiveConnections();
+
+        while (active > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            active = pool.getActiveConnections();
+        }
+        return active;
+    }
+}
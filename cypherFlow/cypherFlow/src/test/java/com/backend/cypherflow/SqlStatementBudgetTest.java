@@ -0,0 +1,240 @@
+package com.backend.cypherflow;
+
+import com.backend.cypherflow.entity.Otp;
+import com.backend.cypherflow.entity.PasswordResetToken;
+import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.entity.UserProfile;
+import com.backend.cypherflow.enums.AccountStatus;
+import com.backend.cypherflow.enums.OtpReason;
+import com.backend.cypherflow.enums.OtpStatus;
+import com.backend.cypherflow.enums.OtpType;
+import com.backend.cypherflow.enums.Role;
+import com.backend.cypherflow.repository.OtpRepository;
+import com.backend.cypherflow.repository.PasswordResetTokenRepository;
+import com.backend.cypherflow.repository.UserProfileRepository;
+import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.util.JwtUtil;
+import com.backend.cypherflow.util.TokenUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.backend.cypherflow.config.SqlStatementCountFilter.STATEMENT_COUNT_HEADER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * Fails the build when an endpoint's SQL statement count changes.
+ * Each test uses a fresh user, so the counts are for cold identity caches; the user itself is in the
+ * second-level cache from the insert in setUp. Budgets must match exactly, so a budget that is looser
+ * than what the endpoint really issues fails too: change a budget only together with the change that
+ * moves the count, and only to the value the test reports.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "jwt.secret=Y3lwaGVyZmxvdy1zcWwtYnVkZ2V0LXRlc3Qtc2VjcmV0LWtleQ==",
+        "app.frontend.reset-password-url=http://localhost/reset-password",
+        "app.storage.local.root=${java.io.tmpdir}/cypherflow-sql-budget",
+        "management.tracing.sampling.probability=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("diagnostics")
+class SqlStatementBudgetTest {
+
+    private static final int LOGIN_BUDGET = 1;           // user lookup; the unchanged user merges from L2 without an update
+    private static final int SEND_OTP_BUDGET = 1;        // identity lookup, dispatch runs on otpExecutor
+    private static final int VERIFY_OTP_BUDGET = 3;      // user, latest OTP, OTP status update
+    private static final int FORGOT_PASSWORD_BUDGET = 3; // user, existing token, new token
+    private static final int RESET_PASSWORD_BUDGET = 4;  // check tx: token + user (one join); write tx: token claim,
+                                                         // alert token, password update (user from L2)
+    private static final int PROFILE_ME_BUDGET = 1;      // profile
+
+    private static final String PASSWORD = "Password@123";
+    private static final String OTP = "123456";
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private OtpRepository otpRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository tokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+
+        int n = SEQUENCE.incrementAndGet();
+
+        user = userRepository.save(User.builder()
+                .username("budget" + n)
+                .email("budget" + n + "@example.com")
+                .passwordHash(passwordEncoder.encode(PASSWORD))
+                .emailVerified(true)
+                .accountStatus(AccountStatus.ACTIVE)
+                .role(Role.USER)
+                .build());
+
+        userProfileRepository.save(UserProfile.builder()
+                .user(user)
+                .fullName("Budget User")
+                .version(1L)
+                .build());
+    }
+
+    // ---------- TC-01: LOGIN ----------
+
+    @Test
+    void login_shouldStayWithinStatementBudget() throws Exception {
+
+        assertWithinBudget(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username":"%s","password":"%s"}
+                                """.formatted(user.getUsername(), PASSWORD)),
+                LOGIN_BUDGET);
+    }
+
+    // ---------- TC-02: SEND OTP ----------
+
+    @Test
+    void sendOtp_shouldStayWithinStatementBudget() throws Exception {
+
+        assertWithinBudget(post("/api/auth/send-otp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username":"%s","type":"EMAIL","reason":"LOGIN"}
+                                """.formatted(user.getUsername())),
+                SEND_OTP_BUDGET);
+    }
+
+    // ---------- TC-03: VERIFY OTP ----------
+
+    @Test
+    void verifyOtp_shouldStayWithinStatementBudget() throws Exception {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        otpRepository.save(Otp.builder()
+                .userId(user.getId())
+                .otpHash(BCrypt.hashpw(OTP, BCrypt.gensalt()))
+                .otpType(OtpType.EMAIL)
+                .otpReason(OtpReason.LOGIN)
+                .status(OtpStatus.GENERATED)
+                .expiresAt(now.plusMinutes(10))
+                .lastSentAt(now)
+                .build());
+
+        assertWithinBudget(post("/api/auth/verify-otp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username":"%s","otp":"%s","otpType":"EMAIL","otpReason":"LOGIN"}
+                                """.formatted(user.getUsername(), OTP)),
+                VERIFY_OTP_BUDGET);
+    }
+
+    // ---------- TC-04: FORGOT PASSWORD ----------
+
+    @Test
+    void forgotPassword_shouldStayWithinStatementBudget() throws Exception {
+
+        assertWithinBudget(post("/api/auth/forgot-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email":"%s"}
+                                """.formatted(user.getEmail())),
+                FORGOT_PASSWORD_BUDGET);
+    }
+
+    // ---------- TC-05: RESET PASSWORD ----------
+
+    @Test
+    void resetPassword_shouldStayWithinStatementBudget() throws Exception {
+
+        String rawToken = TokenUtil.generateToken();
+        LocalDateTime now = LocalDateTime.now();
+
+        tokenRepository.save(PasswordResetToken.builder()
+                .user(user)
+                .tokenHash(TokenUtil.hashToken(rawToken))
+                .expiresAt(now.plusMinutes(30))
+                .requestCount(1)
+                .firstRequestAt(now)
+                .lastRequestAt(now)
+                .createdAt(now)
+                .build());
+
+        assertWithinBudget(post("/api/auth/reset-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"token":"%s","newPassword":"NewPassword@123"}
+                                """.formatted(rawToken)),
+                RESET_PASSWORD_BUDGET);
+    }
+
+    // ---------- TC-06: PROFILE ME ----------
+
+    @Test
+    void profileMe_shouldStayWithinStatementBudget() throws Exception {
+
+        String jwt = jwtUtil.generateToken(user.getId(), user.getUsername(), Role.USER);
+
+        assertWithinBudget(get("/api/v1/profile/me")
+                        .header("Authorization", "Bearer " + jwt),
+                PROFILE_ME_BUDGET);
+    }
+
+    /* ================= HELPERS ================= */
+
+    private void assertWithinBudget(MockHttpServletRequestBuilder request, int budget) throws Exception {
+
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String header = result.getResponse().getHeader(STATEMENT_COUNT_HEADER);
+        assertNotNull(header, STATEMENT_COUNT_HEADER + " header missing");
+
+        int statements = Integer.parseInt(header);
+        assertEquals(budget, statements,
+                () -> "Expected " + budget + " SQL statements but got " + statements
+                        + "; re-baseline the budget only with the change that moved the count");
+    }
+}
@@ -0,0 +1,89 @@
+package com.backend.cypherflow.cache;
+
+import com.backend.cypherflow.cache.IdempotencyStore.Claim;
+import com.backend.cypherflow.cache.IdempotencyStore.Outcome;
+import com.backend.cypherflow.cache.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private static final String KEY = "/api/auth/send-otp:key-1";
+    private static final StoredResponse OK =
+            new StoredResponse(200, "text/plain", "OTP sent successfully".getBytes(StandardCharsets.UTF_8));
+
+    private final IdempotencyStore store = new IdempotencyStore(100, 60, 2000);
+
+    // ---------- TC-01: FIRST REQUEST EXECUTES, RETRY REPLAYS ----------
+
+    @Test
+    void claim_shouldReplayStoredResponse_whenSameKeyAndHash() {
+
+        Claim first = store.claim(KEY, "hash");
+        assertEquals(Outcome.EXECUTE, first.outcome());
+
+        store.complete(first.entry(), KEY, OK);
+
+        Claim retry = store.claim(KEY, "hash");
+        assertEquals(Outcome.REPLAY, retry.outcome());
+        assertSame(OK, retry.response());
+    }
+
+    // ---------- TC-02: KEY REUSED WITH ANOTHER BODY ----------
+
+    @Test
+    void claim_shouldReportMismatch_whenHashDiffers() {
+
+        Claim first = store.claim(KEY, "hash");
+        store.complete(first.entry(), KEY, OK);
+
+        assertEquals(Outcome.MISMATCH, store.claim(KEY, "other-hash").outcome());
+    }
+
+    // ---------- TC-03: NOT REPLAYABLE RELEASES THE KEY ----------
+
+    @Test
+    void claim_shouldExecuteAgain_whenFirstResponseNotStored() {
+
+        Claim first = store.claim(KEY, "hash");
+        store.complete(first.entry(), KEY, null);
+
+        assertEquals(Outcome.EXECUTE, store.claim(KEY, "hash").outcome());
+    }
+
+    // ---------- TC-04: CONCURRENT DUPLICATE IS COALESCED ----------
+
+    @Test
+    void claim_shouldWaitForInFlightRequest_whenDuplicateArrives() throws Exception {
+
+        Claim first = store.claim(KEY, "hash");
+
+        CompletableFuture<Claim> duplicate = CompletableFuture.supplyAsync(() -> store.claim(KEY, "hash"));
+
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+
+        store.complete(first.entry(), KEY, OK);
+
+        Claim coalesced = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(Outcome.REPLAY, coalesced.outcome());
+        assertSame(OK, coalesced.response());
+    }
+
+    // ---------- TC-05: IN-FLIGHT TOO LONG ----------
+
+    @Test
+    void claim_shouldReportInProgress_whenWaitTimesOut() {
+
+        IdempotencyStore shortWait = new IdempotencyStore(100, 60, 50);
+
+        shortWait.claim(KEY, "hash");
+
+        assertEquals(Outcome.IN_PROGRESS, shortWait.claim(KEY, "hash").outcome());
+    }
+}
@@ -0,0 +1,77 @@
+package com.backend.cypherflow.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileVersionCacheTest {
+
+    private final ProfileVersionCache cache = new ProfileVersionCache(true, 100, 60);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ---------- TC-01: STALE READ DOES NOT OVERWRITE A NEWER VERSION ----------
+
+    @Test
+    void put_shouldKeepHigherVersion_whenStaleReadArrivesLate() {
+
+        cache.put(1L, 5L);
+        cache.put(1L, 4L);
+
+        assertEquals(5L, cache.get(1L));
+
+        cache.put(1L, 6L);
+        assertEquals(6L, cache.get(1L));
+    }
+
+    // ---------- TC-02: BUMPED VERSION PUBLISHED ONLY ON COMMIT ----------
+
+    @Test
+    void putAfterCommit_shouldPublishOnlyAfterCommit() {
+
+        cache.put(1L, 3L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.putAfterCommit(1L, 4L);
+
+        // the old version is gone while the write is uncommitted, and a read of the old row may refill it
+        assertNull(cache.get(1L));
+        cache.put(1L, 3L);
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+
+        assertEquals(4L, cache.get(1L));
+    }
+
+    @Test
+    void putAfterCommit_shouldPublishImmediately_whenNoTransaction() {
+
+        cache.putAfterCommit(1L, 2L);
+
+        assertEquals(2L, cache.get(1L));
+    }
+
+    // ---------- TC-03: DISABLED FOR MULTI-NODE DEPLOYMENTS ----------
+
+    @Test
+    void get_shouldReturnNull_whenDisabled() {
+
+        ProfileVersionCache disabled = new ProfileVersionCache(false, 100, 60);
+
+        disabled.put(1L, 2L);
+        disabled.putAfterCommit(1L, 3L);
+
+        assertFalse(disabled.isEnabled());
+        assertNull(disabled.get(1L));
+    }
+}
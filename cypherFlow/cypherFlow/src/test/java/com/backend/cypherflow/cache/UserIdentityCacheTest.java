@@ -0,0 +1,86 @@
+package com.backend.cypherflow.cache;
+
+import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserIdentityCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserIdentityCache cache = new UserIdentityCache(userRepository, 100, 60);
+    private UserIdentityCacheListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<UserIdentityCache> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(cache);
+        listener = new UserIdentityCacheListener(provider);
+    }
+
+    // ---------- HELPERS ----------
+
+    private User loadedUser() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("vaibhav");
+        user.setEmail("old@gmail.com");
+        user.setMobile("+919876543210");
+        listener.snapshot(user);
+        return user;
+    }
+
+    // ---------- TC-01: LOOKUPS ARE CACHED ----------
+
+    @Test
+    void findByUsername_shouldHitRepositoryOnce() {
+
+        User user = loadedUser();
+        when(userRepository.findByUsernameIgnoreCase("vaibhav")).thenReturn(Optional.of(user));
+
+        cache.findByUsername("vaibhav");
+        cache.findByUsername("VAIBHAV");
+
+        verify(userRepository, times(1)).findByUsernameIgnoreCase("vaibhav");
+        assertEquals(1L, cache.findById(1L).orElseThrow().getUserId());
+    }
+
+    // ---------- TC-02: CHANGED IDENTIFIERS EVICT THE OLD KEYS ----------
+
+    @Test
+    void update_shouldEvictOldAndNewKeys_whenIdentifiersChange() {
+
+        User user = loadedUser();
+        when(userRepository.findByEmailIgnoreCase("old@gmail.com")).thenReturn(Optional.of(user));
+        cache.findByEmail("old@gmail.com");
+
+        user.setEmail("new@gmail.com");
+        listener.evict(user);
+
+        when(userRepository.findByEmailIgnoreCase("old@gmail.com")).thenReturn(Optional.empty());
+        assertTrue(cache.findByEmail("old@gmail.com").isEmpty());
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        assertEquals("new@gmail.com", cache.findById(1L).orElseThrow().getEmail());
+    }
+
+    // ---------- TC-03: SNAPSHOT FOLLOWS EACH FLUSH ----------
+
+    @Test
+    void evict_shouldRefreshSnapshot_soSecondRenameEvictsIntermediateKeys() {
+
+        User user = loadedUser();
+
+        user.setUsername("second");
+        listener.evict(user);
+
+        assertEquals("second", user.getLoadedIdentity().getUsername());
+    }
+}
@@ -0,0 +1,178 @@
+package com.backend.cypherflow.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitFilterTest {
+
+    private static final String LOGIN = "/api/auth/login";
+    private static final String BLOCK_ACCOUNT = "/api/auth/block-account";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    // ---------- HELPERS ----------
+
+    private AdaptiveConcurrencyLimitFilter filter(boolean enabled, int initialLimit) {
+        return new AdaptiveConcurrencyLimitFilter(meterRegistry, enabled, initialLimit, 1, 100,
+                List.of(BLOCK_ACCOUNT), List.of(LOGIN), 7);
+    }
+
+    private FilterChain answering(int status) {
+        return (req, res) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(status);
+        };
+    }
+
+    private static MockHttpServletResponse send(AdaptiveConcurrencyLimitFilter filter, String path, FilterChain chain)
+            throws IOException, ServletException {
+        return send(filter, "", path, chain);
+    }
+
+    private static MockHttpServletResponse send(AdaptiveConcurrencyLimitFilter filter, String contextPath, String path,
+                                                FilterChain chain) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", contextPath + path);
+        request.setContextPath(contextPath);
+        request.setServletPath(path);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    // Holds the only permit while the nested request is sent, as a concurrent request would
+    private static MockHttpServletResponse sendWhileSaturated(AdaptiveConcurrencyLimitFilter filter, String path,
+                                                              FilterChain chain) throws IOException, ServletException {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        send(filter, "/api/auth/send-otp", (req, res) -> nested.set(send(filter, path, chain)));
+        return nested.get();
+    }
+
+    private double limit() {
+        return meterRegistry.get("cypherflow.auth.limiter.limit").gauge().value();
+    }
+
+    // ---------- TC-01: OVER THE LIMIT ANSWERS 503 ----------
+
+    @Test
+    void request_shouldGet503WithRetryAfter_whenLimitReached() throws Exception {
+
+        AdaptiveConcurrencyLimitFilter filter = filter(true, 1);
+
+        MockHttpServletResponse shed = sendWhileSaturated(filter, LOGIN, answering(200));
+
+        assertEquals(503, shed.getStatus());
+        assertEquals("7", shed.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(shed.getContentType().startsWith("application/json"));
+        assertTrue(shed.getContentAsString().contains("\"error\":\"SERVICE_BUSY\""), shed.getContentAsString());
+        assertEquals(0, executions.get());
+        assertEquals(1.0, meterRegistry.get("cypherflow.auth.limiter.rejected").counter().count());
+    }
+
+    @Test
+    void request_shouldPass_onceThePermitIsReleased() throws Exception {
+
+        AdaptiveConcurrencyLimitFilter filter = filter(true, 1);
+
+        assertEquals(200, send(filter, LOGIN, answering(200)).getStatus());
+        assertEquals(200, send(filter, LOGIN, answering(200)).getStatus());
+        assertEquals(0.0, meterRegistry.get("cypherflow.auth.limiter.inflight").gauge().value());
+    }
+
+    // ---------- TC-02: BYPASS ----------
+
+    @Test
+    void bypassPath_shouldPass_whenLimitReached() throws Exception {
+
+        AdaptiveConcurrencyLimitFilter filter = filter(true, 1);
+
+        MockHttpServletResponse response = sendWhileSaturated(filter, BLOCK_ACCOUNT, answering(200));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void bypassPath_shouldMatch_withTrailingSlashAndContextPath() throws Exception {
+
+        AdaptiveConcurrencyLimitFilter filter = filter(true, 1);
+
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        send(filter, "/cypherflow", "/api/auth/send-otp",
+                (req, res) -> nested.set(send(filter, "/cypherflow", BLOCK_ACCOUNT + "/", answering(200))));
+
+        assertEquals(200, nested.get().getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void bypassPattern_shouldMatchNestedPaths() throws Exception {
+
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(meterRegistry, true, 1, 1, 100,
+                List.of("/api/auth/unblock-account/**"), List.of(LOGIN), 7);
+
+        MockHttpServletResponse response =
+                sendWhileSaturated(filter, "/api/auth/unblock-account/verify-otp", answering(200));
+
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void pathOutsideAuth_shouldNotBeLimited() throws Exception {
+
+        AdaptiveConcurrencyLimitFilter filter = filter(true, 1);
+
+        MockHttpServletResponse response = sendWhileSaturated(filter, "/api/v1/profile", answering(200));
+
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void disabledLimiter_shouldPassEverything() throws Exception {
+
+        AdaptiveConcurrencyLimitFilter filter = filter(false, 1);
+
+        MockHttpServletResponse response = sendWhileSaturated(filter, LOGIN, answering(200));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0.0, meterRegistry.get("cypherflow.auth.limiter.rejected").counter().count());
+    }
+
+    // ---------- TC-03: 5XX BACKS THE LIMIT OFF ----------
+
+    @Test
+    void serverError_shouldShrinkLimit() throws Exception {
+
+        AdaptiveConcurrencyLimitFilter filter = filter(true, 20);
+
+        send(filter, LOGIN, answering(503));
+        send(filter, LOGIN, answering(500));
+
+        assertEquals(16.0, limit());
+    }
+
+    @Test
+    void clientError_shouldNotShrinkLimit() throws Exception {
+
+        AdaptiveConcurrencyLimitFilter filter = filter(true, 20);
+
+        send(filter, LOGIN, answering(401));
+        send(filter, LOGIN, answering(429));
+
+        assertEquals(20.0, limit());
+    }
+}
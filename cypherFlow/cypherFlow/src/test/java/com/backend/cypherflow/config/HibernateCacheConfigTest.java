@@ -0,0 +1,94 @@
+package com.backend.cypherflow.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HibernateCacheConfigTest {
+
+    private static final long MAX_SIZE = 5;
+
+    private final List<CacheManager> managers = new ArrayList<>();
+
+    @AfterEach
+    void closeManagers() {
+        managers.forEach(CacheManager::close);
+    }
+
+    // ---------- HELPERS ----------
+
+    private CacheManager newManager() {
+
+        HibernateCacheConfig config = new HibernateCacheConfig();
+        ReflectionTestUtils.setField(config, "userMaxSize", MAX_SIZE);
+        ReflectionTestUtils.setField(config, "userTtlSeconds", 600L);
+        ReflectionTestUtils.setField(config, "userProfileMaxSize", MAX_SIZE);
+        ReflectionTestUtils.setField(config, "userProfileTtlSeconds", 600L);
+        ReflectionTestUtils.setField(config, "queryMaxSize", MAX_SIZE);
+        ReflectionTestUtils.setField(config, "queryTtlSeconds", 300L);
+
+        CacheManager manager = config.hibernateCacheManager();
+        managers.add(manager);
+        return manager;
+    }
+
+    private static long estimatedSize(Cache<Object, Object> region) {
+        com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine =
+                region.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+        caffeine.cleanUp();
+        return caffeine.estimatedSize();
+    }
+
+    // ---------- TC-01: REGION EVICTS BEYOND MAX SIZE ----------
+
+    @Test
+    void region_shouldEvictEntries_whenMaxSizeExceeded() {
+
+        Cache<Object, Object> users = newManager().getCache(HibernateCacheConfig.USER_REGION);
+
+        for (long id = 0; id < MAX_SIZE * 10; id++) {
+            users.put(id, "user-" + id);
+        }
+
+        assertTrue(estimatedSize(users) <= MAX_SIZE,
+                () -> "Expected at most " + MAX_SIZE + " entries but got " + estimatedSize(users));
+    }
+
+    // ---------- TC-02: EACH CONTEXT GETS ITS OWN MANAGER ----------
+
+    @Test
+    void hibernateCacheManager_shouldNotShareRegions_betweenContexts() {
+
+        CacheManager first = newManager();
+        CacheManager second = newManager();
+
+        assertNotSame(first, second);
+
+        first.getCache(HibernateCacheConfig.USER_REGION).put(1L, "cached");
+
+        assertNull(second.getCache(HibernateCacheConfig.USER_REGION).get(1L));
+    }
+
+    // ---------- TC-03: CLOSING ONE CONTEXT LEAVES THE OTHER WORKING ----------
+
+    @Test
+    void hibernateCacheManager_shouldKeepOtherContextUsable_whenOneCloses() {
+
+        CacheManager live = newManager();
+        Cache<Object, Object> users = live.getCache(HibernateCacheConfig.USER_REGION);
+        users.put(1L, "cached");
+
+        newManager().close();
+
+        assertFalse(live.isClosed());
+        assertFalse(users.isClosed());
+        assertEquals("cached", users.get(1L));
+    }
+}
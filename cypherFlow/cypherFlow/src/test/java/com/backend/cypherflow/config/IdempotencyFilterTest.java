@@ -0,0 +1,171 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.cache.IdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.backend.cypherflow.config.IdempotencyFilter.IDEMPOTENCY_KEY_HEADER;
+import static com.backend.cypherflow.config.IdempotencyFilter.REPLAYED_HEADER;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private static final String SEND_OTP = "/api/auth/send-otp";
+    private static final String BODY = "{\"username\":\"vaibhav\",\"type\":\"EMAIL\",\"reason\":\"LOGIN\"}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotencyFilter filter =
+            new IdempotencyFilter(new IdempotencyStore(100, 60, 500), meterRegistry);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    // ---------- HELPERS ----------
+
+    private MockHttpServletRequest request(String key, String body) {
+        return request(key, body, "10.0.0.1");
+    }
+
+    private MockHttpServletRequest request(String key, String body, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", SEND_OTP);
+        request.setRemoteAddr(remoteAddr);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return request;
+    }
+
+    // Controller stand-in: counts executions and answers with the given status
+    private FilterChain answering(int status, String responseBody) {
+        return (req, res) -> {
+            executions.incrementAndGet();
+            assertEquals(BODY, new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(status);
+            http.setContentType("text/plain");
+            http.getWriter().write(responseBody);
+        };
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, chain);
+        return response;
+    }
+
+    private double outcomeCount(String outcome) {
+        return meterRegistry.counter("cypherflow.idempotency.requests", "outcome", outcome).count();
+    }
+
+    // ---------- TC-01: RETRY REPLAYS THE FIRST RESPONSE ----------
+
+    @Test
+    void retry_shouldReplayStoredResponse_withReplayHeader() throws Exception {
+
+        FilterChain chain = answering(200, "OTP sent successfully");
+
+        MockHttpServletResponse first = send("key-1", BODY, chain);
+        MockHttpServletResponse retry = send("key-1", BODY, chain);
+
+        assertEquals(1, executions.get());
+        assertEquals(200, first.getStatus());
+        assertNull(first.getHeader(REPLAYED_HEADER));
+
+        assertEquals(200, retry.getStatus());
+        assertEquals("true", retry.getHeader(REPLAYED_HEADER));
+        assertEquals("OTP sent successfully", retry.getContentAsString());
+        assertEquals("OTP sent successfully".length(), retry.getContentLength());
+        assertEquals(1.0, outcomeCount("replay"));
+    }
+
+    // ---------- TC-02: SAME KEY, DIFFERENT BODY ----------
+
+    @Test
+    void reusedKey_shouldAnswer422_whenBodyDiffers() throws Exception {
+
+        send("key-1", BODY, answering(200, "OTP sent successfully"));
+
+        MockHttpServletResponse reused = send("key-1", "{\"username\":\"someone-else\"}", answering(200, "unused"));
+
+        assertEquals(422, reused.getStatus());
+        assertTrue(reused.getContentAsString().contains("IDEMPOTENCY_KEY_REUSED"));
+        assertEquals(1, executions.get());
+    }
+
+    // ---------- TC-03: 5XX RELEASES THE KEY ----------
+
+    @Test
+    void retry_shouldExecuteAgain_whenFirstAttemptFailedWith5xx() throws Exception {
+
+        MockHttpServletResponse failed = send("key-1", BODY, answering(500, "boom"));
+        MockHttpServletResponse retry = send("key-1", BODY, answering(200, "OTP sent successfully"));
+
+        assertEquals(500, failed.getStatus());
+        assertEquals(200, retry.getStatus());
+        assertNull(retry.getHeader(REPLAYED_HEADER));
+        assertEquals(2, executions.get());
+    }
+
+    // ---------- TC-04: COOLDOWN / LIMIT ANSWERS ARE NOT KEPT ----------
+
+    @Test
+    void retry_shouldExecuteAgain_whenFirstAttemptHitCooldown() throws Exception {
+
+        send("key-1", BODY, answering(401, "{\"error\":\"COOLDOWN_ACTIVE\"}"));
+        MockHttpServletResponse retry = send("key-1", BODY, answering(200, "OTP sent successfully"));
+
+        assertEquals(200, retry.getStatus());
+        assertEquals(2, executions.get());
+    }
+
+    // ---------- TC-05: VALIDATION FAILURE IS REPLAYED ----------
+
+    @Test
+    void retry_shouldReplay400() throws Exception {
+
+        send("key-1", BODY, answering(400, "{\"error\":\"VALIDATION_FAILED\"}"));
+        MockHttpServletResponse retry = send("key-1", BODY, answering(200, "unused"));
+
+        assertEquals(400, retry.getStatus());
+        assertEquals("true", retry.getHeader(REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    // ---------- TC-06: NO KEY, NO IDEMPOTENCY ----------
+
+    @Test
+    void requestWithoutKey_shouldAlwaysExecute() throws Exception {
+
+        FilterChain chain = answering(200, "OTP sent successfully");
+
+        send(null, BODY, chain);
+        MockHttpServletResponse second = send(null, BODY, chain);
+
+        assertEquals(2, executions.get());
+        assertNull(second.getHeader(REPLAYED_HEADER));
+    }
+
+    // ---------- TC-07: KEYS ARE SCOPED PER CLIENT ----------
+
+    @Test
+    void sameKeyFromAnotherClient_shouldExecute_notReplay() throws Exception {
+
+        FilterChain chain = answering(200, "OTP sent successfully");
+
+        filter.doFilter(request("retry-1", BODY, "10.0.0.1"), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        filter.doFilter(request("retry-1", BODY, "10.0.0.2"), other, chain);
+
+        assertEquals(2, executions.get());
+        assertNull(other.getHeader(REPLAYED_HEADER));
+    }
+}
@@ -0,0 +1,51 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.enums.Role;
+import com.backend.cypherflow.support.AllocationMeter;
+import com.backend.cypherflow.util.JwtUtil;
+import com.backend.cypherflow.util.SecurityUtil;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthFilterAllocationTest {
+
+    // One signature check + claims parse; parsing the token once per claim costs ~4x this
+    private static final long AUTHENTICATED_REQUEST_BUDGET = 32 * 1024;
+
+    private final JwtUtil jwtUtil = new JwtUtil(Base64.getEncoder().encodeToString(
+            "cypherflow-allocation-test-jwt-secret-key".getBytes()));
+
+    private final JwtAuthFilter jwtAuthFilter = new JwtAuthFilter(jwtUtil);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // ---------- TC-01: AUTHENTICATED REQUEST ----------
+
+    @Test
+    void authenticatedRequest_shouldStayWithinAllocationBudget() throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/profile/me");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(1L, "vaibhav", Role.USER));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {};
+
+        long bytes = AllocationMeter.bytesPerCall(() -> jwtAuthFilter.doFilterInternal(request, response, chain));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1L, SecurityUtil.getCurrentUserId());
+        assertTrue(bytes <= AUTHENTICATED_REQUEST_BUDGET,
+                () -> "JwtAuthFilter allocated " + bytes + " bytes per request, budget " + AUTHENTICATED_REQUEST_BUDGET);
+    }
+}
@@ -0,0 +1,73 @@
+package com.backend.cypherflow.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultipartSizeLimitFilterTest {
+
+    private static final String UPLOAD = "/api/v1/profile/uploadProfilePhoto";
+
+    private final MultipartSizeLimitFilter filter = new MultipartSizeLimitFilter(DataSize.ofMegabytes(10));
+    private final AtomicInteger executions = new AtomicInteger();
+    private final FilterChain chain = (req, res) -> executions.incrementAndGet();
+
+    // ---------- HELPERS ----------
+
+    // Content-Length is declared only; the body is never read on the refused path
+    private MockHttpServletResponse send(String contentType, long contentLength) throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", UPLOAD) {
+            @Override
+            public long getContentLengthLong() {
+                return contentLength;
+            }
+        };
+        request.setContentType(contentType);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    // ---------- TC-01: OVERSIZED UPLOAD IS REFUSED BEFORE THE CHAIN ----------
+
+    @Test
+    void oversizedMultipart_shouldBeRefused_withoutReachingChain() throws Exception {
+
+        MockHttpServletResponse response = send("multipart/form-data; boundary=x", DataSize.ofMegabytes(50).toBytes());
+
+        assertEquals(400, response.getStatus());
+        assertEquals("close", response.getHeader(HttpHeaders.CONNECTION));
+        assertTrue(response.getContentAsString().contains("FILE_SIZE_EXCEEDED"));
+        assertEquals(0, executions.get());
+    }
+
+    // ---------- TC-02: UPLOADS WITHIN THE LIMIT PASS ----------
+
+    @Test
+    void multipartWithinLimit_shouldPass() throws Exception {
+
+        send("multipart/form-data; boundary=x", DataSize.ofMegabytes(2).toBytes());
+
+        assertEquals(1, executions.get());
+    }
+
+    // ---------- TC-03: UNKNOWN LENGTH AND OTHER BODIES ARE LEFT ALONE ----------
+
+    @Test
+    void chunkedOrNonMultipart_shouldPass() throws Exception {
+
+        send("multipart/form-data; boundary=x", -1);
+        send("application/json", DataSize.ofMegabytes(50).toBytes());
+
+        assertEquals(2, executions.get());
+    }
+}
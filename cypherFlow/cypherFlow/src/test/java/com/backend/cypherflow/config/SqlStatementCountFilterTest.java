@@ -0,0 +1,95 @@
+package com.backend.cypherflow.config;
+
+import com.backend.cypherflow.datasource.SqlStatementCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.backend.cypherflow.config.SqlStatementCountFilter.STATEMENT_COUNT_HEADER;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementCountFilter filter = new SqlStatementCountFilter(meterRegistry, 10);
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    // ---------- HELPERS ----------
+
+    private MockHttpServletResponse send(String pattern, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/profile");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private void statements(int count) {
+        for (int i = 0; i < count; i++) {
+            inspector.inspect("select 1");
+        }
+    }
+
+    private double recorded(String uri) {
+        return meterRegistry.get("cypherflow.sql.statements").tag("uri", uri).summary().totalAmount();
+    }
+
+    // ---------- TC-01: UNCOMMITTED RESPONSE GETS THE FINAL COUNT ----------
+
+    @Test
+    void header_shouldCarryFinalCount_whenResponseNotCommitted() throws Exception {
+
+        MockHttpServletResponse response = send("/api/v1/profile", (req, res) -> statements(3));
+
+        assertEquals("3", response.getHeader(STATEMENT_COUNT_HEADER));
+        assertEquals(3.0, recorded("/api/v1/profile"));
+    }
+
+    // ---------- TC-02: STREAMED BODY IS NOT BUFFERED ----------
+
+    @Test
+    void streamedBody_shouldReachClientDirectly_withHeaderSetBeforeCommit() throws Exception {
+
+        byte[] body = "image-bytes".getBytes(StandardCharsets.UTF_8);
+
+        MockHttpServletResponse response = send("/api/v1/profile/pictures/{fileName}", (req, res) -> {
+            statements(1);
+
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setContentLengthLong(body.length);
+            http.getOutputStream().write(body);
+            http.flushBuffer();
+
+            // the bytes went through to the underlying response instead of a copy in the filter
+            assertTrue(res.isCommitted());
+
+            statements(2);
+        });
+
+        assertEquals("1", response.getHeader(STATEMENT_COUNT_HEADER));
+        assertEquals(body.length, response.getContentLength());
+        assertArrayEquals(body, response.getContentAsByteArray());
+        assertEquals(3.0, recorded("/api/v1/profile/pictures/{fileName}"));
+    }
+
+    // ---------- TC-03: NOTHING WRITTEN (SENDFILE) ----------
+
+    @Test
+    void header_shouldBeSet_whenBodyLeftToContainer() throws Exception {
+
+        // the sendfile path only sets Content-Length and request attributes, the container writes the file
+        MockHttpServletResponse response = send("/api/v1/profile/pictures/{fileName}",
+                (req, res) -> ((HttpServletResponse) res).setContentLengthLong(123_456));
+
+        assertEquals("0", response.getHeader(STATEMENT_COUNT_HEADER));
+        assertEquals(123_456, response.getContentLengthLong());
+        assertFalse(response.isCommitted());
+    }
+}
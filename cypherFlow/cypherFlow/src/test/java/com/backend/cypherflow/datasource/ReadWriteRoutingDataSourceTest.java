@@ -0,0 +1,240 @@
+package com.backend.cypherflow.datasource;
+
+import com.backend.cypherflow.config.PrimaryReadsFilter;
+import com.backend.cypherflow.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Two H2 databases stand in for the primary and a replica. Each has a one-row "node" table naming
+ * itself, so a query tells which one the routing picked. The replica also holds the lag the monitor
+ * reads, so tests can make it fall behind.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final double MAX_LAG_SECONDS = 2.0;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    private ReplicaLagMonitor replicaLagMonitor;
+    private SimpleMeterRegistry meterRegistry;
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void setUp() {
+
+        int n = SEQUENCE.incrementAndGet();
+
+        DataSource primary = h2("routing-primary-" + n);
+        DataSource replica = h2("routing-replica-" + n);
+
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+
+        primaryJdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        primaryJdbc.update("INSERT INTO node VALUES ('primary')");
+        primaryJdbc.execute("CREATE TABLE audit (id INT)");
+
+        replicaJdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        replicaJdbc.update("INSERT INTO node VALUES ('replica')");
+        replicaJdbc.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+
+        meterRegistry = new SimpleMeterRegistry();
+        replicaLagMonitor = new ReplicaLagMonitor(
+                Map.of("replica-0", replica), "SELECT seconds FROM replica_lag", MAX_LAG_SECONDS, meterRegistry);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                List.of("replica-0"),
+                new ReadYourWritesTracker(Duration.ofMillis(200), 1000),
+                replicaLagMonitor
+        );
+        routing.setTargetDataSources(Map.of(ReadWriteRoutingDataSource.PRIMARY, primary, "replica-0", replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        // wired as DataSourceRoutingConfig does
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbc = new JdbcTemplate(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // ---------- HELPERS ----------
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+
+    private static void authenticate(long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(userId, "user" + userId, "USER"), null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    private String readOnlyNode() {
+        return readOnlyTx.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private void write() {
+        writeTx.executeWithoutResult(status -> jdbc.update("INSERT INTO audit VALUES (1)"));
+    }
+
+    private void setReplicaLag(double seconds) {
+        replicaJdbc.update("UPDATE replica_lag SET seconds = ?", seconds);
+        replicaLagMonitor.refresh();
+    }
+
+    // ---------- TC-01: READ-ONLY TO REPLICA, WRITES TO PRIMARY ----------
+
+    @Test
+    void readOnlyTransaction_shouldRouteToReplica() {
+
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    void writeTransaction_shouldRouteToPrimary() {
+
+        write();
+
+        assertEquals(1, primaryJdbc.queryForObject("SELECT COUNT(*) FROM audit", Integer.class));
+        assertEquals("primary", writeTx.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class)));
+    }
+
+    @Test
+    void statementOutsideTransaction_shouldRouteToPrimary() {
+
+        assertEquals("primary", jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    // ---------- TC-02: READ YOUR WRITES ----------
+
+    @Test
+    void readAfterWrite_shouldStayOnPrimary_forWritingUserOnly() {
+
+        authenticate(1L);
+        write();
+
+        assertEquals("primary", readOnlyNode());
+
+        authenticate(2L);
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    void readAfterWrite_shouldReturnToReplica_whenStickinessWindowEnds() throws InterruptedException {
+
+        authenticate(1L);
+        write();
+        assertEquals("primary", readOnlyNode());
+
+        Thread.sleep(400);
+
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    void anonymousWrite_shouldNotPinLaterReads() {
+
+        write();
+
+        assertEquals("replica", readOnlyNode());
+    }
+
+    // ---------- TC-03: LAGGING REPLICA ----------
+
+    @Test
+    void readOnlyTransaction_shouldFallBackToPrimary_whenReplicaLagExceedsThreshold() {
+
+        setReplicaLag(MAX_LAG_SECONDS + 8);
+
+        assertEquals("primary", readOnlyNode());
+        assertEquals(MAX_LAG_SECONDS + 8, meterRegistry.get("cypherflow.datasource.replica.lag").gauge().value());
+
+        setReplicaLag(0.5);
+
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    void readOnlyTransaction_shouldFallBackToPrimary_whenLagCheckFails() {
+
+        replicaJdbc.execute("DROP TABLE replica_lag");
+        replicaLagMonitor.refresh();
+
+        assertFalse(replicaLagMonitor.isUsable("replica-0"));
+        assertEquals("primary", readOnlyNode());
+    }
+
+    // ---------- TC-04: FORCED PRIMARY FOR ANONYMOUS SECURITY READS ----------
+
+    @Test
+    void readOnlyTransaction_shouldRouteToPrimary_insidePrimaryReads() {
+
+        assertEquals("primary", PrimaryReads.call(this::readOnlyNode));
+
+        PrimaryReads.run(() -> {
+            PrimaryReads.run(() -> assertEquals("primary", readOnlyNode()));
+            // the outer scope is still open after a nested one ends
+            assertEquals("primary", readOnlyNode());
+        });
+
+        assertFalse(PrimaryReads.isForced());
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    void authRequest_shouldReadPrimary_whileOtherPathsUseReplica() throws Exception {
+
+        PrimaryReadsFilter filter = new PrimaryReadsFilter();
+        List<String> nodes = new ArrayList<>();
+
+        for (String path : List.of("/api/auth/login", "/api/v1/profile/me")) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+            request.setServletPath(path);
+
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> nodes.add(readOnlyNode()));
+        }
+
+        assertEquals(List.of("primary", "replica"), nodes);
+        assertFalse(PrimaryReads.isForced());
+    }
+}
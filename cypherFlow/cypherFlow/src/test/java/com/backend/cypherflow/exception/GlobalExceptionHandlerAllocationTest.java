@@ -0,0 +1,34 @@
+package com.backend.cypherflow.exception;
+
+import com.backend.cypherflow.dto.request.ApiError;
+import com.backend.cypherflow.enums.ErrorCode;
+import com.backend.cypherflow.support.AllocationMeter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerAllocationTest {
+
+    // ApiError, its timestamp and the ResponseEntity with empty headers
+    private static final long BUILD_ERROR_BUDGET = 1024;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    // ---------- TC-01: BUILD ERROR ----------
+
+    @Test
+    void buildError_shouldStayWithinAllocationBudget() throws Exception {
+
+        long bytes = AllocationMeter.bytesPerCall(() ->
+                handler.buildError(HttpStatus.UNAUTHORIZED, ErrorCode.UNAUTHORIZED, "Invalid credentials"));
+
+        ResponseEntity<ApiError> response =
+                handler.buildError(HttpStatus.UNAUTHORIZED, ErrorCode.UNAUTHORIZED, "Invalid credentials");
+
+        assertEquals(401, response.getStatusCode().value());
+        assertTrue(bytes <= BUILD_ERROR_BUDGET,
+                () -> "buildError allocated " + bytes + " bytes per call, budget " + BUILD_ERROR_BUDGET);
+    }
+}
@@ -0,0 +1,182 @@
+package com.backend.cypherflow.jfr;
+
+import com.backend.cypherflow.support.InMemorySmtpServer;
+import com.zaxxer.hikari.HikariDataSource;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Runs the JDBC (Hikari + driver) and JavaMail paths on virtual threads, with more threads than
+ * connections so they block inside the pool and the drivers' monitors, and records every
+ * jdk.VirtualThreadPinned event (no threshold). On JDK 24+ synchronized no longer pins, so both
+ * paths must produce none. A class initializer that parks is the control: it still pins.
+ */
+class VirtualThreadPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int THREADS = 32;
+
+    @Name("cypherflow.test.PinningMarker")
+    static class Marker extends Event {
+    }
+
+    private final List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+    private final CountDownLatch markerSeen = new CountDownLatch(1);
+
+    private RecordingStream stream;
+
+    @BeforeEach
+    void startRecording() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+        stream.enable(Marker.class);
+        stream.onEvent(PINNED_EVENT, pinned::add);
+        stream.onEvent(Marker.class.getAnnotation(Name.class).value(), event -> markerSeen.countDown());
+        stream.startAsync();
+    }
+
+    @AfterEach
+    void stopRecording() {
+        stream.close();
+    }
+
+    // ---------- HELPERS ----------
+
+    private static void onVirtualThreads(Task task) throws Exception {
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    task.run(n);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    // Events reach the stream asynchronously; once a marker committed afterwards arrives, all earlier ones have
+    private List<RecordedEvent> pinnedEvents() throws InterruptedException {
+        new Marker().commit();
+        assertTrue(markerSeen.await(30, TimeUnit.SECONDS), "JFR stream did not deliver the marker");
+        return List.copyOf(pinned);
+    }
+
+    private static String describe(List<RecordedEvent> events) {
+        return events.stream()
+                .map(event -> event.getStackTrace() == null ? "?" : event.getStackTrace().getFrames().stream()
+                        .limit(6)
+                        .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                        .toList()
+                        .toString())
+                .toList()
+                .toString();
+    }
+
+    interface Task {
+        void run(int n) throws Exception;
+    }
+
+    // ---------- TC-01: JDBC ----------
+
+    @Test
+    void jdbc_shouldNotPinVirtualThreads() throws Exception {
+
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl("jdbc:h2:mem:pinning;DB_CLOSE_DELAY=-1");
+            dataSource.setUsername("sa");
+            dataSource.setMaximumPoolSize(4);
+
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("CREATE TABLE IF NOT EXISTS pinning (id INT PRIMARY KEY, val VARCHAR(32))");
+
+            onVirtualThreads(n -> {
+                for (int i = 0; i < 20; i++) {
+                    int id = n * 100 + i;
+                    jdbc.update("INSERT INTO pinning VALUES (?, ?)", id, "v" + id);
+                    jdbc.queryForObject("SELECT val FROM pinning WHERE id = ?", String.class, id);
+                }
+            });
+
+            assertEquals(THREADS * 20, jdbc.queryForObject("SELECT COUNT(*) FROM pinning", Integer.class));
+        }
+
+        List<RecordedEvent> events = pinnedEvents();
+        assertTrue(events.isEmpty(), () -> "JDBC path pinned virtual threads: " + describe(events));
+    }
+
+    // ---------- TC-02: JAVAMAIL ----------
+
+    // JavaMail still pins on JDK 21-23, where synchronized holds the carrier
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_24)
+    void javaMail_shouldNotPinVirtualThreads() throws Exception {
+
+        try (InMemorySmtpServer smtp = InMemorySmtpServer.start()) {
+
+            JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+            mailSender.setHost("localhost");
+            mailSender.setPort(smtp.port());
+
+            onVirtualThreads(n -> {
+                SimpleMailMessage message = new SimpleMailMessage();
+                message.setFrom("no-reply@cypherflow.test");
+                message.setTo("user" + n + "@cypherflow.test");
+                message.setSubject("OTP");
+                message.setText("Your OTP is 123456");
+                mailSender.send(message);
+            });
+
+            assertEquals(THREADS, smtp.received());
+        }
+
+        List<RecordedEvent> events = pinnedEvents();
+        assertTrue(events.isEmpty(), () -> "JavaMail path pinned virtual threads: " + describe(events));
+    }
+
+    // ---------- TC-03: CONTROL, THE RECORDING DOES SEE PINNING ----------
+
+    static class ParksInInitializer {
+        static {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        static void touch() {
+        }
+    }
+
+    @Test
+    void classInitializer_shouldStillPin() throws Exception {
+
+        Thread.ofVirtual().start(ParksInInitializer::touch).join();
+
+        assertFalse(pinnedEvents().isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+package com.backend.cypherflow.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingAsyncAppenderTest {
+
+    // ---------- TC-01: EVERY EVENT OFFERED TO A FULL QUEUE IS COUNTED ----------
+
+    @Test
+    void fullQueue_shouldCountEveryDroppedEvent() throws Exception {
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // downstream appender that holds the worker thread until released
+        AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                workerBusy.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slow.setContext(context);
+        slow.start();
+
+        CountingAsyncAppender async = new CountingAsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(1);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(true);
+        async.addAppender(slow);
+        async.start();
+
+        Logger logger = context.getLogger("cypherflow.test.async");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(async);
+
+        try {
+            long before = CountingAsyncAppender.droppedEvents();
+
+            logger.info("taken by the worker");
+            assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+
+            logger.info("fills the queue");
+            for (int i = 0; i < 5; i++) {
+                logger.info("dropped {}", i);
+            }
+
+            assertEquals(5, CountingAsyncAppender.droppedEvents() - before);
+
+        } finally {
+            release.countDown();
+            logger.detachAppender(async);
+            async.stop();
+            slow.stop();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.backend.cypherflow.metrics;
+
+import com.backend.cypherflow.enums.AccountSecurityEvent;
+import com.backend.cypherflow.enums.LoginOutcome;
+import com.backend.cypherflow.enums.OtpDispatchResult;
+import com.backend.cypherflow.enums.OtpReason;
+import com.backend.cypherflow.enums.OtpType;
+import com.backend.cypherflow.enums.OtpVerificationOutcome;
+import com.backend.cypherflow.enums.PasswordResetEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private AuthMetrics authMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        authMetrics = new AuthMetrics(registry);
+    }
+
+    // ---------- TC-01: LOGIN OUTCOME TAG ----------
+
+    @Test
+    void recordLogin_shouldTimeAttemptTaggedByOutcome() {
+
+        authMetrics.recordLogin(LoginOutcome.SUCCESS, System.nanoTime());
+        authMetrics.recordLogin(LoginOutcome.INVALID_CREDENTIALS, System.nanoTime());
+        authMetrics.recordLogin(LoginOutcome.INVALID_CREDENTIALS, System.nanoTime());
+
+        assertEquals(1, registry.get("cypherflow.auth.login").tag("outcome", "success").timer().count());
+        assertEquals(2, registry.get("cypherflow.auth.login").tag("outcome", "invalid_credentials").timer().count());
+    }
+
+    // ---------- TC-02: OTP TAGS ----------
+
+    @Test
+    void recordOtp_shouldTagByTypeReasonAndResult() {
+
+        authMetrics.recordOtpDispatch(OtpType.EMAIL, OtpReason.LOGIN, OtpDispatchResult.COOLDOWN, System.nanoTime());
+        authMetrics.recordOtpVerification(OtpType.MOBILE, OtpReason.REGISTRATION,
+                OtpVerificationOutcome.EXPIRED, System.nanoTime());
+
+        assertEquals(1, registry.get("cypherflow.otp.dispatch")
+                .tags("type", "email", "reason", "login", "result", "cooldown")
+                .timer().count());
+        assertEquals(1, registry.get("cypherflow.otp.verify")
+                .tags("type", "mobile", "reason", "registration", "outcome", "expired")
+                .timer().count());
+    }
+
+    // ---------- TC-03: ACCOUNT EVENTS ----------
+
+    @Test
+    void recordAccountEvent_shouldIncrementCounter() {
+
+        authMetrics.recordAccountEvent(AccountSecurityEvent.LOCKED);
+        authMetrics.recordAccountEvent(AccountSecurityEvent.LOCKED);
+
+        assertEquals(2.0, registry.get("cypherflow.auth.account.events").tag("event", "locked").counter().count());
+    }
+
+    // ---------- TC-04: METERS REGISTERED ONCE, UP FRONT ----------
+
+    @Test
+    void constructor_shouldRegisterEveryTagCombination() {
+
+        assertEquals(LoginOutcome.values().length, registry.find("cypherflow.auth.login").timers().size());
+        assertEquals(OtpType.values().length * OtpReason.values().length * OtpDispatchResult.values().length,
+                registry.find("cypherflow.otp.dispatch").timers().size());
+        assertEquals(OtpType.values().length * OtpReason.values().length * OtpVerificationOutcome.values().length,
+                registry.find("cypherflow.otp.verify").timers().size());
+        assertEquals(PasswordResetEvent.values().length,
+                registry.find("cypherflow.auth.password.reset").counters().size());
+    }
+
+    @Test
+    void record_shouldNotRegisterNewMeters() {
+
+        int meters = registry.getMeters().size();
+        Timer login = registry.get("cypherflow.auth.login").tag("outcome", "locked").timer();
+
+        authMetrics.recordLogin(LoginOutcome.LOCKED, System.nanoTime());
+        authMetrics.recordOtpDispatch(OtpType.MOBILE, OtpReason.ACCOUNT_UNBLOCK, OtpDispatchResult.SENT, System.nanoTime());
+        authMetrics.recordPasswordReset(PasswordResetEvent.COMPLETED);
+
+        assertEquals(meters, registry.getMeters().size());
+        assertSame(login, registry.get("cypherflow.auth.login").tag("outcome", "locked").timer());
+        assertEquals(1, login.count());
+        assertEquals(1, registry.get("cypherflow.otp.dispatch")
+                .tags("type", "mobile", "reason", "account_unblock", "result", "sent")
+                .timer().count());
+    }
+
+    @Test
+    void recordOtpVerification_shouldTagNone_whenTypeMissing() {
+
+        authMetrics.recordOtpVerification(null, OtpReason.LOGIN, OtpVerificationOutcome.INVALID, System.nanoTime());
+
+        assertEquals(1, registry.get("cypherflow.otp.verify")
+                .tags("type", "none", "reason", "login", "outcome", "invalid")
+                .timer().count());
+    }
+}
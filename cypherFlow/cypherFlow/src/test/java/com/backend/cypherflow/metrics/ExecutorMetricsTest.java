@@ -0,0 +1,141 @@
+package com.backend.cypherflow.metrics;
+
+import com.backend.cypherflow.config.VirtualThreadTaskExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ExecutorMetrics executorMetrics;
+    private ThreadPoolTaskExecutor pool;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        executorMetrics = new ExecutorMetrics(registry);
+
+        // one thread, one queue slot: the third task has nowhere to go
+        pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.setQueueCapacity(1);
+        pool.setTaskDecorator(executorMetrics.decorator("test"));
+        pool.setRejectedExecutionHandler(executorMetrics.rejectionHandler("test"));
+        pool.initialize();
+
+        executorMetrics.monitor("test", pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pool.shutdown();
+    }
+
+    // ---------- TC-01: SATURATED POOL REJECTS AND COUNTS ----------
+
+    @Test
+    void execute_shouldThrowTaskRejectedAndCount_whenPoolSaturated() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+
+        pool.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        pool.execute(() -> { });
+
+        assertThrows(TaskRejectedException.class, () -> pool.execute(() -> { }));
+
+        assertEquals(1, registry.get("cypherflow.executor.rejected").tag("executor", "test").counter().count());
+        assertEquals(1, registry.get("cypherflow.executor.active").tag("executor", "test").gauge().value());
+        assertEquals(1, registry.get("cypherflow.executor.queued").tag("executor", "test").gauge().value());
+    }
+
+    // ---------- TC-02: WAIT TIME RECORDED ----------
+
+    @Test
+    void execute_shouldRecordQueueWait_whenTaskRuns() throws Exception {
+
+        CountDownLatch done = new CountDownLatch(1);
+
+        pool.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, registry.get("cypherflow.executor.wait").tag("executor", "test").timer().count());
+    }
+
+    // ---------- TC-03: REGISTRY ----------
+
+    @Test
+    void monitor_shouldExposePoolForAdminResize() {
+        assertSame(pool, executorMetrics.pools().get("test"));
+    }
+
+    // ---------- TC-04: VIRTUAL THREADS REJECT AT THE LIMIT AND COUNT ----------
+
+    @Test
+    void virtualExecutor_shouldRejectAndCount_whenLimitReached() throws Exception {
+
+        VirtualThreadTaskExecutor virtual =
+                new VirtualThreadTaskExecutor("virtual", "VT-", 1, executorMetrics.decorator("virtual"));
+        executorMetrics.monitor("virtual", virtual);
+
+        try (virtual) {
+            CountDownLatch started = new CountDownLatch(1);
+
+            virtual.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(TaskRejectedException.class, () -> virtual.execute(() -> { }));
+
+            assertEquals(1, registry.get("cypherflow.executor.rejected").tag("executor", "virtual").functionCounter().count());
+            assertEquals(1, registry.get("cypherflow.executor.active").tag("executor", "virtual").gauge().value());
+            assertEquals(1, registry.get("cypherflow.executor.pool.max").tag("executor", "virtual").gauge().value());
+            assertSame(virtual, executorMetrics.virtualExecutors().get("virtual"));
+
+            // the permit comes back once the running task ends
+            release.countDown();
+            CountDownLatch done = new CountDownLatch(1);
+            assertTrue(awaitAccepted(virtual, done::countDown));
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static boolean awaitAccepted(VirtualThreadTaskExecutor executor, Runnable task) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            try {
+                executor.execute(task);
+                return true;
+            } catch (TaskRejectedException e) {
+                Thread.sleep(10);
+            }
+        }
+        return false;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.backend.cypherflow.metrics;
+
+import com.backend.cypherflow.enums.TransactionFlow;
+import com.backend.cypherflow.support.NoOpTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private TransactionMetrics transactionMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        transactionMetrics = new TransactionMetrics(new NoOpTransactionManager(), registry);
+    }
+
+    // ---------- TC-01: COMMITTED HOLD TIME ----------
+
+    @Test
+    void inTransaction_shouldRecordHoldTime_whenCommitted() {
+
+        String result = transactionMetrics.inTransaction(TransactionFlow.RESET_PASSWORD, () -> "done");
+
+        assertEquals("done", result);
+        assertEquals(1, registry.get("cypherflow.tx.hold")
+                .tags("flow", "reset_password", "outcome", "committed")
+                .timer().count());
+    }
+
+    // ---------- TC-02: ROLLED BACK HOLD TIME ----------
+
+    @Test
+    void inTransaction_shouldRecordRollback_whenWorkFails() {
+
+        assertThrows(IllegalStateException.class,
+                () -> transactionMetrics.inTransaction(TransactionFlow.REGISTRATION, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals(1, registry.get("cypherflow.tx.hold")
+                .tags("flow", "registration", "outcome", "rolled_back")
+                .timer().count());
+        assertEquals(0, registry.get("cypherflow.tx.hold")
+                .tags("flow", "registration", "outcome", "committed")
+                .timer().count());
+    }
+}
@@ -0,0 +1,134 @@
+package com.backend.cypherflow.security;
+
+import com.backend.cypherflow.security.AdaptiveConcurrencyLimit.RouteClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    // ---------- TC-01: REJECT ABOVE LIMIT ----------
+
+    @Test
+    void tryAcquire_shouldReject_whenLimitReached() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+
+        limit.release(RouteClass.STANDARD, FAST, false);
+        assertTrue(limit.tryAcquire());
+    }
+
+    // ---------- TC-02: GROW WHILE LATENCY IS STEADY ----------
+
+    @Test
+    void release_shouldGrowLimit_whenSaturatedAndLatencySteady() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limit, RouteClass.STANDARD, FAST);
+        }
+
+        assertTrue(limit.getLimit() > 10, "limit=" + limit.getLimit());
+    }
+
+    // ---------- TC-03: SHRINK WHEN LATENCY RISES ----------
+
+    @Test
+    void release_shouldShrinkLimit_whenLatencyRises() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100);
+
+        saturateAndRelease(limit, RouteClass.STANDARD, FAST);
+        for (int i = 0; i < 30; i++) {
+            saturateAndRelease(limit, RouteClass.STANDARD, SLOW);
+        }
+
+        assertTrue(limit.getLimit() < 50, "limit=" + limit.getLimit());
+    }
+
+    // ---------- TC-04: BACK OFF ON DROPS, NEVER BELOW MIN ----------
+
+    @Test
+    void release_shouldBackOffToMinLimit_whenRequestsDropped() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 3, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(RouteClass.STANDARD, FAST, true);
+        }
+
+        assertEquals(3, limit.getLimit());
+    }
+
+    // ---------- TC-05: NO GROWTH WHEN IDLE ----------
+
+    @Test
+    void release_shouldKeepLimit_whenFarBelowLimit() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(RouteClass.STANDARD, FAST, false);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    // ---------- TC-06: BASELINE PER ROUTE CLASS ----------
+
+    @Test
+    void release_shouldGrowLimit_whenSlowHashingAndFastRoutesAreBothSteady() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+
+        // a BCrypt route is 10x slower than the rest, but steady: that is its normal latency
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limit, RouteClass.STANDARD, FAST);
+            saturateAndRelease(limit, RouteClass.HASHING, SLOW);
+        }
+
+        assertTrue(limit.getLimit() > 10, "limit=" + limit.getLimit());
+    }
+
+    @Test
+    void release_shouldShrinkLimit_whenOnlyHashingLatencyRises() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100);
+
+        saturateAndRelease(limit, RouteClass.STANDARD, FAST);
+        saturateAndRelease(limit, RouteClass.HASHING, SLOW);
+
+        // hashing slows down (hashing pool saturated) while the fast routes were never slow
+        for (int i = 0; i < 3; i++) {
+            saturateAndRelease(limit, RouteClass.HASHING, SLOW * 4);
+        }
+
+        assertTrue(limit.getLimit() < 50, "limit=" + limit.getLimit());
+    }
+
+    // fills the limit, then completes one request at the given latency
+    private static void saturateAndRelease(AdaptiveConcurrencyLimit limit, RouteClass routeClass, long rttNanos) {
+
+        int admitted = 0;
+        while (limit.tryAcquire()) {
+            admitted++;
+        }
+        limit.release(routeClass, rttNanos, false);
+        for (int i = 1; i < admitted; i++) {
+            limit.release(routeClass, rttNanos, false);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.backend.cypherflow.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashingExecutorTest {
+
+    private final HashingExecutor hashingExecutor = new HashingExecutor(1, 1);
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.destroy();
+    }
+
+    // ---------- HELPERS ----------
+
+    // Runs the call on a fresh virtual thread and hands back its result or exception
+    private static <T> CompletableFuture<T> onVirtualThread(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                result.complete(call.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    private static Supplier<String> blockedUntil(CountDownLatch release) {
+        return () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash";
+        };
+    }
+
+    private static void awaitUntil(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+
+    // ---------- TC-01: PLATFORM CALLER HASHES INLINE ----------
+
+    @Test
+    void call_shouldRunInline_whenCallerIsPlatformThread() {
+
+        String caller = Thread.currentThread().getName();
+
+        assertEquals(caller, hashingExecutor.call(() -> Thread.currentThread().getName()));
+    }
+
+    // ---------- TC-02: VIRTUAL CALLER HANDS OFF ----------
+
+    @Test
+    void call_shouldRunOnHashingPool_whenCallerIsVirtual() throws Exception {
+
+        Thread worker = onVirtualThread(() -> hashingExecutor.call(Thread::currentThread)).get(5, TimeUnit.SECONDS);
+
+        assertFalse(worker.isVirtual());
+        assertTrue(worker.getName().startsWith("HASH-"), worker.getName());
+    }
+
+    @Test
+    void call_shouldRethrowTaskException_whenCallerIsVirtual() {
+
+        CompletableFuture<Object> result = onVirtualThread(() -> hashingExecutor.call(() -> {
+            throw new IllegalArgumentException("bad salt");
+        }));
+
+        Exception thrown = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, thrown.getCause());
+        assertEquals("bad salt", thrown.getCause().getMessage());
+    }
+
+    // ---------- TC-03: SATURATED POOL REJECTS ----------
+
+    @Test
+    void call_shouldThrowTaskRejected_whenPoolAndQueueFull() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> blocked = blockedUntil(release);
+
+        // one running on the single thread, one waiting in the single queue slot
+        CompletableFuture<String> running = onVirtualThread(() -> hashingExecutor.call(blocked));
+        awaitUntil(() -> hashingExecutor.getActiveCount() == 1);
+        CompletableFuture<String> queued = onVirtualThread(() -> hashingExecutor.call(blocked));
+        awaitUntil(() -> hashingExecutor.getQueueSize() == 1);
+
+        CompletableFuture<String> rejected = onVirtualThread(() -> hashingExecutor.call(() -> "never"));
+
+        Exception thrown = assertThrows(Exception.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TaskRejectedException.class, thrown.getCause());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    // ---------- TC-04: CANCELLED CALLER ----------
+
+    @Test
+    void call_shouldNotRunQueuedHash_whenCallerInterrupted() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean queuedRan = new AtomicBoolean();
+
+        CompletableFuture<String> running = onVirtualThread(() -> hashingExecutor.call(blockedUntil(release)));
+        awaitUntil(() -> hashingExecutor.getActiveCount() == 1);
+
+        CompletableFuture<String> cancelled = new CompletableFuture<>();
+        Thread caller = Thread.ofVirtual().start(() -> {
+            try {
+                cancelled.complete(hashingExecutor.call(() -> {
+                    queuedRan.set(true);
+                    return "hash";
+                }));
+            } catch (RuntimeException e) {
+                cancelled.completeExceptionally(e);
+            }
+        });
+        awaitUntil(() -> hashingExecutor.getQueueSize() == 1);
+
+        caller.interrupt();
+
+        Exception thrown = assertThrows(Exception.class, () -> cancelled.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        awaitUntil(() -> hashingExecutor.getActiveCount() == 0 && hashingExecutor.getQueueSize() == 0);
+
+        assertFalse(queuedRan.get());
+    }
+
+    @Test
+    void call_shouldNotSubmit_whenCallerAlreadyInterrupted() {
+
+        AtomicBoolean ran = new AtomicBoolean();
+
+        CompletableFuture<String> result = onVirtualThread(() -> {
+            Thread.currentThread().interrupt();
+            return hashingExecutor.call(() -> {
+                ran.set(true);
+                return "hash";
+            });
+        });
+
+        Exception thrown = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        assertFalse(ran.get());
+    }
+}
@@ -1,5 +1,7 @@
 package com.backend.cypherflow.service;
 
+import com.backend.cypherflow.cache.UserIdentity;
+import com.backend.cypherflow.cache.UserIdentityCache;
 import com.backend.cypherflow.dto.request.OtpVerifyRequest;
 import com.backend.cypherflow.dto.request.UnblockAccountRequest;
 import com.backend.cypherflow.entity.User;
@@ -9,6 +11,7 @@ import com.backend.cypherflow.enums.OtpType;
 import com.backend.cypherflow.exception.AccountNotBlockedException;
 import com.backend.cypherflow.exception.UnauthorizedException;
 import com.backend.cypherflow.exception.UserNotFoundException;
+import com.backend.cypherflow.metrics.AuthMetrics;
 import com.backend.cypherflow.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +39,12 @@ class AccountUnblockServiceTest {
     @Mock
     private OtpVerificationService otpVerificationService;
 
+    @Mock
+    private UserIdentityCache userIdentityCache;
+
+    @Mock
+    private AuthMetrics authMetrics;
+
     @InjectMocks
     private AccountUnblockService accountUnblockService;
 
@@ -72,7 +81,7 @@ class AccountUnblockServiceTest {
     @Test
     void sendOtpForUnblock_shouldThrowException_whenUserNotFound() {
 
-        when(userRepository.findByUsernameIgnoreCase(any()))
+        when(userIdentityCache.findByUsername(any()))
                 .thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class,
@@ -87,8 +96,8 @@ class AccountUnblockServiceTest {
         User user = blockedUser();
         user.setAccountStatus(AccountStatus.ACTIVE);
 
-        when(userRepository.findByUsernameIgnoreCase(any()))
-                .thenReturn(Optional.of(user));
+        when(userIdentityCache.findByUsername(any()))
+                .thenReturn(Optional.of(UserIdentity.of(user)));
 
         assertThrows(AccountNotBlockedException.class,
                 () -> accountUnblockService.sendOtpForUnblock(unblockReq()));
@@ -103,8 +112,8 @@ class AccountUnblockServiceTest {
 
         User user = blockedUser();
 
-        when(userRepository.findByUsernameIgnoreCase(any()))
-                .thenReturn(Optional.of(user));
+        when(userIdentityCache.findByUsername(any()))
+                .thenReturn(Optional.of(UserIdentity.of(user)));
 
         accountUnblockService.sendOtpForUnblock(unblockReq());
 
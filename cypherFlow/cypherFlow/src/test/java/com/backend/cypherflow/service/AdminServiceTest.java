@@ -5,13 +5,14 @@ import com.backend.cypherflow.exception.ResourceNotFoundException;
 import com.backend.cypherflow.exception.SelfDeleteException;
 import com.backend.cypherflow.repository.UserRepository;
 import com.backend.cypherflow.util.SecurityUtil;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,9 +24,13 @@ class AdminServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private AdminService adminService;
 
+    @BeforeEach
+    void setUp() {
+        adminService = new AdminService(userRepository, new UserIdentifierResolver(userRepository));
+    }
+
     // ---------- HELPERS ----------
 
     private User user(Long id) {
@@ -33,7 +38,7 @@ class AdminServiceTest {
         u.setId(id);
         u.setUsername("user");
         u.setEmail("user@gmail.com");
-        u.setMobile("9999999999");
+        u.setMobile("+919999999999");
         return u;
     }
 
@@ -44,10 +49,6 @@ class AdminServiceTest {
 
         when(userRepository.findByUsernameIgnoreCase(any()))
                 .thenReturn(Optional.empty());
-        when(userRepository.findByEmailIgnoreCase(any()))
-                .thenReturn(Optional.empty());
-        when(userRepository.findByMobile(any()))
-                .thenReturn(Optional.empty());
 
         try (MockedStatic<SecurityUtil> mocked = mockStatic(SecurityUtil.class)) {
             mocked.when(SecurityUtil::getCurrentUserId).thenReturn(1L);
@@ -103,8 +104,6 @@ class AdminServiceTest {
 
         User user = user(2L);
 
-        when(userRepository.findByUsernameIgnoreCase(any()))
-                .thenReturn(Optional.empty());
         when(userRepository.findByEmailIgnoreCase("user@gmail.com"))
                 .thenReturn(Optional.of(user));
 
@@ -124,12 +123,9 @@ class AdminServiceTest {
 
         User user = user(2L);
 
-        when(userRepository.findByUsernameIgnoreCase(any()))
-                .thenReturn(Optional.empty());
-        when(userRepository.findByEmailIgnoreCase(any()))
-                .thenReturn(Optional.empty());
-        when(userRepository.findByMobile("9999999999"))
-                .thenReturn(Optional.of(user));
+        // bare digits may be a username or a mobile, both are checked in one query
+        when(userRepository.findByUsernameOrMobile("9999999999", "+919999999999"))
+                .thenReturn(List.of(user));
 
         try (MockedStatic<SecurityUtil> mocked = mockStatic(SecurityUtil.class)) {
             mocked.when(SecurityUtil::getCurrentUserId).thenReturn(1L);
@@ -0,0 +1,123 @@
+package com.backend.cypherflow.service;
+
+import com.backend.cypherflow.enums.AvatarVariant;
+import com.backend.cypherflow.event.AvatarVariantsGeneratedEvent;
+import com.backend.cypherflow.storage.LocalFileSystemBlobStore;
+import com.backend.cypherflow.storage.StoredBlob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AvatarVariantServiceTest {
+
+    @TempDir
+    Path storeRoot;
+
+    private LocalFileSystemBlobStore blobStore;
+    private ApplicationEventPublisher eventPublisher;
+    private AvatarVariantService avatarVariantService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new LocalFileSystemBlobStore(storeRoot);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        avatarVariantService = new AvatarVariantService(blobStore, eventPublisher);
+        ReflectionTestUtils.setField(avatarVariantService, "jpegQuality", 0.82f);
+    }
+
+    // ---------- HELPERS ----------
+
+    private String storePng(int width, int height) throws IOException {
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, new Color(x % 256, y % 256, 128).getRGB());
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+
+        StoredBlob blob = blobStore.put(new ByteArrayInputStream(out.toByteArray()), "image/png");
+        return blob.getKey();
+    }
+
+    private BufferedImage read(String key) throws IOException {
+        Resource resource = blobStore.open(key).orElseThrow();
+        try (InputStream in = resource.getInputStream()) {
+            return ImageIO.read(in);
+        }
+    }
+
+    private AvatarVariantsGeneratedEvent publishedEvent() {
+        ArgumentCaptor<AvatarVariantsGeneratedEvent> event =
+                ArgumentCaptor.forClass(AvatarVariantsGeneratedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+
+    // ---------- TC-01: ALL VARIANTS, SQUARE JPEG ----------
+
+    @Test
+    void generateVariantsAsync_shouldStoreSquareJpegPerVariant() throws IOException {
+
+        String original = storePng(1200, 800);
+
+        avatarVariantService.generateVariantsAsync(1L, original);
+
+        AvatarVariantsGeneratedEvent event = publishedEvent();
+        assertEquals(1L, event.getUserId());
+        assertEquals(original, event.getOriginalKey());
+        assertEquals(AvatarVariant.values().length, event.getVariantKeys().size());
+
+        for (AvatarVariant variant : AvatarVariant.values()) {
+            BufferedImage image = read(event.getVariantKeys().get(variant));
+
+            assertEquals(variant.getSize(), image.getWidth());
+            assertEquals(variant.getSize(), image.getHeight());
+        }
+    }
+
+    // ---------- TC-02: SMALL ORIGINAL IS NEVER UPSCALED ----------
+
+    @Test
+    void generateVariantsAsync_shouldNotUpscale_whenOriginalSmallerThanVariant() throws IOException {
+
+        String original = storePng(100, 60);
+
+        avatarVariantService.generateVariantsAsync(1L, original);
+
+        AvatarVariantsGeneratedEvent event = publishedEvent();
+
+        assertEquals(AvatarVariant.SMALL.getSize(), read(event.getVariantKeys().get(AvatarVariant.SMALL)).getWidth());
+        assertEquals(60, read(event.getVariantKeys().get(AvatarVariant.MEDIUM)).getWidth());
+        assertEquals(60, read(event.getVariantKeys().get(AvatarVariant.LARGE)).getWidth());
+    }
+
+    // ---------- TC-03: MISSING ORIGINAL ----------
+
+    @Test
+    void generateVariantsAsync_shouldPublishNothing_whenOriginalMissing() {
+
+        assertDoesNotThrow(() -> avatarVariantService.generateVariantsAsync(1L, "a".repeat(64)));
+
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,156 @@
+package com.backend.cypherflow.service;
+
+import com.backend.cypherflow.dto.response.JfrRecordingResponse;
+import com.backend.cypherflow.exception.BadRequestException;
+import com.backend.cypherflow.exception.CooldownException;
+import com.backend.cypherflow.security.UserPrincipal;
+import com.backend.cypherflow.util.SecurityUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+import org.springframework.core.io.Resource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DiagnosticsServiceTest {
+
+    @TempDir
+    Path recordingDir;
+
+    private DiagnosticsService diagnosticsService;
+    private MockedStatic<SecurityUtil> securityUtil;
+
+    @BeforeEach
+    void setUp() {
+        diagnosticsService = new DiagnosticsService(recordingDir.toString(), 30, 60);
+        securityUtil = mockStatic(SecurityUtil.class);
+        securityUtil.when(SecurityUtil::getCurrentUserId).thenReturn(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        securityUtil.close();
+    }
+
+    // ---------- TC-01: JFR START / STOP / DOWNLOAD ----------
+
+    @Test
+    void recording_shouldBeWrittenToDisk_whenStopped() throws Exception {
+
+        JfrRecordingResponse started = diagnosticsService.startRecording("default", 10L);
+        JfrRecordingResponse stopped = diagnosticsService.stopRecording();
+
+        assertEquals(started.getId(), stopped.getId());
+        assertEquals("default", stopped.getSettings());
+        assertNotNull(stopped.getDownloadUrl());
+
+        Path file = diagnosticsService.recordingResource(stopped.getId()).getFile().toPath();
+        assertTrue(Files.size(file) > 0);
+    }
+
+    // ---------- TC-02: UNKNOWN SETTINGS ----------
+
+    @Test
+    void startRecording_shouldThrowException_whenSettingsUnknown() {
+
+        assertThrows(BadRequestException.class,
+                () -> diagnosticsService.startRecording("everything", null));
+    }
+
+    // ---------- TC-03: COOLDOWN ----------
+
+    @Test
+    void classHistogram_shouldThrowException_whenCalledWithinCooldown() {
+
+        String histogram = diagnosticsService.classHistogram();
+
+        assertTrue(histogram.contains("java.lang.String"));
+        assertThrows(CooldownException.class, () -> diagnosticsService.classHistogram());
+    }
+
+    // ---------- TC-04: THREAD DUMP ----------
+
+    @Test
+    void threadDump_shouldContainCurrentThread() {
+
+        assertTrue(diagnosticsService.threadDump().contains(Thread.currentThread().getName()));
+    }
+
+    // ---------- TC-05: CONCURRENT REQUESTS WITHIN ONE COOLDOWN ----------
+
+    @Test
+    void threadDump_shouldRunOnce_whenRequestedConcurrently() throws Exception {
+
+        int requests = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    // the static SecurityUtil mock is thread-local; workers go through the real security context
+                    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                            new UserPrincipal(1L, "admin", "ADMIN"), null,
+                            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+                    start.await();
+                    try {
+                        diagnosticsService.threadDump();
+                        return true;
+                    } catch (CooldownException e) {
+                        return false;
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            start.countDown();
+
+            int ran = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    ran++;
+                }
+            }
+            assertEquals(1, ran);
+        }
+    }
+
+    // ---------- TC-06: REPLACED RECORDING IS KEPT UNTIL ITS DOWNLOAD FINISHES ----------
+
+    @Test
+    void replacedRecording_shouldBeDeleted_onlyAfterDownloadCloses() throws Exception {
+
+        DiagnosticsService service = new DiagnosticsService(recordingDir.toString(), 0, 60);
+
+        service.startRecording("default", 10L);
+        Resource first = service.recordingResource(service.stopRecording().getId());
+        Path firstFile = first.getFile().toPath();
+
+        try (InputStream download = first.getInputStream()) {
+            service.startRecording("default", 10L);
+            service.stopRecording();
+
+            assertTrue(Files.exists(firstFile));
+            assertTrue(download.read() >= 0);
+        }
+
+        assertFalse(Files.exists(firstFile));
+    }
+}
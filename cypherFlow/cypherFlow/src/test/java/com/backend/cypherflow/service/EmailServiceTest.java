@@ -1,10 +1,13 @@
 package com.backend.cypherflow.service;
 
+import com.backend.cypherflow.metrics.FlowSpans;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -18,6 +21,9 @@ class EmailServiceTest {
     @Mock
     private JavaMailSender mailSender;
 
+    @Spy
+    private FlowSpans flowSpans = new FlowSpans(ObservationRegistry.NOOP);
+
     @InjectMocks
     private EmailService emailService;
 
@@ -7,12 +7,16 @@ import com.backend.cypherflow.enums.AccountStatus;
 import com.backend.cypherflow.enums.Role;
 import com.backend.cypherflow.exception.UnauthorizedException;
 import com.backend.cypherflow.exception.UnverfiedAccountException;
+import com.backend.cypherflow.metrics.AuthMetrics;
+import com.backend.cypherflow.metrics.FlowSpans;
 import com.backend.cypherflow.repository.UserRepository;
 import com.backend.cypherflow.util.JwtUtil;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -34,6 +38,12 @@ class LoginServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private AuthMetrics authMetrics;
+
+    @Spy
+    private FlowSpans flowSpans = new FlowSpans(ObservationRegistry.NOOP);
+
     @InjectMocks
     private LoginService loginService;
 
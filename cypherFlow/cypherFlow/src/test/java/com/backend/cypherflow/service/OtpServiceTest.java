@@ -1,15 +1,21 @@
 package com.backend.cypherflow.service;
 
+import com.backend.cypherflow.cache.UserIdentity;
+import com.backend.cypherflow.cache.UserIdentityCache;
 import com.backend.cypherflow.entity.Otp;
 import com.backend.cypherflow.entity.User;
 import com.backend.cypherflow.enums.*;
 import com.backend.cypherflow.exception.UserNotFoundException;
+import com.backend.cypherflow.metrics.AuthMetrics;
+import com.backend.cypherflow.metrics.FlowSpans;
 import com.backend.cypherflow.repository.OtpRepository;
-import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.security.HashingExecutor;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.InvocationTargetException;
@@ -30,7 +36,20 @@ class OtpServiceTest {
     private EmailService emailService;
 
     @Mock
-    private UserRepository userRepository;
+    private SmsService smsService;
+
+    @Mock
+    private UserIdentityCache userIdentityCache;
+
+    @Mock
+    private AuthMetrics authMetrics;
+
+    @Spy
+    private FlowSpans flowSpans = new FlowSpans(ObservationRegistry.NOOP);
+
+    // platform test thread, so hashes run inline
+    @Spy
+    private HashingExecutor hashingExecutor = new HashingExecutor(1, 10);
 
     @InjectMocks
     private OtpService otpService;
@@ -54,12 +73,12 @@ class OtpServiceTest {
 
     // ---------- TEST HELPERS ----------
 
-    private User validUser() {
+    private UserIdentity validUser() {
         User user = new User();
         user.setId(1L);
         user.setEmail("test@gmail.com");
-        user.setMobile("9999999999");
-        return user;
+        user.setMobile("+919999999999");
+        return UserIdentity.of(user);
     }
 
     // ---------- TC-01: USER NOT FOUND ----------
@@ -67,7 +86,7 @@ class OtpServiceTest {
     @Test
     void generateOtp_shouldThrowException_whenUserNotFound() throws Exception {
 
-        when(userRepository.findById(1L))
+        when(userIdentityCache.findById(1L))
                 .thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class,
@@ -79,13 +98,13 @@ class OtpServiceTest {
     @Test
     void generateOtp_shouldReturnCooldown_whenCooldownActive() throws Exception {
 
-        User user = validUser();
+        UserIdentity user = validUser();
 
         Otp lastOtp = Otp.builder()
                 .lastSentAt(LocalDateTime.now().minusSeconds(10))
                 .build();
 
-        when(userRepository.findById(1L))
+        when(userIdentityCache.findById(1L))
                 .thenReturn(Optional.of(user));
 
         when(otpRepository.findTopByUserIdAndOtpTypeAndOtpReasonOrderByCreatedAtDesc(
@@ -106,9 +125,9 @@ class OtpServiceTest {
     @Test
     void generateOtp_shouldReturnRateLimited_whenLimitExceeded() throws Exception {
 
-        User user = validUser();
+        UserIdentity user = validUser();
 
-        when(userRepository.findById(1L))
+        when(userIdentityCache.findById(1L))
                 .thenReturn(Optional.of(user));
 
         when(otpRepository.findTopByUserIdAndOtpTypeAndOtpReasonOrderByCreatedAtDesc(
@@ -133,9 +152,9 @@ class OtpServiceTest {
     @Test
     void generateOtp_shouldSendEmailOtp_whenAllowed() throws Exception {
 
-        User user = validUser();
+        UserIdentity user = validUser();
 
-        when(userRepository.findById(1L))
+        when(userIdentityCache.findById(1L))
                 .thenReturn(Optional.of(user));
 
         when(otpRepository.findTopByUserIdAndOtpTypeAndOtpReasonOrderByCreatedAtDesc(
@@ -163,9 +182,9 @@ class OtpServiceTest {
     @Test
     void generateOtp_shouldSendMobileOtp_whenAllowed() throws Exception {
 
-        User user = validUser();
+        UserIdentity user = validUser();
 
-        when(userRepository.findById(1L))
+        when(userIdentityCache.findById(1L))
                 .thenReturn(Optional.of(user));
 
         when(otpRepository.findTopByUserIdAndOtpTypeAndOtpReasonOrderByCreatedAtDesc(
@@ -182,6 +201,7 @@ class OtpServiceTest {
         assertEquals(OtpDispatchResult.SENT, result);
 
         verify(otpRepository).save(any(Otp.class));
+        verify(smsService).sendSms(eq("+919999999999"), contains("Your OTP is"));
         verify(emailService, never()).sendEmail(any(), any(), any());
     }
 }
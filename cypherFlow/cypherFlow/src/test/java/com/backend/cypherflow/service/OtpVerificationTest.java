@@ -7,12 +7,15 @@ import com.backend.cypherflow.enums.OtpReason;
 import com.backend.cypherflow.enums.OtpStatus;
 import com.backend.cypherflow.enums.OtpType;
 import com.backend.cypherflow.exception.InvalidOtpException;
+import com.backend.cypherflow.metrics.AuthMetrics;
 import com.backend.cypherflow.repository.OtpRepository;
 import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.security.HashingExecutor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 
@@ -31,6 +34,13 @@ class OtpVerificationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AuthMetrics authMetrics;
+
+    // platform test thread, so hashes run inline
+    @Spy
+    private HashingExecutor hashingExecutor = new HashingExecutor(1, 10);
+
     @InjectMocks
     private OtpVerificationService otpVerificationService;
 
@@ -8,21 +8,30 @@ import com.backend.cypherflow.entity.User;
 import com.backend.cypherflow.enums.AccountStatus;
 import com.backend.cypherflow.enums.SecurityActionType;
 import com.backend.cypherflow.exception.CooldownException;
+import com.backend.cypherflow.exception.InactiveAccountException;
 import com.backend.cypherflow.exception.InvalidPasswordException;
 import com.backend.cypherflow.exception.InvalidTokenException;
+import com.backend.cypherflow.metrics.AuthMetrics;
+import com.backend.cypherflow.metrics.TransactionMetrics;
 import com.backend.cypherflow.repository.PasswordResetTokenRepository;
 import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.support.NoOpTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -45,6 +54,13 @@ class PasswordResetServiceTest {
     @Mock
     private AccountStatusValidator accountStatusValidator;
 
+    @Mock
+    private AuthMetrics authMetrics;
+
+    @Spy
+    private TransactionMetrics transactionMetrics =
+            new TransactionMetrics(new NoOpTransactionManager(), new SimpleMeterRegistry());
+
     @InjectMocks
     private PasswordResetService passwordResetService;
 
@@ -80,6 +96,44 @@ class PasswordResetServiceTest {
         verify(emailService, never()).sendPasswordResetEmail(any(), any());
     }
 
+    @Test
+    void initiateForgotPassword_shouldMailLink_whenAllowed() {
+
+        User user = validUser();
+
+        when(userRepository.findByEmailIgnoreCase(any()))
+                .thenReturn(Optional.of(user));
+        when(tokenRepository.findByUserId(user.getId()))
+                .thenReturn(Optional.empty());
+
+        passwordResetService.initiateForgotPassword(user.getEmail());
+
+        verify(tokenRepository).save(any(PasswordResetToken.class));
+        verify(emailService).sendPasswordResetEmail(eq(user.getEmail()), any());
+        verify(tokenRepository, never()).releaseUnsent(any(), any());
+    }
+
+    @Test
+    void initiateForgotPassword_shouldReleaseTokenAndRethrow_whenMailRejected() {
+
+        User user = validUser();
+
+        when(userRepository.findByEmailIgnoreCase(any()))
+                .thenReturn(Optional.of(user));
+        when(tokenRepository.findByUserId(user.getId()))
+                .thenReturn(Optional.empty());
+        doThrow(new TaskRejectedException("mailExecutor full"))
+                .when(emailService).sendPasswordResetEmail(any(), any());
+
+        // surfaces as 503 SERVICE_BUSY; the unsent token must not hold the next attempt in cooldown
+        assertThrows(TaskRejectedException.class,
+                () -> passwordResetService.initiateForgotPassword(user.getEmail()));
+
+        ArgumentCaptor<LocalDateTime> lastRequestAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(tokenRepository).releaseUnsent(any(), lastRequestAt.capture());
+        assertFalse(lastRequestAt.getValue().plusSeconds(30).isAfter(LocalDateTime.now()));
+    }
+
     @Test
     void initiateForgotPassword_shouldThrowCooldownException_whenCooldownActive() {
 
@@ -146,15 +200,108 @@ class PasswordResetServiceTest {
         when(passwordEncoder.encode(any()))
                 .thenReturn("encoded");
 
+        when(tokenRepository.markUsed(any()))
+                .thenReturn(1);
+
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+
         ResetPasswordRequest req = new ResetPasswordRequest();
         req.setToken("token");
         req.setNewPassword("newPass");
 
         passwordResetService.resetPassword(req);
 
+        assertEquals("encoded", user.getPasswordHash());
         verify(userRepository).save(user);
-        verify(tokenRepository).save(token);
-        verify(emailService).sendPasswordResetAlertEmail(any(), any());
+        verify(tokenRepository).save(any(PasswordResetToken.class)); // block-account action token
+        verify(emailService).sendPasswordResetAlertEmail(eq(user.getEmail()), any());
+        verify(emailService, never()).sendPasswordResetAlertEmailNow(any(), any());
+    }
+
+    @Test
+    void resetPassword_shouldSendAlertInline_whenMailExecutorRejects() {
+
+        User user = validUser();
+        PasswordResetToken token = validToken(user);
+
+        when(tokenRepository.findByTokenHashAndUsedFalse(any()))
+                .thenReturn(Optional.of(token));
+        when(passwordEncoder.encode(any()))
+                .thenReturn("encoded");
+        when(tokenRepository.markUsed(any()))
+                .thenReturn(1);
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        doThrow(new TaskRejectedException("mailExecutor full"))
+                .when(emailService).sendPasswordResetAlertEmail(any(), any());
+
+        ResetPasswordRequest req = new ResetPasswordRequest();
+        req.setToken("token");
+        req.setNewPassword("newPass");
+
+        // the password has changed, so the reset still succeeds and the alert is not dropped
+        passwordResetService.resetPassword(req);
+
+        assertEquals("encoded", user.getPasswordHash());
+        verify(emailService).sendPasswordResetAlertEmailNow(eq(user.getEmail()), any());
+    }
+
+    @Test
+    void resetPassword_shouldRejectWithoutChanges_whenTokenUsedConcurrently() {
+
+        User user = validUser();
+        PasswordResetToken token = validToken(user);
+
+        when(tokenRepository.findByTokenHashAndUsedFalse(any()))
+                .thenReturn(Optional.of(token));
+
+        when(passwordEncoder.encode(any()))
+                .thenReturn("encoded");
+
+        when(tokenRepository.markUsed(any()))
+                .thenReturn(0);
+
+        ResetPasswordRequest req = new ResetPasswordRequest();
+        req.setToken("token");
+        req.setNewPassword("newPass");
+
+        assertThrows(InvalidTokenException.class,
+                () -> passwordResetService.resetPassword(req));
+
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void resetPassword_shouldRejectWithoutChanges_whenAccountBlockedWhileHashing() {
+
+        User user = validUser();
+        PasswordResetToken token = validToken(user);
+
+        when(tokenRepository.findByTokenHashAndUsedFalse(any()))
+                .thenReturn(Optional.of(token));
+        when(passwordEncoder.encode(any()))
+                .thenReturn("encoded");
+        when(tokenRepository.markUsed(any()))
+                .thenReturn(1);
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+
+        // active when the token is checked, blocked by the time the password is written
+        doNothing()
+                .doThrow(new InactiveAccountException("Account is blocked"))
+                .when(accountStatusValidator).validate(user);
+
+        ResetPasswordRequest req = new ResetPasswordRequest();
+        req.setToken("token");
+        req.setNewPassword("newPass");
+
+        assertThrows(InactiveAccountException.class,
+                () -> passwordResetService.resetPassword(req));
+
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(emailService);
     }
 
     // ================= BLOCK ACCOUNT =================
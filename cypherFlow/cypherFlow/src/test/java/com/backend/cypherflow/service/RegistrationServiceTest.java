@@ -5,17 +5,27 @@ import com.backend.cypherflow.entity.User;
 import com.backend.cypherflow.enums.AccountStatus;
 import com.backend.cypherflow.enums.Role;
 import com.backend.cypherflow.exception.BadRequestException;
+import com.backend.cypherflow.metrics.FlowSpans;
+import com.backend.cypherflow.metrics.TransactionMetrics;
 import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.support.NoOpTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hibernate.exception.ConstraintViolationException;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,6 +49,13 @@ class RegistrationServiceTest {
 
     // ---------- CLASS UNDER TEST ----------
 
+    @Spy
+    private FlowSpans flowSpans = new FlowSpans(ObservationRegistry.NOOP);
+
+    @Spy
+    private TransactionMetrics transactionMetrics =
+            new TransactionMetrics(new NoOpTransactionManager(), new SimpleMeterRegistry());
+
     @InjectMocks
     private RegistrationService registrationService;
 
@@ -63,8 +80,8 @@ class RegistrationServiceTest {
         // Arrange
         RegisterRequest request = validRequest();
 
-        when(userRepository.findByEmailIgnoreCase("vaibhav@gmail.com"))
-                .thenReturn(Optional.empty());
+        when(userRepository.findByUsernameOrEmailOrMobile(eq("vaibhav"), eq("vaibhav@gmail.com"), any()))
+                .thenReturn(List.of());
 
         when(encoder.encode("password"))
                 .thenReturn("encodedPassword");
@@ -86,7 +103,7 @@ class RegistrationServiceTest {
         // Assert
         assertEquals(1L, userId);
 
-        verify(userRepository).findByEmailIgnoreCase("vaibhav@gmail.com");
+        verify(userRepository).findByUsernameOrEmailOrMobile(eq("vaibhav"), eq("vaibhav@gmail.com"), any());
         verify(encoder).encode("password");
         verify(userRepository).save(any(User.class));
         verify(userProfileService).createProfileForUser(savedUser, request);
@@ -102,11 +119,12 @@ class RegistrationServiceTest {
 
         User existingUser = User.builder()
                 .id(5L)
+                .email("vaibhav@gmail.com")
                 .accountStatus(AccountStatus.PENDING_VERIFICATION)
                 .build();
 
-        when(userRepository.findByEmailIgnoreCase("vaibhav@gmail.com"))
-                .thenReturn(Optional.of(existingUser));
+        when(userRepository.findByUsernameOrEmailOrMobile(any(), any(), any()))
+                .thenReturn(List.of(existingUser));
 
         // Act
         Long userId = registrationService.registerOrReuse(request);
@@ -127,11 +145,12 @@ class RegistrationServiceTest {
         RegisterRequest request = validRequest();
 
         User existingUser = User.builder()
+                .email("vaibhav@gmail.com")
                 .accountStatus(AccountStatus.ACTIVE)
                 .build();
 
-        when(userRepository.findByEmailIgnoreCase("vaibhav@gmail.com"))
-                .thenReturn(Optional.of(existingUser));
+        when(userRepository.findByUsernameOrEmailOrMobile(any(), any(), any()))
+                .thenReturn(List.of(existingUser));
 
         // Act + Assert
         BadRequestException ex = assertThrows(
@@ -149,8 +168,8 @@ class RegistrationServiceTest {
 
         RegisterRequest request = validRequest();
 
-        when(userRepository.findByEmailIgnoreCase(any()))
-                .thenReturn(Optional.empty());
+        when(userRepository.findByUsernameOrEmailOrMobile(any(), any(), any()))
+                .thenReturn(List.of());
 
         ConstraintViolationException cve =
                 new ConstraintViolationException("email", null, "uk_users_email");
@@ -173,8 +192,8 @@ class RegistrationServiceTest {
 
         RegisterRequest request = validRequest();
 
-        when(userRepository.findByEmailIgnoreCase(any()))
-                .thenReturn(Optional.empty());
+        when(userRepository.findByUsernameOrEmailOrMobile(any(), any(), any()))
+                .thenReturn(List.of());
 
         ConstraintViolationException cve =
                 new ConstraintViolationException("username", null, "uk_users_username");
@@ -197,8 +216,8 @@ class RegistrationServiceTest {
 
         RegisterRequest request = validRequest();
 
-        when(userRepository.findByEmailIgnoreCase(any()))
-                .thenReturn(Optional.empty());
+        when(userRepository.findByUsernameOrEmailOrMobile(any(), any(), any()))
+                .thenReturn(List.of());
 
         ConstraintViolationException cve =
                 new ConstraintViolationException("mobile", null, "uk_users_mobile");
@@ -221,8 +240,8 @@ class RegistrationServiceTest {
 
         RegisterRequest request = validRequest();
 
-        when(userRepository.findByEmailIgnoreCase(any()))
-                .thenReturn(Optional.empty());
+        when(userRepository.findByUsernameOrEmailOrMobile(any(), any(), any()))
+                .thenReturn(List.of());
 
         ConstraintViolationException cve =
                 new ConstraintViolationException("unknown", null, "random_constraint");
@@ -237,5 +256,131 @@ class RegistrationServiceTest {
 
         assertEquals("User already exists", ex.getMessage());
     }
-}
 
+    // ---------- TC-08: USERNAME TAKEN, DETECTED BEFORE INSERT ----------
+
+    @Test
+    void registerOrReuse_shouldRejectWithoutSaving_whenUsernameTaken() {
+
+        RegisterRequest request = validRequest();
+
+        User existingUser = User.builder()
+                .id(7L)
+                .username("vaibhav")
+                .email("other@gmail.com")
+                .accountStatus(AccountStatus.ACTIVE)
+                .build();
+
+        when(userRepository.findByUsernameOrEmailOrMobile(any(), any(), any()))
+                .thenReturn(List.of(existingUser));
+
+        BadRequestException ex = assertThrows(
+                BadRequestException.class,
+                () -> registrationService.registerOrReuse(request)
+        );
+
+        assertEquals("Username already exists", ex.getMessage());
+        verify(userRepository, never()).save(any());
+        verify(userProfileService, never()).createProfileForUser(any(), any());
+    }
+
+    // ---------- TC-09: MOBILE TAKEN, DETECTED BEFORE INSERT ----------
+
+    @Test
+    void registerOrReuse_shouldRejectWithoutSaving_whenMobileTaken() {
+
+        RegisterRequest request = validRequest();
+
+        User existingUser = User.builder()
+                .id(8L)
+                .username("someone")
+                .email("other@gmail.com")
+                .mobile("+919999999999")
+                .accountStatus(AccountStatus.ACTIVE)
+                .build();
+
+        when(userRepository.findByUsernameOrEmailOrMobile(any(), any(), any()))
+                .thenReturn(List.of(existingUser));
+
+        BadRequestException ex = assertThrows(
+                BadRequestException.class,
+                () -> registrationService.registerOrReuse(request)
+        );
+
+        assertEquals("Mobile number already exists", ex.getMessage());
+        verify(userRepository, never()).save(any());
+    }
+
+    // ---------- TC-10: CONFLICT CANCELS THE IN-FLIGHT HASH ----------
+
+    // A hash that only returns once its thread is interrupted; records that it was
+    private CountDownLatch stubInterruptibleHash(AtomicBoolean interrupted) {
+
+        CountDownLatch hashing = new CountDownLatch(1);
+
+        when(encoder.encode("password")).thenAnswer(invocation -> {
+            hashing.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            return "unused";
+        });
+        return hashing;
+    }
+
+    @Test
+    void registerOrReuse_shouldCancelHash_whenConflictFound() {
+
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch hashing = stubInterruptibleHash(interrupted);
+
+        User taken = User.builder()
+                .id(7L)
+                .email("vaibhav@gmail.com")
+                .accountStatus(AccountStatus.ACTIVE)
+                .build();
+
+        // the conflict shows up while the hash is running
+        when(userRepository.findByUsernameOrEmailOrMobile(eq("vaibhav"), eq("vaibhav@gmail.com"), any()))
+                .thenAnswer(invocation -> {
+                    assertTrue(hashing.await(5, TimeUnit.SECONDS));
+                    return List.of(taken);
+                });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThrows(BadRequestException.class, () -> registrationService.registerOrReuse(validRequest())));
+
+        assertTrue(interrupted.get());
+        verify(userRepository, never()).save(any());
+    }
+
+    // ---------- TC-11: REUSE CANCELS THE IN-FLIGHT HASH ----------
+
+    @Test
+    void registerOrReuse_shouldCancelHash_whenPendingAccountReused() {
+
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch hashing = stubInterruptibleHash(interrupted);
+
+        User pending = User.builder()
+                .id(5L)
+                .email("vaibhav@gmail.com")
+                .accountStatus(AccountStatus.PENDING_VERIFICATION)
+                .build();
+
+        when(userRepository.findByUsernameOrEmailOrMobile(eq("vaibhav"), eq("vaibhav@gmail.com"), any()))
+                .thenAnswer(invocation -> {
+                    assertTrue(hashing.await(5, TimeUnit.SECONDS));
+                    return List.of(pending);
+                });
+
+        Long userId = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> registrationService.registerOrReuse(validRequest()));
+
+        assertEquals(5L, userId);
+        assertTrue(interrupted.get());
+        verify(userRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,111 @@
+package com.backend.cypherflow.service;
+
+import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.enums.IdentifierType;
+import com.backend.cypherflow.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentifierResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserIdentifierResolver resolver;
+
+    // ---------- HELPERS ----------
+
+    private User user(Long id, String username) {
+        User u = new User();
+        u.setId(id);
+        u.setUsername(username);
+        return u;
+    }
+
+    // ---------- TC-01: CLASSIFICATION ----------
+
+    @Test
+    void classify_shouldReturnEmail_whenValueContainsAt() {
+        assertEquals(IdentifierType.EMAIL, resolver.classify("user@gmail.com"));
+    }
+
+    @Test
+    void classify_shouldReturnUsername_whenValueCannotBeMobile() {
+        assertEquals(IdentifierType.USERNAME, resolver.classify("vaibhav"));
+        assertEquals(IdentifierType.USERNAME, resolver.classify("12345"));
+    }
+
+    @Test
+    void classify_shouldReturnUsernameOrMobile_whenValueParsesAsPhoneNumber() {
+        assertEquals(IdentifierType.USERNAME_OR_MOBILE, resolver.classify("9876543210"));
+        assertEquals(IdentifierType.USERNAME_OR_MOBILE, resolver.classify("+919876543210"));
+        assertEquals(IdentifierType.USERNAME_OR_MOBILE, resolver.classify("98765-43210"));
+    }
+
+    // ---------- TC-02: EMAIL LOOKUP ----------
+
+    @Test
+    void resolve_shouldFindByEmail_whenValueIsEmail() {
+
+        User user = user(1L, "vaibhav");
+        when(userRepository.findByEmailIgnoreCase("user@gmail.com")).thenReturn(Optional.of(user));
+
+        assertSame(user, resolver.resolve(" user@gmail.com ").orElseThrow());
+        verify(userRepository, never()).findByUsernameIgnoreCase(any());
+    }
+
+    @Test
+    void resolve_shouldFallBackToUsername_whenLegacyUsernameContainsAt() {
+
+        User legacy = user(2L, "old@handle");
+        when(userRepository.findByEmailIgnoreCase("old@handle")).thenReturn(Optional.empty());
+        when(userRepository.findByUsernameIgnoreCase("old@handle")).thenReturn(Optional.of(legacy));
+
+        assertSame(legacy, resolver.resolve("old@handle").orElseThrow());
+    }
+
+    // ---------- TC-03: BARE DIGITS PREFER USERNAME MATCH ----------
+
+    @Test
+    void resolve_shouldPreferUsernameMatch_whenDigitsMatchBoth() {
+
+        User byMobile = user(1L, "vaibhav");
+        User byUsername = user(2L, "9876543210");
+        when(userRepository.findByUsernameOrMobile("9876543210", "+919876543210"))
+                .thenReturn(List.of(byMobile, byUsername));
+
+        assertSame(byUsername, resolver.resolve("9876543210").orElseThrow());
+    }
+
+    @Test
+    void resolve_shouldPreferUsernameMatch_whenPhoneShapedUsernameHasSeparators() {
+
+        User byMobile = user(1L, "vaibhav");
+        User byUsername = user(2L, "98765-43210");
+        when(userRepository.findByUsernameOrMobile("98765-43210", "+919876543210"))
+                .thenReturn(List.of(byMobile, byUsername));
+
+        assertSame(byUsername, resolver.resolve("98765-43210").orElseThrow());
+    }
+
+    // ---------- TC-04: BLANK IDENTIFIER ----------
+
+    @Test
+    void resolve_shouldReturnEmpty_whenBlank() {
+
+        assertTrue(resolver.resolve("  ").isEmpty());
+        assertTrue(resolver.resolve(null).isEmpty());
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,87 @@
+package com.backend.cypherflow.service;
+
+import com.backend.cypherflow.cache.ProfileVersionCache;
+import com.backend.cypherflow.dto.response.UserProfileResponse;
+import com.backend.cypherflow.entity.UserProfile;
+import com.backend.cypherflow.enums.Gender;
+import com.backend.cypherflow.metrics.TransactionMetrics;
+import com.backend.cypherflow.repository.UserProfileRepository;
+import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.storage.BlobStore;
+import com.backend.cypherflow.support.AllocationMeter;
+import com.backend.cypherflow.util.ImageUploadValidator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// Entity -> response mapping done by getProfile, measured without the repository call
+class UserProfileMappingAllocationTest {
+
+    // Builder and response only
+    private static final long NO_PICTURE_BUDGET = 256;
+
+    // Plus the variant map and three picture URLs
+    private static final long WITH_VARIANTS_BUDGET = 1024;
+
+    private static final String KEY = "a".repeat(64);
+
+    private final UserProfileService userProfileService = new UserProfileService(
+            mock(UserProfileRepository.class),
+            mock(UserRepository.class),
+            mock(ProfileVersionCache.class),
+            mock(BlobStore.class),
+            mock(AvatarVariantService.class),
+            mock(ImageUploadValidator.class),
+            mock(TransactionMetrics.class)
+    );
+
+    private UserProfile profile() {
+        return UserProfile.builder()
+                .id(1L)
+                .fullName("Vaibhav Udhane")
+                .bio("Backend developer")
+                .website("https://example.com")
+                .address("Pune")
+                .gender(Gender.MALE)
+                .dob(LocalDate.of(1998, 1, 1))
+                .version(3L)
+                .build();
+    }
+
+    // ---------- TC-01: PROFILE WITHOUT PICTURE ----------
+
+    @Test
+    void toResponse_shouldStayWithinAllocationBudget_whenNoPicture() throws Exception {
+
+        UserProfile profile = profile();
+
+        long bytes = AllocationMeter.bytesPerCall(() -> userProfileService.toResponse(profile));
+
+        assertTrue(userProfileService.toResponse(profile).getProfilePictureVariants().isEmpty());
+        assertTrue(bytes <= NO_PICTURE_BUDGET,
+                () -> "toResponse allocated " + bytes + " bytes per call, budget " + NO_PICTURE_BUDGET);
+    }
+
+    // ---------- TC-02: PROFILE WITH AVATAR VARIANTS ----------
+
+    @Test
+    void toResponse_shouldStayWithinAllocationBudget_whenVariantsPresent() throws Exception {
+
+        UserProfile profile = profile();
+        profile.setProfilePictureKey(KEY);
+        profile.setProfilePictureUrl("/api/v1/profile/pictures/" + KEY + ".png");
+        profile.setAvatarSmallKey(KEY);
+        profile.setAvatarMediumKey(KEY);
+        profile.setAvatarLargeKey(KEY);
+
+        long bytes = AllocationMeter.bytesPerCall(() -> userProfileService.toResponse(profile));
+
+        UserProfileResponse response = userProfileService.toResponse(profile);
+        assertEquals(3, response.getProfilePictureVariants().size());
+        assertTrue(bytes <= WITH_VARIANTS_BUDGET,
+                () -> "toResponse allocated " + bytes + " bytes per call, budget " + WITH_VARIANTS_BUDGET);
+    }
+}
@@ -1,25 +1,38 @@
 package com.backend.cypherflow.service;
 
+import com.backend.cypherflow.cache.ProfileVersionCache;
 import com.backend.cypherflow.dto.request.RegisterRequest;
 import com.backend.cypherflow.dto.request.UpdateProfileRequest;
 import com.backend.cypherflow.dto.response.UserProfileResponse;
 import com.backend.cypherflow.entity.User;
 import com.backend.cypherflow.entity.UserProfile;
+import com.backend.cypherflow.enums.AvatarVariant;
 import com.backend.cypherflow.enums.Gender;
+import com.backend.cypherflow.event.AvatarVariantsGeneratedEvent;
 import com.backend.cypherflow.exception.InvalidContentException;
 import com.backend.cypherflow.exception.ResourceNotFoundException;
+import com.backend.cypherflow.metrics.TransactionMetrics;
 import com.backend.cypherflow.repository.UserProfileRepository;
 import com.backend.cypherflow.repository.UserRepository;
+import com.backend.cypherflow.storage.BlobStore;
+import com.backend.cypherflow.storage.StoredBlob;
+import com.backend.cypherflow.support.NoOpTransactionManager;
+import com.backend.cypherflow.util.ImageUploadValidator;
 import com.backend.cypherflow.util.SecurityUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +47,22 @@ class UserProfileServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProfileVersionCache profileVersionCache;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private AvatarVariantService avatarVariantService;
+
+    @Mock
+    private ImageUploadValidator imageUploadValidator;
+
+    @Spy
+    private TransactionMetrics transactionMetrics =
+            new TransactionMetrics(new NoOpTransactionManager(), new SimpleMeterRegistry());
+
     @InjectMocks
     private UserProfileService userProfileService;
 
@@ -105,6 +134,60 @@ class UserProfileServiceTest {
         }
     }
 
+    // ================= CONDITIONAL GET =================
+
+    @Test
+    void getProfile_shouldOfferLoadedVersionToCache() {
+
+        try (MockedStatic<SecurityUtil> mocked = mockStatic(SecurityUtil.class)) {
+
+            mocked.when(SecurityUtil::getCurrentUserId).thenReturn(1L);
+
+            UserProfile profile = validProfile();
+            profile.setVersion(7L);
+
+            when(userProfileRepository.findByUserId(1L))
+                    .thenReturn(Optional.of(profile));
+
+            userProfileService.getProfile();
+
+            // put() keeps the higher of this and any version published meanwhile
+            verify(profileVersionCache).put(1L, 7L);
+        }
+    }
+
+    @Test
+    void findUnchangedProfileETag_shouldReturnETag_whenCachedVersionMatches() {
+
+        when(profileVersionCache.isEnabled()).thenReturn(true);
+        when(profileVersionCache.get(1L)).thenReturn(4L);
+
+        assertEquals("\"1-4\"", userProfileService.findUnchangedProfileETag(1L, "\"1-3\", W/\"1-4\""));
+        assertNull(userProfileService.findUnchangedProfileETag(1L, "\"1-3\""));
+        verifyNoInteractions(userProfileRepository);
+    }
+
+    @Test
+    void findUnchangedProfileETag_shouldReturnNull_whenVersionNotCached() {
+
+        when(profileVersionCache.isEnabled()).thenReturn(true);
+
+        assertNull(userProfileService.findUnchangedProfileETag(1L, "\"1-4\""));
+        verifyNoInteractions(userProfileRepository);
+    }
+
+    @Test
+    void findUnchangedProfileETag_shouldReadVersionColumn_whenCacheDisabled() {
+
+        when(profileVersionCache.isEnabled()).thenReturn(false);
+        when(userProfileRepository.findVersionByUserId(1L)).thenReturn(Optional.of(5L));
+
+        // another node bumped the version to 5, the client's 4 is stale
+        assertNull(userProfileService.findUnchangedProfileETag(1L, "\"1-4\""));
+        assertEquals("\"1-5\"", userProfileService.findUnchangedProfileETag(1L, "\"1-5\""));
+        verify(profileVersionCache, never()).get(any());
+    }
+
     // ================= UPDATE PROFILE =================
 
     @Test
@@ -116,7 +199,7 @@ class UserProfileServiceTest {
 
             UserProfile profile = validProfile();
 
-            when(userProfileRepository.findByUserId(1L))
+            when(userProfileRepository.findByUserIdForUpdate(1L))
                     .thenReturn(Optional.of(profile));
 
             UpdateProfileRequest req = new UpdateProfileRequest();
@@ -139,7 +222,7 @@ class UserProfileServiceTest {
 
             mocked.when(SecurityUtil::getCurrentUserId).thenReturn(1L);
 
-            when(userProfileRepository.findByUserId(1L))
+            when(userProfileRepository.findByUserIdForUpdate(1L))
                     .thenReturn(Optional.empty());
 
             assertThrows(ResourceNotFoundException.class,
@@ -147,13 +230,34 @@ class UserProfileServiceTest {
         }
     }
 
+    @Test
+    void updateProfile_shouldBumpVersionAndPublishAfterCommit() {
+
+        try (MockedStatic<SecurityUtil> mocked = mockStatic(SecurityUtil.class)) {
+
+            mocked.when(SecurityUtil::getCurrentUserId).thenReturn(1L);
+
+            UserProfile profile = validProfile();
+            profile.setVersion(3L);
+
+            when(userProfileRepository.findByUserIdForUpdate(1L))
+                    .thenReturn(Optional.of(profile));
+
+            UserProfileResponse response = userProfileService.updateProfile(new UpdateProfileRequest());
+
+            assertEquals(4L, response.getVersion());
+            verify(profileVersionCache).putAfterCommit(1L, 4L);
+            verify(userProfileRepository, never()).findByUserId(any());
+        }
+    }
+
     // ================= UPLOAD PROFILE PICTURE =================
 
     @Test
-    void uploadProfilePicture_shouldThrowException_whenFileTooLarge() {
+    void uploadProfilePicture_shouldThrowException_whenFileTooLarge() throws Exception {
 
         MultipartFile file = mock(MultipartFile.class);
-        when(file.getSize()).thenReturn(11 * 1024 * 1024L);
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
 
         try (MockedStatic<SecurityUtil> mocked = mockStatic(SecurityUtil.class)) {
 
@@ -161,18 +265,21 @@ class UserProfileServiceTest {
 
             when(userProfileRepository.findByUserId(1L))
                     .thenReturn(Optional.of(validProfile()));
+            when(imageUploadValidator.validate(any()))
+                    .thenThrow(new MaxUploadSizeExceededException(10));
 
             assertThrows(MaxUploadSizeExceededException.class,
                     () -> userProfileService.uploadProfilePicture(file));
+
+            verify(userProfileRepository, never()).save(any());
         }
     }
 
     @Test
-    void uploadProfilePicture_shouldThrowException_whenInvalidContentType() {
+    void uploadProfilePicture_shouldThrowException_whenInvalidContentType() throws Exception {
 
         MultipartFile file = mock(MultipartFile.class);
-        when(file.getSize()).thenReturn(1024L);
-        when(file.getContentType()).thenReturn("application/pdf");
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
 
         try (MockedStatic<SecurityUtil> mocked = mockStatic(SecurityUtil.class)) {
 
@@ -180,9 +287,50 @@ class UserProfileServiceTest {
 
             when(userProfileRepository.findByUserId(1L))
                     .thenReturn(Optional.of(validProfile()));
+            when(imageUploadValidator.validate(any()))
+                    .thenThrow(new InvalidContentException("Only JPEG, PNG or GIF images are allowed"));
 
             assertThrows(InvalidContentException.class,
                     () -> userProfileService.uploadProfilePicture(file));
+
+            verify(blobStore, never()).put(any(), any());
+        }
+    }
+
+    @Test
+    void uploadProfilePicture_shouldStoreBlobAndScheduleVariants_whenImageValid() throws Exception {
+
+        MultipartFile file = mock(MultipartFile.class);
+        InputStream content = new ByteArrayInputStream(new byte[0]);
+        when(file.getInputStream()).thenReturn(content);
+
+        try (MockedStatic<SecurityUtil> mocked = mockStatic(SecurityUtil.class)) {
+
+            mocked.when(SecurityUtil::getCurrentUserId).thenReturn(1L);
+
+            // the bio was changed by an update that committed while the blob was being written
+            UserProfile current = validProfile();
+            current.setBio("Updated during upload");
+            current.setVersion(2L);
+
+            when(userProfileRepository.findByUserId(1L))
+                    .thenReturn(Optional.of(validProfile()));
+            when(userProfileRepository.findByUserIdForUpdate(1L))
+                    .thenReturn(Optional.of(current));
+            when(imageUploadValidator.validate(any()))
+                    .thenReturn(new ImageUploadValidator.ValidatedImage(content, "image/png", 64, 64));
+            when(blobStore.put(content, "image/png"))
+                    .thenReturn(new StoredBlob("abc123", 0, "image/png", "file:/abc123", false));
+
+            String url = userProfileService.uploadProfilePicture(file);
+
+            assertEquals("/api/v1/profile/pictures/abc123.png", url);
+            assertEquals("abc123", current.getProfilePictureKey());
+            assertEquals("Updated during upload", current.getBio());
+            assertEquals(3L, current.getVersion());
+            verify(userProfileRepository).save(current);
+            verify(profileVersionCache).putAfterCommit(1L, 3L);
+            verify(avatarVariantService).generateVariantsAsync(1L, "abc123");
         }
     }
 
@@ -202,5 +350,47 @@ class UserProfileServiceTest {
                     () -> userProfileService.uploadProfilePicture(file));
         }
     }
+
+    // ================= AVATAR VARIANTS =================
+
+    @Test
+    void onAvatarVariantsGenerated_shouldStoreVariantKeys_whenPictureUnchanged() {
+
+        UserProfile profile = validProfile();
+        profile.setProfilePictureKey("original");
+        profile.setVersion(5L);
+
+        when(userProfileRepository.findByUserIdForUpdate(1L))
+                .thenReturn(Optional.of(profile));
+
+        userProfileService.onAvatarVariantsGenerated(new AvatarVariantsGeneratedEvent(1L, "original", Map.of(
+                AvatarVariant.SMALL, "small",
+                AvatarVariant.MEDIUM, "medium",
+                AvatarVariant.LARGE, "large")));
+
+        assertEquals("small", profile.getAvatarSmallKey());
+        assertEquals("medium", profile.getAvatarMediumKey());
+        assertEquals("large", profile.getAvatarLargeKey());
+        assertEquals(6L, profile.getVersion());
+        verify(userProfileRepository).save(profile);
+        verify(profileVersionCache).putAfterCommit(1L, 6L);
+    }
+
+    @Test
+    void onAvatarVariantsGenerated_shouldDiscardVariants_whenPictureReplaced() {
+
+        UserProfile profile = validProfile();
+        profile.setProfilePictureKey("newer");
+
+        when(userProfileRepository.findByUserIdForUpdate(1L))
+                .thenReturn(Optional.of(profile));
+
+        userProfileService.onAvatarVariantsGenerated(new AvatarVariantsGeneratedEvent(1L, "original", Map.of(
+                AvatarVariant.SMALL, "small")));
+
+        assertNull(profile.getAvatarSmallKey());
+        verify(userProfileRepository, never()).save(any());
+        verifyNoInteractions(profileVersionCache);
+    }
 }
 
@@ -0,0 +1,98 @@
+package com.backend.cypherflow.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlobSpoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    // ---------- HELPERS ----------
+
+    // larger than one transfer chunk, so the copy loop runs more than once
+    private static byte[] content(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private long spooledFiles() throws IOException {
+        try (var files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    // ---------- TC-01: HASH, SIZE AND CONTENT ----------
+
+    @Test
+    void spool_shouldHashAndCopyContent() throws Exception {
+
+        byte[] content = content(200 * 1024 + 17);
+
+        try (BlobSpool spool = BlobSpool.spool(new ByteArrayInputStream(content), tempDir)) {
+
+            assertEquals(sha256(content), spool.sha256());
+            assertEquals(content.length, spool.size());
+            assertArrayEquals(content, Files.readAllBytes(spool.file()));
+        }
+    }
+
+    @Test
+    void spool_shouldHandleEmptyContent() throws Exception {
+
+        try (BlobSpool spool = BlobSpool.spool(InputStream.nullInputStream(), tempDir)) {
+
+            assertEquals(sha256(new byte[0]), spool.sha256());
+            assertEquals(0, spool.size());
+        }
+    }
+
+    // ---------- TC-02: TEMP FILE CLEANUP ----------
+
+    @Test
+    void close_shouldDeleteTempFile() throws Exception {
+
+        BlobSpool spool = BlobSpool.spool(new ByteArrayInputStream(content(1024)), tempDir);
+        Path file = spool.file();
+
+        spool.close();
+
+        assertFalse(Files.exists(file));
+        assertEquals(0, spooledFiles());
+    }
+
+    @Test
+    void spool_shouldDeleteTempFile_whenUploadFailsMidStream() throws Exception {
+
+        InputStream failing = new InputStream() {
+            private int read;
+
+            @Override
+            public int read() throws IOException {
+                if (++read > 100_000) {
+                    throw new IOException("client went away");
+                }
+                return 42;
+            }
+        };
+
+        assertThrows(IOException.class, () -> BlobSpool.spool(failing, tempDir));
+        assertEquals(0, spooledFiles());
+    }
+}
@@ -0,0 +1,154 @@
+package com.backend.cypherflow.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpRange;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFileSystemBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private LocalFileSystemBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new LocalFileSystemBlobStore(root);
+    }
+
+    // ---------- HELPERS ----------
+
+    private static byte[] content(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    // Reads the region Spring writes for "Range: bytes=start-end"
+    private static byte[] readRange(Resource resource, long start, long end) throws IOException {
+
+        ResourceRegion region = HttpRange.createByteRange(start, end).toResourceRegion(resource);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (InputStream in = region.getResource().getInputStream()) {
+            StreamUtils.copyRange(in, out, region.getPosition(), region.getPosition() + region.getCount() - 1);
+        }
+        return out.toByteArray();
+    }
+
+    private StoredBlob put(byte[] content) throws IOException {
+        return blobStore.put(new ByteArrayInputStream(content), "image/png");
+    }
+
+    private long pendingUploads() throws IOException {
+        try (var files = Files.list(root.resolve(".tmp"))) {
+            return files.count();
+        }
+    }
+
+    // ---------- TC-01: ROUND TRIP ----------
+
+    @Test
+    void put_shouldStoreUnderContentHash_andOpenSameBytes() throws Exception {
+
+        byte[] content = content(150_000);
+
+        StoredBlob blob = put(content);
+
+        assertEquals(sha256(content), blob.getKey());
+        assertEquals(content.length, blob.getSize());
+        assertEquals("image/png", blob.getContentType());
+        assertFalse(blob.isDeduplicated());
+        assertEquals(blobStore.pathOf(blob.getKey()).toUri().toString(), blob.getLocation());
+        assertEquals(0, pendingUploads());
+
+        Resource resource = blobStore.open(blob.getKey()).orElseThrow();
+
+        // a file resource is what lets the picture endpoint hand the file to sendfile
+        assertInstanceOf(FileSystemResource.class, resource);
+        assertEquals(content.length, resource.contentLength());
+        assertArrayEquals(content, resource.getContentAsByteArray());
+        assertTrue(blobStore.exists(blob.getKey()));
+    }
+
+    @Test
+    void put_shouldDeduplicate_whenContentAlreadyStored() throws Exception {
+
+        byte[] content = content(4096);
+
+        StoredBlob first = put(content);
+        StoredBlob second = put(content);
+
+        assertEquals(first.getKey(), second.getKey());
+        assertTrue(second.isDeduplicated());
+        assertEquals(0, pendingUploads());
+    }
+
+    // ---------- TC-02: RANGE ----------
+
+    @Test
+    void open_shouldServeByteRange() throws Exception {
+
+        byte[] content = content(100_000);
+        String key = put(content).getKey();
+
+        Resource resource = blobStore.open(key).orElseThrow();
+
+        assertArrayEquals(Arrays.copyOfRange(content, 70_000, 70_100), readRange(resource, 70_000, 70_099));
+        assertArrayEquals(Arrays.copyOfRange(content, 99_990, 100_000), readRange(resource, 99_990, 99_999));
+    }
+
+    // ---------- TC-03: DELETE ----------
+
+    @Test
+    void delete_shouldRemoveBlob_andBeIdempotent() throws Exception {
+
+        String key = put(content(1024)).getKey();
+
+        blobStore.delete(key);
+
+        assertFalse(blobStore.exists(key));
+        assertTrue(blobStore.open(key).isEmpty());
+        assertDoesNotThrow(() -> blobStore.delete(key));
+    }
+
+    // ---------- TC-04: MISSING AND INVALID KEYS ----------
+
+    @Test
+    void open_shouldReturnEmpty_whenKeyMissing() {
+
+        String missing = "a".repeat(64);
+
+        assertTrue(blobStore.open(missing).isEmpty());
+        assertFalse(blobStore.exists(missing));
+    }
+
+    @Test
+    void open_shouldRejectKey_thatIsNotSha256Hex() {
+
+        assertThrows(IllegalArgumentException.class, () -> blobStore.open("../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> blobStore.open("A".repeat(64)));
+    }
+}
@@ -0,0 +1,201 @@
+package com.backend.cypherflow.storage;
+
+import com.backend.cypherflow.support.InMemoryS3Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpRange;
+import org.springframework.util.StreamUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the store against an in-process S3 stand-in, with the client configured as StorageConfig does
+class S3BlobStoreTest {
+
+    private static final String BUCKET = "cypherflow-test";
+    private static final String PREFIX = "avatars/";
+
+    private static InMemoryS3Server server;
+    private static S3Client s3;
+
+    @TempDir
+    Path tempDir;
+
+    private S3BlobStore blobStore;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+
+        server = InMemoryS3Server.start();
+
+        s3 = S3Client.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create("test-access-key", "test-secret-key")))
+                .endpointOverride(server.endpoint())
+                .forcePathStyle(true)
+                .build();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        s3.close();
+        server.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new S3BlobStore(s3, BUCKET, PREFIX, tempDir);
+    }
+
+    // ---------- HELPERS ----------
+
+    private static byte[] content(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    // Reads the region Spring writes for "Range: bytes=start-end"
+    private static byte[] readRange(Resource resource, long start, long end) throws IOException {
+
+        ResourceRegion region = HttpRange.createByteRange(start, end).toResourceRegion(resource);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (InputStream in = region.getResource().getInputStream()) {
+            StreamUtils.copyRange(in, out, region.getPosition(), region.getPosition() + region.getCount() - 1);
+        }
+        return out.toByteArray();
+    }
+
+    private StoredBlob put(byte[] content) throws IOException {
+        return blobStore.put(new ByteArrayInputStream(content), "image/jpeg");
+    }
+
+    private long spooledFiles() throws IOException {
+        try (var files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    // ---------- TC-01: ROUND TRIP ----------
+
+    @Test
+    void put_shouldUploadUnderPrefixedContentHash_andOpenSameBytes() throws Exception {
+
+        byte[] content = content(150_000);
+        String key = sha256(content);
+
+        StoredBlob blob = put(content);
+
+        String objectKey = PREFIX + key.substring(0, 2) + "/" + key;
+
+        assertEquals(key, blob.getKey());
+        assertEquals(content.length, blob.getSize());
+        assertFalse(blob.isDeduplicated());
+        assertEquals("s3://" + BUCKET + "/" + objectKey, blob.getLocation());
+        assertArrayEquals(content, server.content(BUCKET, objectKey));
+        assertEquals(0, spooledFiles());
+
+        Resource resource = blobStore.open(key).orElseThrow();
+
+        assertEquals(content.length, resource.contentLength());
+        assertArrayEquals(content, resource.getContentAsByteArray());
+        assertTrue(blobStore.exists(key));
+    }
+
+    @Test
+    void put_shouldDeduplicate_whenObjectAlreadyStored() throws Exception {
+
+        byte[] content = content(4096);
+
+        put(content);
+        StoredBlob second = put(content);
+
+        assertTrue(second.isDeduplicated());
+        assertEquals(0, spooledFiles());
+    }
+
+    @Test
+    void open_shouldNotDownload_untilContentIsRead() throws Exception {
+
+        String key = put(content(2048)).getKey();
+        int downloads = server.getRequests();
+
+        Resource resource = blobStore.open(key).orElseThrow();
+
+        assertTrue(resource.exists());
+        assertEquals(2048, resource.contentLength());
+        assertEquals(downloads, server.getRequests());
+    }
+
+    // ---------- TC-02: RANGE ----------
+
+    @Test
+    void open_shouldServeByteRange() throws Exception {
+
+        byte[] content = content(100_000);
+        String key = put(content).getKey();
+
+        Resource resource = blobStore.open(key).orElseThrow();
+
+        assertArrayEquals(Arrays.copyOfRange(content, 70_000, 70_100), readRange(resource, 70_000, 70_099));
+        assertArrayEquals(Arrays.copyOfRange(content, 99_990, 100_000), readRange(resource, 99_990, 99_999));
+    }
+
+    // ---------- TC-03: DELETE ----------
+
+    @Test
+    void delete_shouldRemoveObject_andBeIdempotent() throws Exception {
+
+        String key = put(content(1024)).getKey();
+
+        blobStore.delete(key);
+
+        assertFalse(server.contains(BUCKET, blobStore.objectKey(key)));
+        assertFalse(blobStore.exists(key));
+        assertTrue(blobStore.open(key).isEmpty());
+        assertDoesNotThrow(() -> blobStore.delete(key));
+    }
+
+    // ---------- TC-04: MISSING AND INVALID KEYS ----------
+
+    @Test
+    void open_shouldReturnEmpty_whenKeyMissing() {
+
+        String missing = "b".repeat(64);
+
+        assertTrue(blobStore.open(missing).isEmpty());
+        assertFalse(blobStore.exists(missing));
+    }
+
+    @Test
+    void objectKey_shouldRejectKey_thatIsNotSha256Hex() {
+
+        assertThrows(IllegalArgumentException.class, () -> blobStore.open("../other-bucket/secret"));
+        assertThrows(IllegalArgumentException.class, () -> blobStore.objectKey("abc"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.cypherflow.support;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Bytes allocated per call on the calling thread, measured after warm-up so the JIT has compiled the path
+public final class AllocationMeter {
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 10_000;
+
+    private AllocationMeter() {} // prevents object creation
+
+    public interface Call {
+        void run() throws Exception;
+    }
+
+    public static long bytesPerCall(Call call) throws Exception {
+
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "thread allocation accounting not supported");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            call.run();
+        }
+        long after = threadMXBean.getCurrentThreadAllocatedBytes();
+
+        return (after - before) / MEASURED_CALLS;
+    }
+}
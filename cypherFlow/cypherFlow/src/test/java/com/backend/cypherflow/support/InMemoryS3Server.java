@@ -0,0 +1,216 @@
+package com.backend.cypherflow.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Path-style S3 stand-in on a loopback port: PUT, GET (with single byte ranges), HEAD and DELETE of
+ * /<bucket>/<key>. Objects live in memory, signatures are not checked. PUT bodies in aws-chunked
+ * encoding (which the SDK uses for checksum trailers) are decoded before they are stored.
+ */
+public final class InMemoryS3Server implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final AtomicInteger getRequests = new AtomicInteger();
+
+    private record StoredObject(byte[] content, String contentType, String eTag) {}
+
+    private InMemoryS3Server(HttpServer server) {
+        this.server = server;
+    }
+
+    public static InMemoryS3Server start() throws IOException {
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        InMemoryS3Server s3 = new InMemoryS3Server(server);
+
+        server.createContext("/", s3::handle);
+        server.start();
+        return s3;
+    }
+
+    public URI endpoint() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort());
+    }
+
+    public boolean contains(String bucket, String key) {
+        return objects.containsKey(bucket + "/" + key);
+    }
+
+    public byte[] content(String bucket, String key) {
+        StoredObject object = objects.get(bucket + "/" + key);
+        return object == null ? null : object.content();
+    }
+
+    // Number of object downloads, lets tests check that nothing is fetched eagerly
+    public int getRequests() {
+        return getRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /* ================= HANDLER ================= */
+
+    private void handle(HttpExchange exchange) throws IOException {
+
+        try (exchange) {
+            String path = URLDecoder.decode(exchange.getRequestURI().getRawPath().substring(1), StandardCharsets.UTF_8);
+
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> put(exchange, path);
+                case "GET" -> get(exchange, path);
+                case "HEAD" -> head(exchange, path);
+                case "DELETE" -> delete(exchange, path);
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void put(HttpExchange exchange, String path) throws IOException {
+
+        byte[] body = exchange.getRequestBody().readAllBytes();
+
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        if (encoding != null && encoding.contains("aws-chunked")) {
+            body = decodeAwsChunked(body);
+        }
+
+        String eTag = "\"" + HexFormat.of().formatHex(md5(body)) + "\"";
+        objects.put(path, new StoredObject(body, exchange.getRequestHeaders().getFirst("Content-Type"), eTag));
+
+        exchange.getResponseHeaders().set("ETag", eTag);
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void get(HttpExchange exchange, String path) throws IOException {
+
+        getRequests.incrementAndGet();
+
+        StoredObject object = objects.get(path);
+        if (object == null) {
+            notFound(exchange);
+            return;
+        }
+
+        byte[] content = object.content();
+        int status = 200;
+
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        if (range != null && range.startsWith("bytes=")) {
+            String[] bounds = range.substring("bytes=".length()).split("-", 2);
+            int start = Integer.parseInt(bounds[0]);
+            int end = bounds[1].isEmpty() ? content.length - 1 : Math.min(Integer.parseInt(bounds[1]), content.length - 1);
+
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+            content = Arrays.copyOfRange(content, start, end + 1);
+            status = 206;
+        }
+
+        headers(exchange, object);
+        exchange.sendResponseHeaders(status, content.length == 0 ? -1 : content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+    }
+
+    private void head(HttpExchange exchange, String path) throws IOException {
+
+        StoredObject object = objects.get(path);
+        if (object == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+
+        headers(exchange, object);
+        exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.content().length));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void delete(HttpExchange exchange, String path) throws IOException {
+        objects.remove(path);
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static void headers(HttpExchange exchange, StoredObject object) {
+        exchange.getResponseHeaders().set("ETag", object.eTag());
+        exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+        if (object.contentType() != null) {
+            exchange.getResponseHeaders().set("Content-Type", object.contentType());
+        }
+    }
+
+    private static void notFound(HttpExchange exchange) throws IOException {
+
+        byte[] error = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <Error><Code>NoSuchKey</Code><Message>The specified key does not exist.</Message></Error>
+                """.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(404, error.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(error);
+        }
+    }
+
+    // <hex size>[;chunk-signature=...]\r\n<data>\r\n ... 0[;...]\r\n<trailers>
+    private static byte[] decodeAwsChunked(byte[] body) throws IOException {
+
+        InputStream in = new ByteArrayInputStream(body);
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+
+        while (true) {
+            String header = readLine(in);
+            int size = Integer.parseInt(header.split(";", 2)[0].trim(), 16);
+            if (size == 0) {
+                return decoded.toByteArray();
+            }
+            decoded.write(in.readNBytes(size));
+            readLine(in);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    private static byte[] md5(byte[] content) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.backend.cypherflow.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Just enough SMTP on a loopback port for JavaMailSender: EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP
+ * and QUIT, no auth, no TLS. Each session runs on its own platform thread, so the stub never shows up
+ * in virtual-thread recordings. Accepted messages are queued per recipient in memory; shared by the
+ * tests and the load-test harness (src/loadtest/java is compiled as test sources).
+ */
+public final class InMemorySmtpServer implements AutoCloseable {
+
+    public record Message(String recipient, String subject, String body) {}
+
+    private final ServerSocket serverSocket;
+    private final Map<String, BlockingQueue<Message>> inboxes = new ConcurrentHashMap<>();
+    private final AtomicLong received = new AtomicLong();
+
+    private InMemorySmtpServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    public static InMemorySmtpServer start() throws IOException {
+
+        InMemorySmtpServer smtp = new InMemorySmtpServer(new ServerSocket(0, 1024, InetAddress.getLoopbackAddress()));
+
+        Thread acceptor = new Thread(smtp::acceptLoop, "smtp-stub-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return smtp;
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long received() {
+        return received.get();
+    }
+
+    // Next message for the recipient whose subject contains the given text; older non-matching ones are dropped
+    public Message await(String recipient, String subjectContains, Duration timeout) throws InterruptedException {
+
+        BlockingQueue<Message> inbox = inbox(recipient);
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            Message message = remaining > 0 ? inbox.poll(remaining, TimeUnit.NANOSECONDS) : null;
+
+            if (message == null) {
+                return null;
+            }
+            if (message.subject().contains(subjectContains)) {
+                return message;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    /* ================= SESSION ================= */
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread session = new Thread(() -> session(socket), "smtp-stub-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (SocketException e) {
+                return; // closed
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+
+            reply(out, "220 localhost ESMTP stub");
+
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL", "NOOP" -> reply(out, "250 OK");
+                    case "RSET" -> {
+                        recipient = null;
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        recipient = extractAddress(line);
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        store(recipient, readData(in));
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // client went away mid-session, nothing to keep
+        }
+    }
+
+    private static String readData(BufferedReader in) throws IOException {
+
+        StringBuilder message = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            // dot-stuffing
+            message.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+        }
+        return message.toString();
+    }
+
+    private void store(String recipient, String data) {
+
+        if (recipient == null) {
+            return;
+        }
+
+        int headerEnd = data.indexOf("\n\n");
+        String headers = headerEnd < 0 ? data : data.substring(0, headerEnd);
+        String body = headerEnd < 0 ? "" : data.substring(headerEnd + 2);
+
+        String subject = "";
+        boolean quotedPrintable = false;
+
+        for (String header : headers.split("\n")) {
+            String lower = header.toLowerCase(Locale.ROOT);
+
+            if (lower.startsWith("subject:")) {
+                subject = header.substring("subject:".length()).trim();
+            } else if (lower.startsWith("content-transfer-encoding:") && lower.contains("quoted-printable")) {
+                quotedPrintable = true;
+            }
+        }
+
+        if (quotedPrintable) {
+            body = body.replace("=\n", "").replace("=3D", "=");
+        }
+
+        inbox(recipient).add(new Message(recipient, subject, body));
+        received.incrementAndGet();
+    }
+
+    private BlockingQueue<Message> inbox(String recipient) {
+        return inboxes.computeIfAbsent(recipient.toLowerCase(Locale.ROOT), key -> new LinkedBlockingQueue<>());
+    }
+
+    private static String extractAddress(String rcptLine) {
+        int start = rcptLine.indexOf('<');
+        int end = rcptLine.indexOf('>');
+        return start >= 0 && end > start ? rcptLine.substring(start + 1, end) : rcptLine.substring(rcptLine.indexOf(':') + 1).trim();
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+}
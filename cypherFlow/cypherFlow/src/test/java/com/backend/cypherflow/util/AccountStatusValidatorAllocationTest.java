@@ -0,0 +1,52 @@
+package com.backend.cypherflow.util;
+
+import com.backend.cypherflow.entity.User;
+import com.backend.cypherflow.enums.AccountStatus;
+import com.backend.cypherflow.exception.BusinessException;
+import com.backend.cypherflow.support.AllocationMeter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountStatusValidatorAllocationTest {
+
+    private static final long ACTIVE_BUDGET = 16;
+
+    // A single stackless BusinessException
+    private static final long REJECTED_BUDGET = 128;
+
+    private final AccountStatusValidator validator = new AccountStatusValidator();
+
+    // ---------- TC-01: ACTIVE ACCOUNT ----------
+
+    @Test
+    void validate_shouldStayWithinAllocationBudget_whenActive() throws Exception {
+
+        User user = User.builder().id(1L).accountStatus(AccountStatus.ACTIVE).build();
+
+        long bytes = AllocationMeter.bytesPerCall(() -> validator.validate(user));
+
+        assertTrue(bytes <= ACTIVE_BUDGET,
+                () -> "validate allocated " + bytes + " bytes per call, budget " + ACTIVE_BUDGET);
+    }
+
+    // ---------- TC-02: REJECTED ACCOUNT ----------
+
+    @Test
+    void validate_shouldStayWithinAllocationBudget_whenLocked() throws Exception {
+
+        User user = User.builder().id(1L).accountStatus(AccountStatus.LOCKED).build();
+
+        long bytes = AllocationMeter.bytesPerCall(() -> {
+            try {
+                validator.validate(user);
+                fail("locked account accepted");
+            } catch (BusinessException expected) {
+                // rejection is the measured path
+            }
+        });
+
+        assertTrue(bytes <= REJECTED_BUDGET,
+                () -> "validate allocated " + bytes + " bytes per rejection, budget " + REJECTED_BUDGET);
+    }
+}
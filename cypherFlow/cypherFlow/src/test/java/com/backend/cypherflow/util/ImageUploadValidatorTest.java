@@ -0,0 +1,96 @@
+package com.backend.cypherflow.util;
+
+import com.backend.cypherflow.exception.InvalidContentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageUploadValidatorTest {
+
+    private ImageUploadValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new ImageUploadValidator();
+        ReflectionTestUtils.setField(validator, "maxBytes", 1024 * 1024L);
+        ReflectionTestUtils.setField(validator, "maxWidth", 200);
+        ReflectionTestUtils.setField(validator, "maxHeight", 200);
+    }
+
+    // ---------- HELPERS ----------
+
+    private byte[] image(String format, int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, out);
+        return out.toByteArray();
+    }
+
+    // ---------- TC-01: FORMAT FROM MAGIC BYTES ----------
+
+    @Test
+    void validate_shouldDetectFormatAndDimensions() throws Exception {
+
+        ImageUploadValidator.ValidatedImage png = validator.validate(new ByteArrayInputStream(image("png", 120, 80)));
+        ImageUploadValidator.ValidatedImage jpeg = validator.validate(new ByteArrayInputStream(image("jpg", 64, 32)));
+
+        assertEquals("image/png", png.contentType());
+        assertEquals(120, png.width());
+        assertEquals(80, png.height());
+        assertEquals("image/jpeg", jpeg.contentType());
+        assertEquals(64, jpeg.width());
+    }
+
+    // ---------- TC-02: CONTENT REPLAYED FROM FIRST BYTE ----------
+
+    @Test
+    void validate_shouldReturnCompleteContent() throws Exception {
+
+        byte[] bytes = image("png", 50, 50);
+
+        try (InputStream content = validator.validate(new ByteArrayInputStream(bytes)).content()) {
+            assertArrayEquals(bytes, content.readAllBytes());
+        }
+    }
+
+    // ---------- TC-03: NOT AN IMAGE ----------
+
+    @Test
+    void validate_shouldThrowException_whenNotAnImage() {
+
+        byte[] pdf = "%PDF-1.7 not an image".getBytes();
+
+        assertThrows(InvalidContentException.class,
+                () -> validator.validate(new ByteArrayInputStream(pdf)));
+    }
+
+    // ---------- TC-04: DIMENSIONS TOO LARGE ----------
+
+    @Test
+    void validate_shouldThrowException_whenDimensionsTooLarge() {
+
+        assertThrows(InvalidContentException.class,
+                () -> validator.validate(new ByteArrayInputStream(image("png", 300, 10))));
+    }
+
+    // ---------- TC-05: SIZE LIMIT WHILE STREAMING ----------
+
+    @Test
+    void validate_shouldAbortStream_whenSizeLimitExceeded() throws Exception {
+
+        ReflectionTestUtils.setField(validator, "maxBytes", 100L);
+
+        InputStream content = validator.validate(new ByteArrayInputStream(image("jpg", 150, 150))).content();
+
+        assertThrows(MaxUploadSizeExceededException.class, content::readAllBytes);
+    }
+}
@@ -0,0 +1,58 @@
+package com.backend.cypherflow.util;
+
+import com.backend.cypherflow.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MobileNumberUtilTest {
+
+    // ---------- TC-01: BARE NATIONAL NUMBER ----------
+
+    @Test
+    void normalize_shouldAddDefaultCountryCode_whenTenDigits() {
+
+        assertEquals("+919876543210", MobileNumberUtil.normalize("9876543210"));
+    }
+
+    // ---------- TC-02: EQUIVALENT FORMATS ----------
+
+    @Test
+    void normalize_shouldReturnSameValue_forEquivalentFormats() {
+
+        String expected = "+919876543210";
+
+        assertEquals(expected, MobileNumberUtil.normalize("+91 98765-43210"));
+        assertEquals(expected, MobileNumberUtil.normalize("0091 9876543210"));
+        assertEquals(expected, MobileNumberUtil.normalize("919876543210"));
+        assertEquals(expected, MobileNumberUtil.normalize("09876543210"));
+        assertEquals(expected, MobileNumberUtil.normalize(" (98765) 43210 "));
+    }
+
+    // ---------- TC-03: OTHER COUNTRY CODES ----------
+
+    @Test
+    void normalize_shouldKeepInternationalNumbers() {
+
+        assertEquals("+14155552671", MobileNumberUtil.normalize("+1 415 555 2671"));
+    }
+
+    // ---------- TC-04: INVALID INPUT ----------
+
+    @Test
+    void normalize_shouldThrowException_whenInvalid() {
+
+        assertThrows(BadRequestException.class, () -> MobileNumberUtil.normalize("12345"));
+        assertThrows(BadRequestException.class, () -> MobileNumberUtil.normalize("98765abc10"));
+        assertThrows(BadRequestException.class, () -> MobileNumberUtil.normalize(null));
+    }
+
+    // ---------- TC-05: NON THROWING VARIANT ----------
+
+    @Test
+    void tryNormalize_shouldReturnNull_whenInvalid() {
+
+        assertNull(MobileNumberUtil.tryNormalize("vaibhav"));
+        assertNull(MobileNumberUtil.tryNormalize("+1234"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.backend.cypherflow.util;
+
+import com.backend.cypherflow.security.UserPrincipal;
+import com.backend.cypherflow.support.AllocationMeter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityUtilAllocationTest {
+
+    // Reads the existing principal, nothing should be allocated
+    private static final long GET_CURRENT_USER_ID_BUDGET = 16;
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal principal = new UserPrincipal(1L, "vaibhav", "USER");
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // ---------- TC-01: GET CURRENT USER ID ----------
+
+    @Test
+    void getCurrentUserId_shouldStayWithinAllocationBudget() throws Exception {
+
+        long bytes = AllocationMeter.bytesPerCall(SecurityUtil::getCurrentUserId);
+
+        assertEquals(1L, SecurityUtil.getCurrentUserId());
+        assertTrue(bytes <= GET_CURRENT_USER_ID_BUDGET,
+                () -> "getCurrentUserId allocated " + bytes + " bytes per call, budget " + GET_CURRENT_USER_ID_BUDGET);
+    }
+}